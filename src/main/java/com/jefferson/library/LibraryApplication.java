@@ -2,12 +2,18 @@ package com.jefferson.library;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class LibraryApplication {
 
+	//Startup steps buffered for the startup and startuptiming actuator endpoints
+	private static final int STARTUP_STEPS_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(LibraryApplication.class, args);
+		SpringApplication application = new SpringApplication(LibraryApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,52 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.ActiveIdsUpdater;
+import com.jefferson.library.readmodel.IdFilter;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//The services consult the ids whether enabled or not, disabled ids let every lookup through
+@Configuration
+@EnableConfigurationProperties(ActiveIdsProperties.class)
+public class ActiveIdsConfig {
+
+    @Bean
+    public ActiveIds activeIds(ActiveIdsProperties properties) {
+        return properties.enabled() ? ActiveIds.enabled() : ActiveIds.disabled();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "library.active-ids", name = "enabled", havingValue = "true")
+    public ActiveIdsUpdater activeIdsUpdater(ActiveIds activeIds,
+                                             BookRepository bookRepository,
+                                             AuthorRepository authorRepository,
+                                             Shards shards,
+                                             ActiveIdsProperties properties,
+                                             MeterRegistry meterRegistry) {
+        registerMeters(activeIds.books(), "books", meterRegistry);
+        registerMeters(activeIds.authors(), "authors", meterRegistry);
+
+        return new ActiveIdsUpdater(activeIds, bookRepository, authorRepository, shards, properties.loadChunkSize());
+    }
+
+    private static void registerMeters(IdFilter filter, String table, MeterRegistry meterRegistry) {
+        Gauge.builder("library.active_ids.false_positive_rate", filter, IdFilter::falsePositiveRate)
+                .tag("table", table)
+                .register(meterRegistry);
+        FunctionCounter.builder("library.active_ids.definite_misses", filter, IdFilter::definiteMisses)
+                .tag("table", table)
+                .register(meterRegistry);
+        Gauge.builder("library.active_ids.bytes", filter, IdFilter::footprintBytes)
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,14 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "library.active-ids")
+public record ActiveIdsProperties(
+        boolean enabled,
+
+        @Positive(message = "Active ids load chunk size must be positive")
+        int loadChunkSize) {
+}
@@ -0,0 +1,9 @@
+package com.jefferson.library.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ArchivalProperties.class)
+public class ArchivalConfig {
+}
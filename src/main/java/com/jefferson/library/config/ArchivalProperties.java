@@ -0,0 +1,26 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.archival")
+public record ArchivalProperties(
+        boolean enabled,
+
+        @NotNull(message = "Archival retention mustn't be null")
+        Duration retention,
+
+        @Positive(message = "Archival batch size must be positive")
+        int batchSize,
+
+        @NotNull(message = "Archival batch pause mustn't be null")
+        Duration batchPause,
+
+        @Positive(message = "Archival max batches per run must be positive")
+        int maxBatchesPerRun) {
+}
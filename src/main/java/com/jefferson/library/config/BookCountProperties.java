@@ -0,0 +1,30 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.book-count")
+public record BookCountProperties(
+        @NotNull(message = "Book count total mode mustn't be null")
+        TotalMode totalMode,
+
+        @Positive(message = "Book count slots must be positive")
+        int slots,
+
+        @NotNull(message = "Book count estimate max age mustn't be null")
+        Duration estimateMaxAge) {
+
+    public enum TotalMode {
+        //COUNT(*) of the active books, as Spring Data pages do
+        EXACT,
+        //Sum of the counter slots, accurate as of the last commit
+        COUNTER,
+        //The counter as read at most estimate-max-age ago, no query for most pages
+        ESTIMATED
+    }
+}
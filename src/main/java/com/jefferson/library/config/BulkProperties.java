@@ -0,0 +1,12 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "library.bulk")
+public record BulkProperties(
+        @Positive(message = "Bulk chunk size must be positive")
+        int chunkSize) {
+}
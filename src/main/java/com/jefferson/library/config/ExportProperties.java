@@ -0,0 +1,31 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.export")
+public record ExportProperties(
+        @NotNull(message = "Export directory mustn't be null")
+        Path directory,
+
+        @Positive(message = "Export threads must be positive")
+        int threads,
+
+        @Positive(message = "Export queue capacity must be positive")
+        int queueCapacity,
+
+        @Positive(message = "Export chunk size must be positive")
+        int chunkSize,
+
+        @Positive(message = "Export buffer size must be positive")
+        int bufferSize,
+
+        @NotNull(message = "Export retention mustn't be null")
+        Duration retention) {
+}
@@ -0,0 +1,22 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.monitoring.HotKeyTracker;
+import com.jefferson.library.monitoring.HotKeys;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(HotKeysProperties.class)
+public class HotKeysConfig {
+
+    @Bean
+    public HotKeys hotKeys(HotKeysProperties properties) {
+        return properties.enabled() ? new HotKeys(tracker(properties), tracker(properties)) : HotKeys.disabled();
+    }
+
+    private static HotKeyTracker tracker(HotKeysProperties properties) {
+        return new HotKeyTracker(properties.sketchDepth(), properties.sketchWidth(), properties.sampleRate(),
+                properties.topSize(), properties.decayInterval().toNanos(), System::nanoTime);
+    }
+}
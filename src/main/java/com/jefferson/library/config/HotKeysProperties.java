@@ -0,0 +1,41 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.hot-keys")
+public record HotKeysProperties(
+        boolean enabled,
+
+        @Positive(message = "Hot keys sample rate must be positive")
+        int sampleRate,
+
+        @Positive(message = "Hot keys sketch depth must be positive")
+        @Max(value = 8, message = "Hot keys sketch depth mustn't exceed 8")
+        int sketchDepth,
+
+        @Positive(message = "Hot keys sketch width must be positive")
+        int sketchWidth,
+
+        @Positive(message = "Hot keys top size must be positive")
+        int topSize,
+
+        @NotNull(message = "Hot keys decay interval mustn't be null")
+        Duration decayInterval,
+
+        //Null keeps the hot set in memory only
+        Path snapshotFile,
+
+        @NotNull(message = "Hot set snapshot interval mustn't be null")
+        Duration snapshotInterval,
+
+        @Positive(message = "Hot set prefetch batch size must be positive")
+        int prefetchBatchSize) {
+}
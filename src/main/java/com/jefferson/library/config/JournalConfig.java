@@ -0,0 +1,38 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.journal.MutationJournal;
+import com.jefferson.library.journal.MutationJournalRecorder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(JournalProperties.class)
+@ConditionalOnProperty(prefix = "library.journal", name = "enabled", havingValue = "true")
+public class JournalConfig {
+
+    //Closed after the listeners are gone, the entries still in the ring are written out
+    @Bean(destroyMethod = "close")
+    public MutationJournal mutationJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        if(properties.segmentSize().toBytes() < 1024) {
+            throw new IllegalStateException("library.journal.segment-size must be at least 1KB");
+        }
+
+        MutationJournal journal = MutationJournal.open(properties.directory(), properties.segmentSize().toBytes(),
+                properties.ringSize(), properties.fsyncBatchSize(), properties.fsyncInterval(), properties.offerTimeout());
+
+        meterRegistry.gauge("library.journal.pending", journal, MutationJournal::pending);
+        FunctionCounter.builder("library.journal.dropped", journal, MutationJournal::dropped).register(meterRegistry);
+        return journal;
+    }
+
+    @Bean
+    public MutationJournalRecorder mutationJournalRecorder(MutationJournal journal) {
+        return new MutationJournalRecorder(journal);
+    }
+}
@@ -0,0 +1,34 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.journal")
+public record JournalProperties(
+        boolean enabled,
+
+        @NotNull(message = "Journal directory mustn't be null")
+        Path directory,
+
+        @NotNull(message = "Journal segment size mustn't be null")
+        DataSize segmentSize,
+
+        @Positive(message = "Journal ring size must be positive")
+        int ringSize,
+
+        @Positive(message = "Journal fsync batch size must be positive")
+        int fsyncBatchSize,
+
+        @NotNull(message = "Journal fsync interval mustn't be null")
+        Duration fsyncInterval,
+
+        @NotNull(message = "Journal offer timeout mustn't be null")
+        Duration offerTimeout) {
+}
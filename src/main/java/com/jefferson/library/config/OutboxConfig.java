@@ -0,0 +1,19 @@
+package com.jefferson.library.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    //Every shard has an outbox but feed positions are assigned on the default one, the others would never be relayed
+    @Autowired
+    public OutboxConfig(OutboxProperties properties, ShardingProperties shardingProperties) {
+        if(properties.feedEnabled() && shardingProperties.enabled()) {
+            throw new IllegalStateException("The change feed doesn't support sharding, "
+                    + "set library.outbox.feed-enabled=false when library.sharding.enabled=true");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.outbox")
+public record OutboxProperties(
+        boolean feedEnabled,
+
+        @Positive(message = "Outbox batch size must be positive")
+        int batchSize,
+
+        @NotNull(message = "Outbox retention mustn't be null")
+        Duration retention,
+
+        @NotNull(message = "Change feed emitter timeout mustn't be null")
+        Duration emitterTimeout) {
+}
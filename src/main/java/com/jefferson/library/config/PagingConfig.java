@@ -0,0 +1,16 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.service.PageRequestPolicy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PagingProperties.class)
+public class PagingConfig {
+
+    @Bean
+    public PageRequestPolicy pageRequestPolicy(PagingProperties properties) {
+        return new PageRequestPolicy(properties);
+    }
+}
@@ -0,0 +1,27 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Set;
+
+@Validated
+@ConfigurationProperties(prefix = "library.paging")
+public record PagingProperties(
+        @Positive(message = "Max page size must be positive")
+        int maxPageSize,
+
+        @Positive(message = "Max stream size must be positive")
+        int maxStreamSize,
+
+        @Positive(message = "Stream chunk size must be positive")
+        int streamChunkSize,
+
+        @NotEmpty(message = "Sortable fields mustn't be empty")
+        Set<String> sortableFields,
+
+        @Positive(message = "Embedded books must be positive")
+        int embeddedBooks) {
+}
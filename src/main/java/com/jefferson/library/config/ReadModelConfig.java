@@ -0,0 +1,39 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.journal.MutationJournal;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.readmodel.BookReadModelUpdater;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//The services fall back to JPA while the read model isn't serving, it never does unless enabled
+@Configuration
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class ReadModelConfig {
+
+    @Bean
+    public BookReadModel bookReadModel(ReadModelProperties properties) {
+        return new BookReadModel(properties.tombstoneGrace(), System::nanoTime);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "library.read-model", name = "enabled", havingValue = "true")
+    public BookReadModelUpdater bookReadModelUpdater(BookReadModel bookReadModel,
+                                                     BookRepository bookRepository,
+                                                     Shards shards,
+                                                     ReadModelProperties properties,
+                                                     ObjectProvider<MutationJournal> journal,
+                                                     MeterRegistry meterRegistry) {
+        meterRegistry.gauge("library.readmodel.books", bookReadModel, BookReadModel::size);
+        meterRegistry.gauge("library.readmodel.bytes", bookReadModel, model -> model.stats().footprintBytes());
+
+        return new BookReadModelUpdater(bookReadModel, bookRepository, shards, properties.loadChunkSize(),
+                journal.getIfAvailable());
+    }
+}
@@ -0,0 +1,20 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.read-model")
+public record ReadModelProperties(
+        boolean enabled,
+
+        @Positive(message = "Read model load chunk size must be positive")
+        int loadChunkSize,
+
+        @NotNull(message = "Read model tombstone grace mustn't be null")
+        Duration tombstoneGrace) {
+}
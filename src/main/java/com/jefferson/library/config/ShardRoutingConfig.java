@@ -0,0 +1,96 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.sharding.ShardResolver;
+import com.jefferson.library.sharding.ShardRoutingDataSource;
+import com.jefferson.library.sharding.ShardRoutingInterceptor;
+import com.jefferson.library.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Configuration
+@ConditionalOnProperty(prefix = "library.sharding", name = "enabled", havingValue = "true")
+public class ShardRoutingConfig {
+
+    private static final Set<String> SCHEMA_GENERATING_MODES = Set.of("create", "create-drop", "update");
+
+    @Bean
+    public ShardResolver shardResolver(ShardingProperties properties) {
+        if(properties.shards().isEmpty()) {
+            throw new IllegalStateException("Sharding is enabled but no library.sharding.shards are configured");
+        }
+        return new ShardResolver(properties.strategy(), properties.shards().size(), properties.rangeSize());
+    }
+
+    //Replaces the auto-configured datasource, the first shard is the default one for unrouted work.
+    //A request would keep the connection of its first shard with open-in-view, so it's ruled out.
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardingProperties properties,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if(openInView) {
+            throw new IllegalStateException("Sharding requires spring.jpa.open-in-view=false");
+        }
+
+        List<ShardingProperties.Shard> shards = properties.shards();
+        Map<Object, Object> targets = new HashMap<>();
+        for(int i = 0; i < shards.size(); i++) {
+            HikariDataSource shard = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shards.get(i).url())
+                    .username(shards.get(i).username())
+                    .password(shards.get(i).password())
+                    .build();
+            shard.setPoolName("shard-" + i);
+            targets.put(i, shard);
+        }
+
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(targets.get(0));
+        return dataSource;
+    }
+
+    //Runs outside of the transaction advice, the transaction has to start on the routed shard.
+    //Static and lazy like the transaction advisor, advisors are looked up while post processors are created.
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor shardRoutingAdvisor(ObjectProvider<ShardResolver> resolver) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return ShardRoutingInterceptor.isRouted(method);
+            }
+        }, new ShardRoutingInterceptor(resolver::getObject));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         DataSource dataSource,
+                                                         ShardResolver resolver,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(entityManagerFactory, dataSource, resolver,
+                SCHEMA_GENERATING_MODES.contains(ddlAuto));
+    }
+}
@@ -0,0 +1,17 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.sharding.Shards;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+//Cross-shard queries go through Shards whether sharding is on or not, the routing is in ShardRoutingConfig
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    public Shards shards(ShardingProperties properties) {
+        return properties.enabled() ? new Shards(properties.shards().size()) : Shards.single();
+    }
+}
@@ -0,0 +1,36 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.sharding.ShardingStrategy;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.List;
+
+@Validated
+@ConfigurationProperties(prefix = "library.sharding")
+public record ShardingProperties(
+        boolean enabled,
+
+        @NotNull(message = "Sharding strategy mustn't be null")
+        ShardingStrategy strategy,
+
+        @Positive(message = "Range size must be positive")
+        long rangeSize,
+
+        @DefaultValue
+        List<@Valid Shard> shards) {
+
+    public record Shard(
+            @NotBlank(message = "Shard url mustn't be blank")
+            String url,
+
+            String username,
+
+            String password) {
+    }
+}
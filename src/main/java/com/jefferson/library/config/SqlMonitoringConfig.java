@@ -0,0 +1,47 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.monitoring.SqlStatementRegistry;
+import com.jefferson.library.monitoring.SqlTimingListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+
+    @Bean
+    public SqlStatementRegistry sqlStatementRegistry(SqlMonitoringProperties properties) {
+        return new SqlStatementRegistry(properties.maxStatementShapes());
+    }
+
+    @Bean
+    public SqlTimingListener sqlTimingListener(SqlStatementRegistry registry, SqlMonitoringProperties properties) {
+        return new SqlTimingListener(registry, properties.slowQueryThresholdMs(), properties.sampleRate());
+    }
+
+    //Static so that wrapping the datasource doesn't force early initialization of this configuration.
+    //Every QueryExecutionListener bean is attached, they're created when the datasource is wrapped,
+    //so a listener mustn't depend on the datasource itself.
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    listeners.orderedStream().forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+}
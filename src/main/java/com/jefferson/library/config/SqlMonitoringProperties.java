@@ -0,0 +1,25 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "library.sql")
+public record SqlMonitoringProperties(
+        @PositiveOrZero(message = "Slow query threshold mustn't be negative")
+        long slowQueryThresholdMs,
+
+        @DecimalMin(value = "0.0", message = "Sample rate must be between 0 and 1")
+        @DecimalMax(value = "1.0", message = "Sample rate must be between 0 and 1")
+        double sampleRate,
+
+        @Positive(message = "Max statement shapes must be positive")
+        int maxStatementShapes,
+
+        @Positive(message = "Top size must be positive")
+        int topSize) {
+}
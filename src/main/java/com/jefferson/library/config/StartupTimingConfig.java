@@ -0,0 +1,30 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.monitoring.FirstRequestFilter;
+import com.jefferson.library.monitoring.StartupTimingRecorder;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class StartupTimingConfig {
+
+    @Bean
+    public StartupTimingRecorder startupTimingRecorder(ConfigurableApplicationContext context) {
+        return new StartupTimingRecorder(context.getApplicationStartup());
+    }
+
+    //Only API traffic counts as the first request, probes and actuator calls don't
+    @Bean
+    public FilterRegistrationBean<FirstRequestFilter> firstRequestFilter(StartupTimingRecorder recorder,
+                                                                     ApplicationAvailability availability) {
+        FilterRegistrationBean<FirstRequestFilter> registration =
+                new FilterRegistrationBean<>(new FirstRequestFilter(recorder, availability));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
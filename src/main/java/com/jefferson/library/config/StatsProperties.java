@@ -0,0 +1,30 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.stats")
+public record StatsProperties(
+        @Positive(message = "Stats chunk size must be positive")
+        int chunkSize,
+
+        @Positive(message = "Stats split threshold must be positive")
+        int splitThreshold,
+
+        @Positive(message = "Stats parallelism must be positive")
+        int parallelism,
+
+        @Positive(message = "Stats page bucket width must be positive")
+        int pageBucketWidth,
+
+        @Positive(message = "Stats creation days must be positive")
+        int creationDays,
+
+        @NotNull(message = "Stats initial delay mustn't be null")
+        Duration initialDelay) {
+}
@@ -0,0 +1,12 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "library.sync")
+public record SyncProperties(
+        @Positive(message = "Sync max page size must be positive")
+        int maxPageSize) {
+}
@@ -0,0 +1,38 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.throttling.Bulkheads;
+import com.jefferson.library.throttling.ClientRateLimiter;
+import com.jefferson.library.throttling.ThrottlingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "library.throttling", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ThrottlingProperties.class)
+public class ThrottlingConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(ThrottlingProperties properties, MeterRegistry meterRegistry) {
+        return new ClientRateLimiter(properties.requestsPerSecond(), properties.burst(), properties.maxClients(),
+                System::nanoTime, meterRegistry);
+    }
+
+    @Bean
+    public Bulkheads bulkheads(ThrottlingProperties properties, MeterRegistry meterRegistry) {
+        return new Bulkheads(properties.maxConcurrent(), properties.bulkheadMaxWait(), meterRegistry);
+    }
+
+    @Bean
+    public ThrottlingInterceptor throttlingInterceptor(ClientRateLimiter clientRateLimiter,
+                                                       Bulkheads bulkheads,
+                                                       ThrottlingProperties properties,
+                                                       MeterRegistry meterRegistry,
+                                                       ApplicationAvailability availability) {
+        return new ThrottlingInterceptor(clientRateLimiter, bulkheads,
+                properties.clientHeader(), properties.trustedProxies(), properties.bulkheadRetryAfter(), meterRegistry, availability);
+    }
+}
@@ -0,0 +1,43 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.throttling.RequestClass;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+@Validated
+@ConfigurationProperties(prefix = "library.throttling")
+public record ThrottlingProperties(
+        boolean enabled,
+
+        @NotBlank(message = "Client header mustn't be blank")
+        String clientHeader,
+
+        @NotNull(message = "Trusted proxies mustn't be null")
+        Set<String> trustedProxies,
+
+        @Positive(message = "Requests per second must be positive")
+        double requestsPerSecond,
+
+        @Positive(message = "Burst must be positive")
+        int burst,
+
+        @Positive(message = "Max clients must be positive")
+        int maxClients,
+
+        @NotEmpty(message = "Bulkhead limits mustn't be empty")
+        Map<RequestClass, @Positive(message = "Bulkhead limit must be positive") Integer> maxConcurrent,
+
+        @NotNull(message = "Bulkhead max wait mustn't be null")
+        Duration bulkheadMaxWait,
+
+        @NotNull(message = "Bulkhead retry after mustn't be null")
+        Duration bulkheadRetryAfter) {
+}
@@ -0,0 +1,39 @@
+package com.jefferson.library.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Validated
+@ConfigurationProperties(prefix = "library.warmup")
+public record WarmupProperties(
+        boolean enabled,
+
+        @Positive(message = "Warm-up concurrency must be positive")
+        int concurrency,
+
+        @Positive(message = "Warm-up min rounds must be positive")
+        int minRounds,
+
+        @Positive(message = "Warm-up max rounds must be positive")
+        int maxRounds,
+
+        @Positive(message = "Warm-up window must be positive")
+        int window,
+
+        @Positive(message = "Warm-up tolerance must be positive")
+        double tolerance,
+
+        @NotNull(message = "Warm-up timeout mustn't be null")
+        Duration timeout,
+
+        @Positive(message = "Warm-up sample size must be positive")
+        int sampleSize,
+
+        @PositiveOrZero(message = "Warm-up synthetic books must be positive or zero")
+        int syntheticBooks) {
+}
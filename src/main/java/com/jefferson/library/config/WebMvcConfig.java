@@ -0,0 +1,25 @@
+package com.jefferson.library.config;
+
+import com.jefferson.library.throttling.ThrottlingInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+//Interceptors are optional beans, web slice tests run without them
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ThrottlingInterceptor> throttlingInterceptor;
+
+    @Autowired
+    public WebMvcConfig(ObjectProvider<ThrottlingInterceptor> throttlingInterceptor) {
+        this.throttlingInterceptor = throttlingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        throttlingInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.jefferson.library.controller;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import com.jefferson.library.dto.ArchivalResult;
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.AuthorDtoViews;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.service.ArchivalService;
+import com.jefferson.library.throttling.Bulkhead;
+import com.jefferson.library.throttling.RequestClass;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(path = "/api/v1/archive")
+@Validated
+public class ArchiveController {
+
+    private final ArchivalService archivalService;
+
+    @Autowired
+    public ArchiveController(ArchivalService archivalService) {
+        this.archivalService = archivalService;
+    }
+
+    @Bulkhead(RequestClass.BULK)
+    @PostMapping(path = "/run")
+    public ArchivalResult archiveExpired() {
+        return archivalService.archiveExpired();
+    }
+
+    @PostMapping(path = "/books/{id}/restore")
+    public BookDto restoreBook(@PathVariable
+                                   @Positive(message = "Book id must be positive")
+                                   Long id) {
+        return archivalService.restoreBook(id);
+    }
+
+    @PostMapping(path = "/authors/{id}/restore")
+    @JsonView(AuthorDtoViews.Public.class)
+    public AuthorDto restoreAuthor(@PathVariable
+                                       @Positive(message = "Author id must be positive")
+                                       Long id) {
+        return archivalService.restoreAuthor(id);
+    }
+}
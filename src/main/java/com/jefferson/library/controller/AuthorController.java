@@ -4,16 +4,30 @@ import com.fasterxml.jackson.annotation.JsonView;
 import com.jefferson.library.dto.AuthorDto;
 import com.jefferson.library.dto.AuthorDtoViews;
 import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.dto.AuthorSummary;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.dto.BookEmbedding;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.service.AuthorListingService;
 import com.jefferson.library.service.AuthorService;
-import com.jefferson.library.service.BookService;
+import com.jefferson.library.service.AuthorStreamingService;
+import com.jefferson.library.service.BulkService;
+import com.jefferson.library.throttling.Bulkhead;
+import com.jefferson.library.throttling.RequestClass;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(path = "/api/v1/authors")
@@ -21,20 +35,59 @@ import org.springframework.web.bind.annotation.*;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final AuthorListingService authorListingService;
+    private final AuthorStreamingService authorStreamingService;
+    private final BulkService bulkService;
 
     @Autowired
-    public AuthorController(AuthorService authorService) {
+    public AuthorController(AuthorService authorService,
+                            AuthorListingService authorListingService,
+                            AuthorStreamingService authorStreamingService,
+                            BulkService bulkService) {
         this.authorService = authorService;
+        this.authorListingService = authorListingService;
+        this.authorStreamingService = authorStreamingService;
+        this.bulkService = bulkService;
     }
 
+    @GetMapping
+    public CursorPage<AuthorSummary> listAuthors(@RequestParam(defaultValue = "NAME") AuthorSort sort,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20")
+                                                     @Positive(message = "Limit must be positive")
+                                                     int limit) {
+        return authorListingService.listActiveAuthors(sort, cursor, limit);
+    }
+
+    //With books=ALL every book is streamed after the author instead of a first page and a cursor.
+    //The return value handler is picked by the runtime type, hence Object.
     @GetMapping(path = "/{id}")
     @JsonView(AuthorDtoViews.WithBooks.class)
-    public AuthorDto getAuthor(@PathVariable
-                                   @Positive(message = "Author id must be positive")
-                                   Long id) {
+    public Object getAuthor(@PathVariable
+                                @Positive(message = "Author id must be positive")
+                                Long id,
+                            @RequestParam(defaultValue = "FIRST_PAGE") BookEmbedding books,
+                            HttpServletResponse response) {
+        if(books == BookEmbedding.ALL) {
+            AuthorDto author = authorStreamingService.getActiveAuthorWithoutBooks(id);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            return (StreamingResponseBody) outputStream -> authorStreamingService.streamActiveAuthor(id, author, outputStream);
+        }
+
         return authorService.getActiveAuthorById(id);
     }
 
+    @GetMapping(path = "/{id}/books")
+    public CursorPage<BookDto> getAuthorBooks(@PathVariable
+                                                  @Positive(message = "Author id must be positive")
+                                                  Long id,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = "20")
+                                                  @Positive(message = "Limit must be positive")
+                                                  int limit) {
+        return authorService.getActiveBooksOfAuthor(id, cursor, limit);
+    }
+
     @PostMapping(path = "/new")
     @JsonView(AuthorDtoViews.Public.class)
     @ResponseStatus(HttpStatus.CREATED)
@@ -46,6 +99,17 @@ public class AuthorController {
         return authorService.createNewAuthor(authorRequest);
     }
 
+    @Bulkhead(RequestClass.BULK)
+    @PostMapping(path = "/new/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public BulkResult newAuthors(@RequestBody
+                                     @NotNull(message = "Bulk request mustn't be null")
+                                     @Valid
+                                     BulkAuthorRequest bulkRequest) {
+
+        return bulkService.createAuthors(bulkRequest);
+    }
+
     @PostMapping(path = "/book")
     @JsonView(AuthorDtoViews.WithBooks.class)
     @ResponseStatus(HttpStatus.CREATED)
@@ -2,17 +2,30 @@ package com.jefferson.library.controller;
 
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.dto.CursorPage;
 import com.jefferson.library.service.BookService;
+import com.jefferson.library.service.BookStreamingService;
+import com.jefferson.library.service.BulkService;
+import com.jefferson.library.service.PageRequestPolicy;
+import com.jefferson.library.throttling.Bulkhead;
+import com.jefferson.library.throttling.RequestClass;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(path = "/api/v1/books")
@@ -20,17 +33,50 @@ import org.springframework.web.bind.annotation.*;
 public class BookController {
 
     private final BookService bookService;
+    private final BookStreamingService bookStreamingService;
+    private final PageRequestPolicy pageRequestPolicy;
+    private final BulkService bulkService;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService,
+                          BookStreamingService bookStreamingService,
+                          PageRequestPolicy pageRequestPolicy,
+                          BulkService bulkService) {
         this.bookService = bookService;
+        this.bookStreamingService = bookStreamingService;
+        this.pageRequestPolicy = pageRequestPolicy;
+        this.bulkService = bulkService;
     }
 
+    //Pages above the max page size aren't buffered, they're streamed without the total count.
+    //The return value handler is picked by the runtime type, hence Object.
     @GetMapping
-    public Page<BookDto> bookPage(@PageableDefault(size = 10, page = 0) Pageable pageable) {
+    public Object bookPage(@PageableDefault(size = 10, page = 0) Pageable pageable,
+                           HttpServletResponse response) {
+        pageRequestPolicy.check(pageable);
+
+        if(pageRequestPolicy.requiresStreaming(pageable)) {
+            bookStreamingService.checkStreamable();
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            return (StreamingResponseBody) outputStream -> bookStreamingService.streamActiveBooks(pageable, outputStream);
+        }
+
         return bookService.getAllActiveBooks(pageable);
     }
 
+    //Keyset pages, deep pages cost the same as the first one and don't need an offset on every shard
+    @GetMapping(path = "/scroll")
+    public CursorPage<BookDto> scrollBooks(@SortDefault(sort = "id") Sort sort,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20")
+                                               @Positive(message = "Limit must be positive")
+                                               int limit) {
+        pageRequestPolicy.checkLimit(limit);
+        pageRequestPolicy.check(PageRequest.of(0, limit, sort));
+
+        return bookService.listActiveBooks(sort, cursor, limit);
+    }
+
     @GetMapping(path = "/{id}")
     public BookDto getBook(@PathVariable
                                @Positive(message = "Book id must be positive")
@@ -56,4 +102,14 @@ public class BookController {
                                Long id) {
         bookService.deleteBook(id);
     }
+
+    //A body can't be relied on with DELETE, hence POST
+    @Bulkhead(RequestClass.BULK)
+    @PostMapping(path = "/delete/bulk")
+    public BulkResult deleteBooks(@RequestBody
+                                      @NotNull(message = "Bulk request mustn't be null")
+                                      @Valid
+                                      BulkDeleteRequest bulkRequest) {
+        return bulkService.deleteBooks(bulkRequest);
+    }
 }
@@ -0,0 +1,52 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.ChangeFeedEntry;
+import com.jefferson.library.service.ChangeFeedService;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import com.jefferson.library.throttling.Bulkhead;
+import com.jefferson.library.throttling.RequestClass;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@ConditionalOnProperty(prefix = "library.outbox", name = "feed-enabled", havingValue = "true")
+@RequestMapping(path = "/api/v1/changes")
+@Validated
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping
+    public List<ChangeFeedEntry> changes(@RequestParam(defaultValue = "0")
+                                             @PositiveOrZero(message = "Sequence must be positive or zero")
+                                             Long after,
+                                         @RequestParam(defaultValue = "100")
+                                             @Positive(message = "Limit must be positive")
+                                             int limit) {
+        return changeFeedService.readAfter(after, limit);
+    }
+
+    //A reconnecting EventSource sends the id of the last event it got, which wins over the original query
+    @Bulkhead(RequestClass.NONE)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false)
+                                 @PositiveOrZero(message = "Sequence must be positive or zero")
+                                 Long lastEventId,
+                             @RequestParam(required = false)
+                                 @PositiveOrZero(message = "Sequence must be positive or zero")
+                                 Long after) {
+        return changeFeedService.subscribe(lastEventId != null ? lastEventId : after);
+    }
+}
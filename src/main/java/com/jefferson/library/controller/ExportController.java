@@ -0,0 +1,84 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.ExportFormat;
+import com.jefferson.library.dto.ExportJobStatus;
+import com.jefferson.library.service.ExportService;
+import com.jefferson.library.throttling.Bulkhead;
+import com.jefferson.library.throttling.RequestClass;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/v1/exports")
+@Validated
+public class ExportController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ExportJobStatus startExport(@RequestParam(defaultValue = "CSV") ExportFormat format) {
+        return exportService.startExport(format);
+    }
+
+    @GetMapping(path = "/{id}")
+    public ExportJobStatus getStatus(@PathVariable UUID id) {
+        return exportService.getStatus(id);
+    }
+
+    //Tomcat sends the file with sendfile(2) when the connector supports it, otherwise it's a channel transfer
+    @Bulkhead(RequestClass.NONE)
+    @GetMapping(path = "/{id}/file")
+    public void download(@PathVariable UUID id,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+
+        ExportFormat format = exportService.getStatus(id).format();
+        Path file = exportService.getExportedFile(id);
+        long size = Files.size(file);
+
+        response.setContentType(format.mediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"books-" + id + "." + format.extension() + "\"");
+        response.setContentLengthLong(size);
+
+        if(Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while(position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.CatalogStats;
+import com.jefferson.library.service.CatalogStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/api/v1/stats")
+public class StatsController {
+
+    private final CatalogStatsService catalogStatsService;
+
+    @Autowired
+    public StatsController(CatalogStatsService catalogStatsService) {
+        this.catalogStatsService = catalogStatsService;
+    }
+
+    @GetMapping
+    public CatalogStats getStats() {
+        return catalogStatsService.getStats();
+    }
+}
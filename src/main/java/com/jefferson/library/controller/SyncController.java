@@ -0,0 +1,53 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.AuthorChange;
+import com.jefferson.library.dto.BookChange;
+import com.jefferson.library.dto.SyncPage;
+import com.jefferson.library.service.SyncService;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@ConditionalOnProperty(prefix = "library.outbox", name = "feed-enabled", havingValue = "true")
+@RequestMapping(path = "/api/v1/sync")
+@Validated
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping(path = "/books")
+    public SyncPage<BookChange> changedBooks(@RequestParam(required = false)
+                                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime since,
+                                             @RequestParam(required = false) String watermark,
+                                             @RequestParam(defaultValue = "100")
+                                                 @Positive(message = "Limit must be positive")
+                                                 int limit) {
+        return syncService.booksChangedSince(since, watermark, limit);
+    }
+
+    @GetMapping(path = "/authors")
+    public SyncPage<AuthorChange> changedAuthors(@RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                     LocalDateTime since,
+                                                 @RequestParam(required = false) String watermark,
+                                                 @RequestParam(defaultValue = "100")
+                                                     @Positive(message = "Limit must be positive")
+                                                     int limit) {
+        return syncService.authorsChangedSince(since, watermark, limit);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jefferson.library.dto;
+
+public record ArchivalResult(
+        int booksArchived,
+        int authorsArchived,
+        int batches) {
+}
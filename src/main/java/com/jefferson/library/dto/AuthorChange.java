@@ -0,0 +1,11 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+
+public record AuthorChange(
+        Long id,
+        String name,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean deleted) {
+}
@@ -0,0 +1,7 @@
+package com.jefferson.library.dto;
+
+import com.jefferson.library.model.ChangeType;
+
+//Published with the outbox event of the change, the sequence is the outbox event id
+public record AuthorChangedEvent(long sequence, ChangeType changeType, AuthorSnapshot author) {
+}
@@ -16,7 +16,15 @@ public record AuthorDto(
         List<BookDto> books,
 
         @JsonView(AuthorDtoViews.Public.class)
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+
+        //Cursor of the books sub-resource past the embedded ones, null when all of them are embedded
+        @JsonView(AuthorDtoViews.WithBooks.class)
+        String booksCursor) {
+
+    public AuthorDto(String name, List<BookDto> books, LocalDateTime createdAt) {
+        this(name, books, createdAt, null);
+    }
 
     @Override
     public boolean equals(Object obj) {
@@ -25,12 +33,13 @@ public record AuthorDto(
 
         AuthorDto other = (AuthorDto) obj;
         return Objects.equals(name, other.name)
-                && Objects.equals(books, other.books);
+                && Objects.equals(books, other.books)
+                && Objects.equals(booksCursor, other.booksCursor);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, books);
+        return Objects.hash(name, books, booksCursor);
     }
 
 }
@@ -0,0 +1,6 @@
+package com.jefferson.library.dto;
+
+public enum AuthorSort {
+    NAME,
+    BOOK_COUNT
+}
@@ -0,0 +1,10 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+
+public record AuthorSummary(
+        Long id,
+        String name,
+        LocalDateTime createdAt,
+        long bookCount) {
+}
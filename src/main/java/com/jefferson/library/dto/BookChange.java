@@ -0,0 +1,13 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+
+public record BookChange(
+        Long id,
+        Long authorId,
+        String title,
+        int pagesNumber,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean deleted) {
+}
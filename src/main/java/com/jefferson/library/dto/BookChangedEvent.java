@@ -0,0 +1,8 @@
+package com.jefferson.library.dto;
+
+import com.jefferson.library.model.ChangeType;
+
+//Published with the outbox event of the change, the sequence is the outbox event id.
+//It's assigned before the change commits, the read model orders changes by the book version instead.
+public record BookChangedEvent(long sequence, ChangeType changeType, BookSnapshot book) {
+}
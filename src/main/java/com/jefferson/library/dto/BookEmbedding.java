@@ -0,0 +1,6 @@
+package com.jefferson.library.dto;
+
+//FIRST_PAGE embeds a page of books with the cursor of the next one, ALL streams every book
+public enum BookEmbedding {
+    FIRST_PAGE, ALL
+}
@@ -0,0 +1,12 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+
+public record BookExportRow(
+        Long bookId,
+        String title,
+        int pagesNumber,
+        LocalDateTime createdAt,
+        Long authorId,
+        String authorName) {
+}
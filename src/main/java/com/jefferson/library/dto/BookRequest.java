@@ -1,5 +1,6 @@
 package com.jefferson.library.dto;
 
+import com.jefferson.library.sharding.AuthorScoped;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -16,7 +17,7 @@ public record BookRequest(
 
         @NotNull(message = "Book request: number of pages mustn't be null")
         @Positive(message = "Book request: number of pages must be positive")
-        Integer pagesNumber) {
+        Integer pagesNumber) implements AuthorScoped {
 
     @Override
     public boolean equals(Object obj) {
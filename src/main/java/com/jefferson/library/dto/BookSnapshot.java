@@ -0,0 +1,14 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+
+//The version is the book row version of the change
+public record BookSnapshot(
+        Long id,
+        Long authorId,
+        String title,
+        int pagesNumber,
+        LocalDateTime createdAt,
+        boolean deleted,
+        long version) {
+}
@@ -0,0 +1,13 @@
+package com.jefferson.library.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkAuthorRequest(@NotEmpty(message = "Bulk request: authors are null or empty")
+                                @Size(max = BulkResult.MAX_SIZE, message = "Bulk request: at most " + BulkResult.MAX_SIZE + " authors")
+                                List<@NotNull(message = "Author request mustn't be null") @Valid AuthorRequest> authors) {
+}
@@ -0,0 +1,13 @@
+package com.jefferson.library.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkDeleteRequest(@NotEmpty(message = "Bulk request: ids are null or empty")
+                                @Size(max = BulkResult.MAX_SIZE, message = "Bulk request: at most " + BulkResult.MAX_SIZE + " ids")
+                                List<@NotNull(message = "Book id mustn't be null") @Positive(message = "Book id must be positive") Long> ids) {
+}
@@ -0,0 +1,14 @@
+package com.jefferson.library.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk request: the ids created, or the ids affected. Ids already deleted or unknown are left out.
+ */
+public record BulkResult(
+        int requested,
+        List<Long> ids) {
+
+    //Items of one request, a request runs on a single bulkhead slot
+    public static final int MAX_SIZE = 10_000;
+}
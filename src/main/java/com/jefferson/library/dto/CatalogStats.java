@@ -0,0 +1,29 @@
+package com.jefferson.library.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogStats(
+        Instant computedAt,
+        long durationMs,
+        long activeBooks,
+        long activeAuthors,
+        //Authors by their number of active books, in power of two ranges
+        List<Bucket> booksPerAuthor,
+        PageCountStats pageCounts,
+        //Books created per day, later deleted ones included, oldest day first
+        List<DailyCount> createdPerDay) {
+
+    public record Bucket(long from, long to, long count) {
+    }
+
+    public record PageCountStats(
+            int min,
+            int max,
+            double mean,
+            int median,
+            int p90,
+            int p99,
+            List<Bucket> histogram) {
+    }
+}
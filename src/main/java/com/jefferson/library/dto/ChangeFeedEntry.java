@@ -0,0 +1,17 @@
+package com.jefferson.library.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.ChangeType;
+
+import java.time.LocalDateTime;
+
+public record ChangeFeedEntry(
+        long sequence,
+        AggregateType aggregateType,
+        Long aggregateId,
+        ChangeType changeType,
+        @JsonRawValue
+        String payload,
+        LocalDateTime occurredAt) {
+}
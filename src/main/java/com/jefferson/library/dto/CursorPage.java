@@ -0,0 +1,12 @@
+package com.jefferson.library.dto;
+
+import java.util.List;
+
+/**
+ * Keyset page of a listing. The cursor is passed back to get the next page, it's null on the last one.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore) {
+}
@@ -0,0 +1,8 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDate;
+
+public record DailyCount(
+        LocalDate day,
+        long count) {
+}
@@ -0,0 +1,21 @@
+package com.jefferson.library.dto;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv");
+
+    private final String extension;
+    private final String mediaType;
+
+    ExportFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jefferson.library.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ExportJobStatus(
+        UUID id,
+        ExportFormat format,
+        State state,
+        long rowsWritten,
+        long totalRows,
+        double progress,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt,
+        String error) {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+}
@@ -0,0 +1,6 @@
+package com.jefferson.library.dto;
+
+public record GroupCount(
+        long value,
+        long count) {
+}
@@ -0,0 +1,7 @@
+package com.jefferson.library.dto;
+
+public record HotKey(
+        long id,
+        long estimatedCount,
+        double estimatedPerSecond) {
+}
@@ -0,0 +1,9 @@
+package com.jefferson.library.dto;
+
+import java.util.List;
+
+public record HotKeysReport(
+        boolean enabled,
+        List<HotKey> books,
+        List<HotKey> authors) {
+}
@@ -0,0 +1,11 @@
+package com.jefferson.library.dto;
+
+public record JournalStats(
+        long lastPosition,
+        long appended,
+        long dropped,
+        int pending,
+        int ringCapacity,
+        int segments,
+        long forces) {
+}
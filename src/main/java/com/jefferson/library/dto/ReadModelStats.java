@@ -0,0 +1,10 @@
+package com.jefferson.library.dto;
+
+public record ReadModelStats(
+        boolean serving,
+        int books,
+        int deletedBooks,
+        int authors,
+        long footprintBytes,
+        long bytesPerMillionBooks) {
+}
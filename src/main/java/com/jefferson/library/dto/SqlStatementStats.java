@@ -0,0 +1,9 @@
+package com.jefferson.library.dto;
+
+public record SqlStatementStats(
+        String statement,
+        long executions,
+        double totalMillis,
+        double meanMillis,
+        double maxMillis) {
+}
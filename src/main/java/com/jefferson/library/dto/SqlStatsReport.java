@@ -0,0 +1,10 @@
+package com.jefferson.library.dto;
+
+import java.util.List;
+
+public record SqlStatsReport(
+        long trackedShapes,
+        long untrackedExecutions,
+        List<SqlStatementStats> slowest,
+        List<SqlStatementStats> mostFrequent) {
+}
@@ -0,0 +1,18 @@
+package com.jefferson.library.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Durations are measured from the JVM start unless stated otherwise, null until the phase is reached.
+ */
+public record StartupReport(
+        Instant jvmStartedAt,
+        //From SpringApplication.run, excludes JVM bootstrap
+        Long contextStartedMs,
+        Long applicationReadyMs,
+        Long jvmUptimeAtReadyMs,
+        Long timeToFirstRequestMs,
+        String firstRequest,
+        List<StartupStepTiming> slowestSteps) {
+}
@@ -0,0 +1,9 @@
+package com.jefferson.library.dto;
+
+import java.util.Map;
+
+public record StartupStepTiming(
+        String name,
+        Map<String, String> tags,
+        long durationMs) {
+}
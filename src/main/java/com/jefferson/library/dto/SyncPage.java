@@ -0,0 +1,13 @@
+package com.jefferson.library.dto;
+
+import java.util.List;
+
+/**
+ * Changes ordered by update time and id. The watermark is passed back to get the next page,
+ * or the next round of changes once hasMore is false.
+ */
+public record SyncPage<T>(
+        List<T> changes,
+        String watermark,
+        boolean hasMore) {
+}
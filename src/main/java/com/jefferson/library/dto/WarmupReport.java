@@ -0,0 +1,19 @@
+package com.jefferson.library.dto;
+
+import java.time.Instant;
+
+public record WarmupReport(
+        DataSource dataSource,
+        boolean converged,
+        int rounds,
+        long requests,
+        long failedRequests,
+        long durationMs,
+        double firstRoundMeanMs,
+        double lastWindowMeanMs,
+        Instant finishedAt) {
+
+    public enum DataSource {
+        HOT_SET, CATALOG, SYNTHETIC, EMPTY
+    }
+}
@@ -1,7 +1,11 @@
 package com.jefferson.library.exception;
 
-public class AuthorNotFoundException extends RuntimeException {
-    public AuthorNotFoundException(String message) {
-        super(message);
+public class AuthorNotFoundException extends NotFoundException {
+    public AuthorNotFoundException(Object id) {
+        super("Author", id);
+    }
+
+    public AuthorNotFoundException(String resource, Object id) {
+        super(resource, id);
     }
 }
@@ -1,7 +1,11 @@
 package com.jefferson.library.exception;
 
-public class BookNotFoundException extends RuntimeException {
-    public BookNotFoundException(String message) {
-        super(message);
+public class BookNotFoundException extends NotFoundException {
+    public BookNotFoundException(Object id) {
+        super("Book", id);
+    }
+
+    public BookNotFoundException(String resource, Object id) {
+        super(resource, id);
     }
 }
@@ -0,0 +1,16 @@
+package com.jefferson.library.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class BulkheadFullException extends StacklessException {
+
+    private final Duration retryAfter;
+
+    public BulkheadFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
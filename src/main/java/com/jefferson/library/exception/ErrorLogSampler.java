@@ -0,0 +1,42 @@
+package com.jefferson.library.exception;
+
+import com.jefferson.library.throttling.TokenBucket;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits log lines per exception type. A storm of the same error logs a burst of lines and then
+ * a line per interval, which carries the number of lines suppressed since the previous one.
+ */
+final class ErrorLogSampler {
+
+    private final double linesPerSecond;
+    private final int burst;
+    private final ConcurrentMap<Class<?>, Sample> samples = new ConcurrentHashMap<>();
+
+    ErrorLogSampler(double linesPerSecond, int burst) {
+        this.linesPerSecond = linesPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * @return -1 if the line has to be suppressed, otherwise the number of lines suppressed since the last logged one
+     */
+    long tryLog(Class<?> type) {
+        Sample sample = samples.get(type);
+        if(sample == null) {
+            sample = samples.computeIfAbsent(type, key -> new Sample(new TokenBucket(linesPerSecond, burst), new LongAdder()));
+        }
+
+        if(sample.bucket().tryAcquire(System.nanoTime()) > 0) {
+            sample.suppressed().increment();
+            return -1;
+        }
+        return sample.suppressed().sumThenReset();
+    }
+
+    private record Sample(TokenBucket bucket, LongAdder suppressed) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.jefferson.library.exception;
+
+public class ExportJobNotFoundException extends NotFoundException {
+    public ExportJobNotFoundException(Object id) {
+        super("Export", id);
+    }
+
+    public ExportJobNotFoundException(String resource, Object id) {
+        super(resource, id);
+    }
+}
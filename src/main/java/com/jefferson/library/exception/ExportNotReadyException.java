@@ -0,0 +1,7 @@
+package com.jefferson.library.exception;
+
+public class ExportNotReadyException extends StacklessException {
+    public ExportNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.jefferson.library.exception;
+
+//The export executor's queue is full, the job was never started
+public class ExportQueueFullException extends StacklessException {
+    public ExportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.query.sqm.ParsingException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -19,6 +21,20 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    //Client errors come in storms (crawlers probing ids), their log lines are sampled per exception type
+    private static final double LOG_LINES_PER_SECOND = 1.0;
+    private static final int LOG_BURST = 10;
+
+    //Bodies without request specific details are shared
+    private static final Map<String, String> STATS_NOT_READY =
+            Map.of("Error", "Catalog stats aren't computed yet, try again later.");
+    private static final Map<String, String> TOO_MANY_JOBS = Map.of("Error", "Too many background jobs, try again later.");
+    private static final Map<String, String> INTEGRITY_VIOLATION = Map.of("Error", "Unique index or primary key violation.");
+    private static final Map<String, String> UNREADABLE_BODY = Map.of("Error", "Request body is null or cannot be read.");
+    private static final Map<String, String> BAD_QUERY = Map.of("Error", "Bad query parsing.");
+
+    private final ErrorLogSampler logSampler = new ErrorLogSampler(LOG_LINES_PER_SECOND, LOG_BURST);
+
     //Controller validation exceptions handling
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>>
@@ -27,8 +43,7 @@ public class GlobalExceptionHandler {
         exception.getBindingResult().getFieldErrors()
                 .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
 
-        log.error("Validation errors found in Controller: {}", errors.size());
-        errors.forEach((field, msg) -> log.error("Field: '{}': {}", field, msg));
+        warnSampled(exception, "Validation errors found in Controller: {}", errors);
 
         return ResponseEntity.badRequest().body(errors);
     }
@@ -45,29 +60,85 @@ public class GlobalExceptionHandler {
                     errors.put(paths[paths.length - 1], constraintViolation.getMessage());
                 });
 
-        log.error("Validation errors found in Service: {}", errors.size());
-        errors.forEach((field, msg) -> log.error("Field: '{}': {}", field, msg));
+        warnSampled(exception, "Validation errors found in Service: {}", errors);
 
         return ResponseEntity.badRequest().body(errors);
     }
 
     @ExceptionHandler(AuthorNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleAuthorNotFoundException(AuthorNotFoundException exception) {
-        log.warn(exception.getMessage());
+        warnSampled(exception);
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("Error", exception.getMessage()));
     }
 
     @ExceptionHandler(BookNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleBookNotFoundException(BookNotFoundException exception) {
-        log.warn(exception.getMessage());
+        warnSampled(exception);
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(Map.of("Error", exception.getMessage()));
     }
 
+    @ExceptionHandler(ExportJobNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleExportJobNotFoundException(ExportJobNotFoundException exception) {
+        warnSampled(exception);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ExportNotReadyException.class)
+    public ResponseEntity<Map<String, String>> handleExportNotReadyException(ExportNotReadyException exception) {
+        warnSampled(exception, "{}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(ExportQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleExportQueueFullException(ExportQueueFullException exception) {
+        warnSampled(exception, "{}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(TOO_MANY_JOBS);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, String>> handleRateLimitExceededException(RateLimitExceededException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(exception.getRetryAfter()))
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, String>> handleBulkheadFullException(BulkheadFullException exception) {
+        warnSampled(exception, "{}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(exception.getRetryAfter()))
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(StatsNotReadyException.class)
+    public ResponseEntity<Map<String, String>> handleStatsNotReadyException(StatsNotReadyException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(exception.getRetryAfter()))
+                .body(STATS_NOT_READY);
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidPageRequestException(InvalidPageRequestException exception) {
+        warnSampled(exception, "{}", exception.getMessage());
+        return ResponseEntity.badRequest()
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
+    @ExceptionHandler(SyncWatermarkExpiredException.class)
+    public ResponseEntity<Map<String, String>> handleSyncWatermarkExpiredException(SyncWatermarkExpiredException exception) {
+        warnSampled(exception, "{}", exception.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE)
+                .body(Map.of("Error", exception.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<Map<String, String>> handleTypeMismatchException(MethodArgumentTypeMismatchException exception) {
-        log.error(exception.getMessage());
+        warnSampled(exception, "{}", exception.getMessage());
         return ResponseEntity.badRequest()
                 .body(Map.of("Error", "Invalid format: " + exception.getValue()));
     }
@@ -76,15 +147,15 @@ public class GlobalExceptionHandler {
     public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(DataIntegrityViolationException exception) {
         log.error(exception.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(Map.of("Error", "Unique index or primary key violation."));
+                .body(INTEGRITY_VIOLATION);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, String>> handleBadRequestBody(HttpMessageNotReadableException exception) {
-        log.error(exception.getMessage());
+        warnSampled(exception, "{}", exception.getMessage());
         return ResponseEntity
                 .badRequest()
-                .body(Map.of("Error", "Request body is null or cannot be read."));
+                .body(UNREADABLE_BODY);
     }
 
     @ExceptionHandler(ParsingException.class)
@@ -92,7 +163,7 @@ public class GlobalExceptionHandler {
         log.error(exception.getMessage());
         return ResponseEntity
                 .internalServerError()
-                .body(Map.of("Error", "Bad query parsing."));
+                .body(BAD_QUERY);
     }
 
     @ExceptionHandler(Exception.class)
@@ -101,4 +172,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("Error", exception.getMessage()));
     }
+
+    //The message of a not found exception is formatted only when the line is logged
+    private void warnSampled(NotFoundException exception) {
+        long suppressed = logSampler.tryLog(exception.getClass());
+        if(suppressed == 0) {
+            log.warn(exception.getMessage());
+        } else if(suppressed > 0) {
+            log.warn("{} ({} similar suppressed)", exception.getMessage(), suppressed);
+        }
+    }
+
+    //The detail is formatted only when the line is logged
+    private void warnSampled(Exception exception, String format, Object detail) {
+        long suppressed = logSampler.tryLog(exception.getClass());
+        if(suppressed == 0) {
+            log.warn(format, detail);
+        } else if(suppressed > 0) {
+            log.warn(format + " ({} similar suppressed)", detail, suppressed);
+        }
+    }
+
+    //Retry-After takes whole seconds, rounded up so a client retrying on time finds a free token
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
 }
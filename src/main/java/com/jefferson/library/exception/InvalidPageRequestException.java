@@ -0,0 +1,7 @@
+package com.jefferson.library.exception;
+
+public class InvalidPageRequestException extends StacklessException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
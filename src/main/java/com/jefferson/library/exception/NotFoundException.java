@@ -0,0 +1,26 @@
+package com.jefferson.library.exception;
+
+/**
+ * Base of the exceptions of a missing resource. The id is kept as is and the message is formatted only
+ * when it is read, for the 404 body and for a log line that isn't sampled away.
+ */
+public abstract class NotFoundException extends StacklessException {
+
+    private final String resource;
+    private final Object id;
+
+    protected NotFoundException(String resource, Object id) {
+        super(null);
+        this.resource = resource;
+        this.id = id;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public String getMessage() {
+        return resource + " not found for id: " + id;
+    }
+}
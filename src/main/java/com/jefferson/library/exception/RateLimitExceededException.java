@@ -0,0 +1,16 @@
+package com.jefferson.library.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends StacklessException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
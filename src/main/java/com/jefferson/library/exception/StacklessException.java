@@ -0,0 +1,12 @@
+package com.jefferson.library.exception;
+
+/**
+ * Base of the expected, client-caused exceptions. They are thrown per request and always handled by
+ * {@link GlobalExceptionHandler}, so filling in the stack trace would be pure overhead.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
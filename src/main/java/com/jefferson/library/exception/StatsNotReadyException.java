@@ -0,0 +1,16 @@
+package com.jefferson.library.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class StatsNotReadyException extends StacklessException {
+
+    private final Duration retryAfter;
+
+    public StatsNotReadyException(Duration retryAfter) {
+        super("Catalog stats aren't computed yet");
+        this.retryAfter = retryAfter;
+    }
+}
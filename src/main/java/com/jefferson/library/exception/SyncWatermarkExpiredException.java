@@ -0,0 +1,7 @@
+package com.jefferson.library.exception;
+
+public class SyncWatermarkExpiredException extends StacklessException {
+    public SyncWatermarkExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.ArchivalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "library.archival", name = "enabled", havingValue = "true")
+public class ArchivalJob {
+
+    private final ArchivalService archivalService;
+
+    @Autowired
+    public ArchivalJob(ArchivalService archivalService) {
+        this.archivalService = archivalService;
+    }
+
+    @Scheduled(fixedDelayString = "${library.archival.interval}", initialDelayString = "${library.archival.initial-delay}")
+    public void archiveExpired() {
+        try {
+            archivalService.archiveExpired();
+        } catch(RuntimeException exception) {
+            log.error("Archival run failed: {}", exception.getMessage());
+        }
+    }
+}
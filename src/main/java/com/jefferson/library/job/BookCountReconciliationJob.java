@@ -0,0 +1,29 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.ActiveBookCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class BookCountReconciliationJob {
+
+    private final ActiveBookCounter activeBookCounter;
+
+    @Autowired
+    public BookCountReconciliationJob(ActiveBookCounter activeBookCounter) {
+        this.activeBookCounter = activeBookCounter;
+    }
+
+    @Scheduled(fixedDelayString = "${library.book-count.reconcile-interval}",
+            initialDelayString = "${library.book-count.reconcile-interval}")
+    public void reconcile() {
+        try {
+            activeBookCounter.reconcile();
+        } catch(RuntimeException exception) {
+            log.error("Active book count reconciliation failed: {}", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.CatalogStatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class CatalogStatsJob {
+
+    private final CatalogStatsService catalogStatsService;
+
+    @Autowired
+    public CatalogStatsJob(CatalogStatsService catalogStatsService) {
+        this.catalogStatsService = catalogStatsService;
+    }
+
+    //A failed run keeps the previous stats served
+    @Scheduled(fixedDelayString = "${library.stats.refresh-interval}", initialDelayString = "${library.stats.initial-delay}")
+    public void refreshStats() {
+        try {
+            catalogStatsService.refresh();
+        } catch(RuntimeException exception) {
+            log.error("Catalog stats refresh failed: {}", exception.getMessage());
+        }
+    }
+}
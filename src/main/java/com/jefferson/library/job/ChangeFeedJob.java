@@ -0,0 +1,24 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "library.outbox", name = "feed-enabled", havingValue = "true")
+public class ChangeFeedJob {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public ChangeFeedJob(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.poll-interval}")
+    public void relayChanges() {
+        changeFeedService.relay();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.ExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ExportCleanupJob {
+
+    private final ExportService exportService;
+
+    @Autowired
+    public ExportCleanupJob(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @Scheduled(fixedDelayString = "${library.export.cleanup-interval}")
+    public void removeExpiredExports() {
+        int removed = exportService.removeExpired();
+        if(removed > 0) {
+            log.info("Removed {} expired exports", removed);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.service.HotSetService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(prefix = "library.hot-keys", name = "enabled", havingValue = "true")
+public class HotKeysJob {
+
+    private final HotKeys hotKeys;
+    private final HotSetService hotSetService;
+
+    @Autowired
+    public HotKeysJob(HotKeys hotKeys, HotSetService hotSetService) {
+        this.hotKeys = hotKeys;
+        this.hotSetService = hotSetService;
+    }
+
+    //Fixed rate, the rates are estimated from the decay interval
+    @Scheduled(fixedRateString = "${library.hot-keys.decay-interval}", initialDelayString = "${library.hot-keys.decay-interval}")
+    public void decay() {
+        hotKeys.decay();
+    }
+
+    @Scheduled(fixedDelayString = "${library.hot-keys.snapshot-interval}", initialDelayString = "${library.hot-keys.snapshot-interval}")
+    public void saveSnapshot() {
+        hotSetService.saveSnapshot();
+    }
+
+    @PreDestroy
+    public void saveSnapshotAtShutdown() {
+        hotSetService.saveSnapshot();
+    }
+}
@@ -0,0 +1,35 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.HotSetService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+//Ahead of the warm-up runner, the warm-up reads the restored hot set
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "library.hot-keys", name = "enabled", havingValue = "true")
+public class HotSetRestoreRunner implements ApplicationRunner {
+
+    private final HotSetService hotSetService;
+
+    @Autowired
+    public HotSetRestoreRunner(HotSetService hotSetService) {
+        this.hotSetService = hotSetService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            hotSetService.restore();
+        } catch(RuntimeException exception) {
+            log.warn("Hot set restore failed, starting cold: {}", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.service.ChangeFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+//Runs with the change feed off as well, the outbox of every shard is written either way
+@Slf4j
+@Component
+public class OutboxRetentionJob {
+
+    private final ChangeFeedService changeFeedService;
+
+    @Autowired
+    public OutboxRetentionJob(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @Scheduled(fixedDelayString = "${library.outbox.cleanup-interval}")
+    public void removeExpiredEvents() {
+        int removed = changeFeedService.removeExpired();
+        if(removed > 0) {
+            log.info("Removed {} expired outbox events", removed);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.throttling.ClientRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "library.throttling", name = "enabled", havingValue = "true")
+public class ThrottlingJob {
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    @Autowired
+    public ThrottlingJob(ClientRateLimiter clientRateLimiter) {
+        this.clientRateLimiter = clientRateLimiter;
+    }
+
+    @Scheduled(fixedDelayString = "${library.throttling.eviction-interval}")
+    public void evictIdleClients() {
+        int evicted = clientRateLimiter.evictIdle();
+        if(evicted > 0) {
+            log.debug("Evicted {} idle rate limiter buckets", evicted);
+        }
+    }
+}
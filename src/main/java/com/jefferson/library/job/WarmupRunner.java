@@ -0,0 +1,50 @@
+package com.jefferson.library.job;
+
+import com.jefferson.library.dto.WarmupReport;
+import com.jefferson.library.service.WarmupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runners are called after the web server has started and before the application is marked ready,
+ * so the readiness probe keeps failing until warm-up is over.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "library.warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupService warmupService;
+    private final ApplicationContext applicationContext;
+
+    @Autowired
+    public WarmupRunner(WarmupService warmupService, ApplicationContext applicationContext) {
+        this.warmupService = warmupService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if(!(applicationContext instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null || webContext.getWebServer().getPort() <= 0) {
+            log.debug("No web server running, skipping warm-up");
+            return;
+        }
+
+        try {
+            WarmupReport report = warmupService.warmUp(webContext.getWebServer().getPort());
+            log.info("Warm-up {} after {} rounds and {} requests in {} ms: {} ms first round, {} ms last window, {} failed",
+                    report.converged() ? "converged" : "did not converge", report.rounds(), report.requests(),
+                    report.durationMs(), String.format("%.2f", report.firstRoundMeanMs()),
+                    String.format("%.2f", report.lastWindowMeanMs()), report.failedRequests());
+        } catch(RuntimeException exception) {
+            log.warn("Warm-up failed, starting cold: {}", exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.jefferson.library.journal;
+
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.model.ChangeType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary form of an entry: position, sequence, commit time in millis, change type, aggregate type,
+ * then the snapshot fields with the title or name as length-prefixed UTF-8. A gap has no change type
+ * and only the number of changes it stands for.
+ */
+final class JournalCodec {
+
+    private static final byte BOOK = 0;
+    private static final byte AUTHOR = 1;
+    private static final byte GAP = 2;
+    private static final byte NO_CHANGE_TYPE = -1;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final ChangeType[] CHANGE_TYPES = ChangeType.values();
+
+    private JournalCodec() {
+    }
+
+    /**
+     * @return the body ready to read, in the scratch buffer or in a larger one if it didn't fit
+     */
+    static ByteBuffer encode(ByteBuffer scratch, long position, JournalEntry entry) {
+        if(entry.isGap()) {
+            ByteBuffer body = scratch.clear();
+            return body.putLong(position)
+                    .putLong(entry.sequence())
+                    .putLong(entry.committedAt().toEpochMilli())
+                    .put(NO_CHANGE_TYPE)
+                    .put(GAP)
+                    .putLong(entry.missed())
+                    .flip();
+        }
+
+        byte[] text = (entry.book() != null ? entry.book().title() : entry.author().name()).getBytes(StandardCharsets.UTF_8);
+        //Fixed fields of the larger book layout, then the text
+        int size = 8 + 8 + 8 + 1 + 1 + 8 + 8 + 4 + 8 + 1 + 8 + 4 + text.length;
+        ByteBuffer body = scratch.capacity() >= size ? scratch.clear() : ByteBuffer.allocate(Math.max(size, scratch.capacity() * 2));
+
+        body.putLong(position)
+                .putLong(entry.sequence())
+                .putLong(entry.committedAt().toEpochMilli())
+                .put((byte) entry.changeType().ordinal());
+
+        if(entry.book() != null) {
+            BookSnapshot book = entry.book();
+            body.put(BOOK)
+                    .putLong(book.id())
+                    .putLong(book.authorId())
+                    .putInt(book.pagesNumber())
+                    .putLong(toEpochNanos(book.createdAt()))
+                    .put((byte) (book.deleted() ? 1 : 0))
+                    .putLong(book.version());
+        } else {
+            AuthorSnapshot author = entry.author();
+            body.put(AUTHOR)
+                    .putLong(author.id())
+                    .putLong(toEpochNanos(author.createdAt()))
+                    .put((byte) (author.deleted() ? 1 : 0));
+        }
+        body.putInt(text.length).put(text);
+
+        return body.flip();
+    }
+
+    static JournalEntry decode(ByteBuffer body) {
+        long position = body.getLong();
+        long sequence = body.getLong();
+        Instant committedAt = Instant.ofEpochMilli(body.getLong());
+        byte changeTypeOrdinal = body.get();
+        byte aggregateType = body.get();
+        if(aggregateType == GAP) {
+            return new JournalEntry(position, sequence, committedAt, null, null, null, body.getLong());
+        }
+
+        ChangeType changeType = CHANGE_TYPES[changeTypeOrdinal];
+        if(aggregateType == BOOK) {
+            long id = body.getLong();
+            long authorId = body.getLong();
+            int pagesNumber = body.getInt();
+            LocalDateTime createdAt = fromEpochNanos(body.getLong());
+            boolean deleted = body.get() == 1;
+            long version = body.getLong();
+            BookSnapshot book = new BookSnapshot(id, authorId, text(body), pagesNumber, createdAt, deleted, version);
+            return new JournalEntry(position, sequence, committedAt, changeType, book, null, 0);
+        }
+
+        long id = body.getLong();
+        LocalDateTime createdAt = fromEpochNanos(body.getLong());
+        boolean deleted = body.get() == 1;
+        AuthorSnapshot author = new AuthorSnapshot(id, text(body), createdAt, deleted);
+        return new JournalEntry(position, sequence, committedAt, changeType, null, author, 0);
+    }
+
+    static long positionOf(ByteBuffer body) {
+        return body.getLong(body.position());
+    }
+
+    private static String text(ByteBuffer body) {
+        byte[] text = new byte[body.getInt()];
+        body.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static long toEpochNanos(LocalDateTime time) {
+        return time == null ? NULL_TIME : time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return nanos == NULL_TIME ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+}
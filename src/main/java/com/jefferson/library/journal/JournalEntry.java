@@ -0,0 +1,41 @@
+package com.jefferson.library.journal;
+
+import com.jefferson.library.dto.AuthorChangedEvent;
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookChangedEvent;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.model.ChangeType;
+
+import java.time.Instant;
+
+/**
+ * A committed change as journaled, either a book or an author change. The position numbers the entries of the
+ * journal, it's assigned by the writer; the sequence is the outbox event id of the change.
+ * <p>
+ * A gap has neither, it stands for the given number of changes that were lost right before it.
+ */
+public record JournalEntry(
+        long position,
+        long sequence,
+        Instant committedAt,
+        ChangeType changeType,
+        BookSnapshot book,
+        AuthorSnapshot author,
+        long missed) {
+
+    public static JournalEntry of(BookChangedEvent event, Instant committedAt) {
+        return new JournalEntry(0, event.sequence(), committedAt, event.changeType(), event.book(), null, 0);
+    }
+
+    public static JournalEntry of(AuthorChangedEvent event, Instant committedAt) {
+        return new JournalEntry(0, event.sequence(), committedAt, event.changeType(), null, event.author(), 0);
+    }
+
+    public static JournalEntry gap(long missed, Instant writtenAt) {
+        return new JournalEntry(0, 0, writtenAt, null, null, null, missed);
+    }
+
+    public boolean isGap() {
+        return book == null && author == null;
+    }
+}
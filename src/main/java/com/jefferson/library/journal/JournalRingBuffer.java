@@ -0,0 +1,68 @@
+package com.jefferson.library.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded ring of many producers and a single consumer. A producer claims a sequence with a CAS while there is
+ * room, fills the slot and publishes it by storing the sequence in it; the consumer takes slots strictly in
+ * sequence order. There are no locks, a full ring refuses the offer.
+ */
+final class JournalRingBuffer<T> {
+
+    private final Object[] entries;
+    private final AtomicLongArray published;
+    private final int mask;
+
+    private final AtomicLong claimed = new AtomicLong();
+    //Written by the consumer only
+    private volatile long consumed;
+
+    JournalRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.entries = new Object[size];
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    boolean offer(T entry) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if(sequence - consumed >= entries.length) {
+                return false;
+            }
+        } while(!claimed.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        entries[index] = entry;
+        //Ordered after the slot write, the consumer reading the sequence sees the entry
+        published.lazySet(index, sequence);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long sequence = consumed;
+        int index = (int) sequence & mask;
+        if(published.get(index) != sequence) {
+            return null;
+        }
+
+        T entry = (T) entries[index];
+        entries[index] = null;
+        consumed = sequence + 1;
+        return entry;
+    }
+
+    int size() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+}
@@ -0,0 +1,153 @@
+package com.jefferson.library.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * A journal file of a fixed size, mapped in full. A header with the position of its first entry, then records of
+ * [body length][CRC32 of the body][body]. The length is written last, a zero length ends the written part and
+ * a record failing its checksum, torn by a crash, ends it as well.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_HEADER_BYTES = 8;
+
+    private static final int MAGIC = 0x4A524E31;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+
+    private JournalSegment(FileChannel channel, MappedByteBuffer buffer) {
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long firstPosition, long size) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(firstPosition)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(0).putLong(firstPosition);
+            return new JournalSegment(channel, buffer);
+        } catch(IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * @return false if the record doesn't fit, room for the terminating zero length is kept
+     */
+    boolean append(ByteBuffer body) {
+        int length = body.remaining();
+        if(buffer.remaining() < RECORD_HEADER_BYTES + length + Integer.BYTES) {
+            return false;
+        }
+
+        int start = buffer.position();
+        crc.reset();
+        crc.update(body.duplicate());
+
+        buffer.position(start + RECORD_HEADER_BYTES);
+        buffer.put(body);
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, length);
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    //The mapping stays valid until it's collected, it's only unreachable once the writer moves on
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static int maxBodyBytes(long segmentSize) {
+        return (int) Math.min(Integer.MAX_VALUE, segmentSize - HEADER_BYTES - RECORD_HEADER_BYTES - Integer.BYTES);
+    }
+
+    /**
+     * Passes the body of every intact record, in order, without copying it.
+     *
+     * @return the number of intact records
+     */
+    static int read(Path path, Consumer<ByteBuffer> bodies) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.remaining() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a journal segment: " + path);
+            }
+
+            CRC32 crc = new CRC32();
+            int records = 0;
+            int offset = HEADER_BYTES;
+            while(offset + RECORD_HEADER_BYTES <= buffer.limit()) {
+                int length = buffer.getInt(offset);
+                if(length <= 0 || offset + RECORD_HEADER_BYTES + length > buffer.limit()) {
+                    break;
+                }
+
+                ByteBuffer body = buffer.slice(offset + RECORD_HEADER_BYTES, length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+                    break;
+                }
+
+                bodies.accept(body);
+                records++;
+                offset += RECORD_HEADER_BYTES + length;
+            }
+            return records;
+        }
+    }
+
+    /**
+     * A crash before the header of a new segment reached the disk leaves a file of zeros, it holds no records
+     */
+    static boolean hasHeader(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() < HEADER_BYTES) {
+                return false;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            return header.getInt(0) == MAGIC && header.getLong(8) == firstPositionOf(path);
+        }
+    }
+
+    //Sorted by first position, the names are zero-padded
+    static List<Path> list(Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX)
+                            && file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long firstPositionOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String fileName(long firstPosition) {
+        return PREFIX + String.format("%020d", firstPosition) + SUFFIX;
+    }
+}
@@ -0,0 +1,281 @@
+package com.jefferson.library.journal;
+
+import com.jefferson.library.dto.JournalStats;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Append-only journal of committed changes in memory-mapped segment files. Committing threads only put entries
+ * into a ring buffer, a single writer thread numbers them, writes them to the current segment and rolls over
+ * to a new one when it's full. Segments are forced to disk every fsync batch of entries, or once the oldest
+ * unforced entry is an fsync interval old, so a crash loses at most that much.
+ * <p>
+ * An entry that can't be journaled, the ring staying full past the offer timeout, too large for a segment or
+ * failing to write, isn't silently skipped: the writer puts a gap entry with the number of entries lost
+ * before its next one, so replay shows where the journal stops being complete.
+ * <p>
+ * Replay reads the segments back through read-only mappings, up to the last entry written when it starts.
+ */
+@Slf4j
+public class MutationJournal implements Closeable {
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final long FULL_RING_PARK_NANOS = 50_000;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int fsyncBatchSize;
+    private final long fsyncIntervalNanos;
+    private final long offerTimeoutNanos;
+
+    private final JournalRingBuffer<JournalEntry> ring;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final AtomicLong dropped = new AtomicLong();
+    //Dropped since the last gap entry
+    private final AtomicLong unmarked = new AtomicLong();
+    //Written by the writer thread only
+    private volatile long lastPosition;
+    private volatile long appended;
+    private volatile long forces;
+    private JournalSegment segment;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+    private int unforced;
+    private long firstUnforcedAt;
+    private long nextGapAttemptAt;
+
+    private MutationJournal(Path directory, long segmentSize, int ringSize, int fsyncBatchSize,
+                            Duration fsyncInterval, Duration offerTimeout, long lastPosition) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncBatchSize = fsyncBatchSize;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.ring = new JournalRingBuffer<>(ringSize);
+        this.lastPosition = lastPosition;
+
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens the journal of the directory, numbering continues after its last intact entry.
+     * New entries always go to a new segment, the torn tail of a crashed one is never written over.
+     * A last segment whose header never reached the disk holds no entries, it's removed.
+     */
+    public static MutationJournal open(Path directory, long segmentSize, int ringSize, int fsyncBatchSize,
+                                       Duration fsyncInterval, Duration offerTimeout) throws IOException {
+        Files.createDirectories(directory);
+
+        long lastPosition = 0;
+        List<Path> segments = JournalSegment.list(directory);
+        if(!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            if(JournalSegment.hasHeader(last)) {
+                lastPosition = JournalSegment.firstPositionOf(last) - 1 + JournalSegment.read(last, body -> {});
+            } else {
+                log.warn("Journal segment {} has no header, removing it as an empty torn tail", last.getFileName());
+                Files.delete(last);
+                lastPosition = JournalSegment.firstPositionOf(last) - 1;
+                segments = segments.subList(0, segments.size() - 1);
+            }
+        }
+
+        log.info("Journal {} opened with {} segments, last position {}", directory, segments.size(), lastPosition);
+        return new MutationJournal(directory, segmentSize, ringSize, fsyncBatchSize, fsyncInterval, offerTimeout,
+                lastPosition);
+    }
+
+    /**
+     * Waits up to the offer timeout while the ring is full, a committed change mustn't hold its thread for long.
+     *
+     * @return false if the entry was dropped, a gap entry takes its place
+     */
+    public boolean append(JournalEntry entry) {
+        if(running && ring.offer(entry)) {
+            return true;
+        }
+
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        while(running && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(FULL_RING_PARK_NANOS);
+            if(ring.offer(entry)) {
+                return true;
+            }
+        }
+
+        drop();
+        return false;
+    }
+
+    /**
+     * Passes every entry after the given position, in position order. Gap entries are passed as well,
+     * a consumer that needs every change can't trust what it read from the first one on.
+     *
+     * @return the position of the last entry passed, the given one if there was none
+     */
+    public long replay(long afterPosition, Consumer<JournalEntry> consumer) throws IOException {
+        long upTo = lastPosition;
+        List<Path> segments = JournalSegment.list(directory);
+
+        long last = afterPosition;
+        for(int i = 0; i < segments.size(); i++) {
+            //A segment ends where the next one starts
+            if(i + 1 < segments.size() && JournalSegment.firstPositionOf(segments.get(i + 1)) <= afterPosition + 1) {
+                continue;
+            }
+            if(JournalSegment.firstPositionOf(segments.get(i)) > upTo) {
+                break;
+            }
+
+            long[] read = {last};
+            JournalSegment.read(segments.get(i), body -> {
+                long position = JournalCodec.positionOf(body);
+                if(position > read[0] && position <= upTo) {
+                    consumer.accept(JournalCodec.decode(body));
+                    read[0] = position;
+                }
+            });
+            last = read[0];
+        }
+        return last;
+    }
+
+    public int pending() {
+        return ring.size();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public JournalStats stats() {
+        int segments;
+        try {
+            segments = JournalSegment.list(directory).size();
+        } catch(IOException exception) {
+            segments = -1;
+        }
+        return new JournalStats(lastPosition, appended, dropped.get(), ring.size(), ring.capacity(), segments, forces);
+    }
+
+    /**
+     * Writes out what's left in the ring and forces the current segment
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        while(running || ring.size() > 0) {
+            JournalEntry entry = ring.poll();
+            if(entry != null) {
+                markGap();
+                if(!write(entry)) {
+                    drop();
+                }
+                if(unforced >= fsyncBatchSize) {
+                    force();
+                }
+            } else if(unmarked.get() > 0 && System.nanoTime() - nextGapAttemptAt >= 0) {
+                markGap();
+            } else if(unforced > 0 && System.nanoTime() - firstUnforcedAt >= fsyncIntervalNanos) {
+                force();
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+
+        markGap();
+        force();
+        closeSegment();
+    }
+
+    private void drop() {
+        dropped.incrementAndGet();
+        unmarked.incrementAndGet();
+    }
+
+    //A gap entry that can't be written either is tried again an fsync interval later, or before the next entry
+    private void markGap() {
+        long missed = unmarked.getAndSet(0);
+        if(missed > 0 && !write(JournalEntry.gap(missed, Instant.now()))) {
+            unmarked.addAndGet(missed);
+            nextGapAttemptAt = System.nanoTime() + fsyncIntervalNanos;
+        }
+    }
+
+    private boolean write(JournalEntry entry) {
+        long position = lastPosition + 1;
+        ByteBuffer body = JournalCodec.encode(scratch, position, entry);
+        scratch = body;
+
+        if(body.remaining() > JournalSegment.maxBodyBytes(segmentSize)) {
+            log.warn("Journal entry of {} bytes doesn't fit a segment, sequence {} is dropped", body.remaining(), entry.sequence());
+            return false;
+        }
+
+        try {
+            if(segment == null || !segment.append(body)) {
+                roll(position);
+                segment.append(body);
+            }
+        } catch(IOException | RuntimeException exception) {
+            log.error("Couldn't write journal entry of sequence {}: {}", entry.sequence(), exception.getMessage());
+            return false;
+        }
+
+        lastPosition = position;
+        appended++;
+        if(unforced++ == 0) {
+            firstUnforcedAt = System.nanoTime();
+        }
+        return true;
+    }
+
+    private void roll(long firstPosition) throws IOException {
+        force();
+        closeSegment();
+        segment = JournalSegment.create(directory, firstPosition, segmentSize);
+    }
+
+    private void force() {
+        if(segment != null && unforced > 0) {
+            segment.force();
+            forces++;
+        }
+        unforced = 0;
+    }
+
+    private void closeSegment() {
+        if(segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch(IOException exception) {
+            log.warn("Couldn't close journal segment: {}", exception.getMessage());
+        }
+        segment = null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.jefferson.library.journal;
+
+import com.jefferson.library.dto.AuthorChangedEvent;
+import com.jefferson.library.dto.BookChangedEvent;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Journals the book and author changes once their transaction has committed, a rolled back change never
+ * shows up in the journal.
+ */
+public class MutationJournalRecorder {
+
+    private final MutationJournal journal;
+
+    public MutationJournalRecorder(MutationJournal journal) {
+        this.journal = journal;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookChanged(BookChangedEvent event) {
+        journal.append(JournalEntry.of(event, Instant.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        journal.append(JournalEntry.of(event, Instant.now()));
+    }
+}
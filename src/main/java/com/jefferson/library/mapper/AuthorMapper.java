@@ -1,15 +1,22 @@
 package com.jefferson.library.mapper;
 
 import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.model.Author;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring", uses = BookMapper.class)
 public interface AuthorMapper {
 
     @Mapping(target = "books", ignore = true)
+    @Mapping(target = "booksCursor", ignore = true)
     AuthorDto toDtoWithoutBooks(Author author);
 
-    AuthorDto toDtoWithBooks(Author author);
+    //The books are a page queried by the caller, the author's collection isn't loaded
+    @Mapping(target = "books", source = "books")
+    @Mapping(target = "booksCursor", source = "booksCursor")
+    AuthorDto toDtoWithBooks(Author author, List<BookDto> books, String booksCursor);
 }
@@ -13,5 +13,7 @@ public interface BookMapper {
     BookDto toDto(Book book);
 
     @Mapping(target = "author", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Book toEntity(BookRequest bookRequest);
 }
@@ -0,0 +1,26 @@
+package com.jefferson.library.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Part of the number of active books. Writers add to a random slot, so concurrent transactions rarely
+ * wait on the same row lock; the count is the sum of all the slots.
+ */
+@Entity
+@Table(name = "active_book_count_slots")
+@NoArgsConstructor
+@Getter
+public class ActiveBookCountSlot {
+
+    @Id
+    private Integer slot;
+
+    @Column(name = "book_count", nullable = false)
+    private long bookCount;
+
+    public ActiveBookCountSlot(int slot) {
+        this.slot = slot;
+    }
+}
@@ -0,0 +1,5 @@
+package com.jefferson.library.model;
+
+public enum AggregateType {
+    BOOK, AUTHOR
+}
@@ -0,0 +1,36 @@
+package com.jefferson.library.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soft-deleted author moved out of the hot table by the archival job, once none of its books are left there.
+ * Rows are written and removed with set-based statements only, the entity is read-only.
+ */
+@Entity
+@Table(name = "authors_archive")
+@NoArgsConstructor
+@Getter
+public class ArchivedAuthor {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,48 @@
+package com.jefferson.library.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+/**
+ * Soft-deleted book moved out of the hot table by the archival job. Rows are written and
+ * removed with set-based statements only, the entity is read-only.
+ */
+@Entity
+@Table(name = "books_archive")
+@NoArgsConstructor
+@Getter
+public class ArchivedBook {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "pages_number", nullable = false)
+    private int pagesNumber;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    //Carried over, a restored book goes on from the version of its delete
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+}
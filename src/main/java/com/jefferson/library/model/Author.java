@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
@@ -13,7 +14,11 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = {
+        @Index(name = "idx_authors_deleted_at", columnList = "deleted, deleted_at"),
+        @Index(name = "idx_authors_name", columnList = "deleted, name, id"),
+        @Index(name = "idx_authors_book_count", columnList = "deleted, book_count desc, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -44,9 +49,32 @@ public class Author {
     @Getter
     private LocalDateTime createdAt;
 
+    @Column(name = "deleted_at")
+    @Getter
+    private LocalDateTime deletedAt;
+
+    //Active books of the author, only changed by increments of the active book counter
+    @Column(name = "book_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Getter
+    private long bookCount;
+
+    @Column(name = "updated_at", nullable = false)
+    @Getter
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        if(deleted && deletedAt == null) {
+            deletedAt = updatedAt;
+        }
     }
 
     @Override
@@ -74,12 +102,6 @@ public class Author {
         book.setAuthor(this);
     }
 
-    public void softDeleteAllBooks() {
-        for(Book book: books) {
-            book.setDeleted(true);
-        }
-    }
-
     public static Author build(Long id, String name) {
         Author author = new Author();
         author.setId(id);
@@ -5,12 +5,18 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_deleted_at", columnList = "deleted, deleted_at"),
+        @Index(name = "idx_books_title", columnList = "title"),
+        @Index(name = "idx_books_created_at", columnList = "created_at"),
+        @Index(name = "idx_books_author_id", columnList = "author_id, deleted, id")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -27,7 +33,7 @@ public class Book {
     @Column(name = "pages_number", nullable = false)
     private int pagesNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private Author author;
 
@@ -37,9 +43,29 @@ public class Book {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    //Advanced by every change while it holds the row lock, so it follows commit order
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        if(deleted && deletedAt == null) {
+            deletedAt = updatedAt;
+        }
     }
 
     @Override
@@ -58,6 +84,10 @@ public class Book {
         return id != null ? Objects.hashCode(id) : getClass().hashCode();
     }
 
+    public void nextVersion() {
+        version++;
+    }
+
     public static Book buildBook(Long id, String title, Integer pagesNumber, Author author) {
         Book book = new Book();
         book.setId(id);
@@ -0,0 +1,5 @@
+package com.jefferson.library.model;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED, RESTORED
+}
@@ -0,0 +1,28 @@
+package com.jefferson.library.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The last change feed position assigned. A single row, locked by the transaction assigning the next
+ * positions, so that positions are handed out by one transaction at a time across instances.
+ */
+@Entity
+@Table(name = "feed_positions")
+@NoArgsConstructor
+@Getter
+public class FeedPosition {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    @Column(name = "last_position", nullable = false)
+    private long lastPosition;
+
+    public long next() {
+        return ++lastPosition;
+    }
+}
@@ -0,0 +1,67 @@
+package com.jefferson.library.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change of a book or an author, written in the same transaction as the change itself.
+ * The id is drawn from a pooled database sequence so that the events of a bulk change go out in JDBC batches;
+ * it orders the events of one row but not the commits of different transactions. The change feed position is
+ * assigned once the event is committed, see {@link com.jefferson.library.service.ChangeFeedService}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_created_at", columnList = "created_at"),
+        @Index(name = "idx_outbox_events_feed_position", columnList = "feed_position", unique = true),
+        @Index(name = "idx_outbox_events_type_position", columnList = "aggregate_type, feed_position")
+})
+@NoArgsConstructor
+@Getter
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "aggregate_type", nullable = false, length = 16)
+    private AggregateType aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "feed_position")
+    private Long feedPosition;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public void assignFeedPosition(long feedPosition) {
+        this.feedPosition = feedPosition;
+    }
+
+    public static OutboxEvent build(AggregateType aggregateType, Long aggregateId, ChangeType changeType, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.aggregateType = aggregateType;
+        event.aggregateId = aggregateId;
+        event.changeType = changeType;
+        event.payload = payload;
+        return event;
+    }
+}
@@ -0,0 +1,59 @@
+package com.jefferson.library.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over long keys: depth rows of width counters, a key adds to one counter per row
+ * and its estimate is the smallest of them, never below the true count. Updates are lock-free.
+ */
+final class CountMinSketch {
+
+    //Odd multipliers of independent hashes, one per row
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L};
+
+    private final int depth;
+    private final int width;
+    private final int shift;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int depth, int width) {
+        if(depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.width = roundedWidth;
+        this.shift = 64 - Integer.numberOfTrailingZeros(roundedWidth);
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    //The estimate after adding, the min over the updated counters
+    long add(long key, long count) {
+        long estimate = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.addAndGet(index(row, key), count));
+        }
+        return estimate;
+    }
+
+    long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for(int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    //Counts added concurrently are halved or not, either is within the sketch's error
+    void halve() {
+        for(int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >> 1);
+        }
+    }
+
+    private int index(int row, long key) {
+        return row * width + (int) ((key * SEEDS[row]) >>> shift);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jefferson.library.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+//After the first request the filter costs a single volatile read. Warm-up requests before readiness don't count.
+public class FirstRequestFilter extends OncePerRequestFilter {
+
+    private final StartupTimingRecorder recorder;
+    private final ApplicationAvailability availability;
+
+    public FirstRequestFilter(StartupTimingRecorder recorder, ApplicationAvailability availability) {
+        this.recorder = recorder;
+        this.availability = availability;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if(!recorder.isFirstRequestRecorded()
+                && availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            recorder.recordFirstRequest(request.getMethod() + " " + request.getRequestURI());
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,117 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKey;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Heavy hitters of one kind of key. One access in sampleRate is counted, with a weight of sampleRate,
+ * into a count-min sketch. Keys whose estimate reaches the smallest one of the top are kept as candidates,
+ * ranked by their sketch estimate. The candidates are pruned back to the top size by whichever thread
+ * gets the lock, the others don't wait. A sampled access of a key already in the top costs the sketch
+ * update and a set lookup.
+ * <p>
+ * Counts are halved every decay interval. A steady rate r then counts between r * interval right after
+ * a decay and twice that right before the next one, the rate is the count over the interval plus the time
+ * since the last decay.
+ */
+public class HotKeyTracker {
+
+    private final CountMinSketch sketch;
+    private final int sampleRate;
+    private final int topSize;
+    private final LongSupplier nanoClock;
+    private final long decayIntervalNanos;
+
+    private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock pruneLock = new ReentrantLock();
+    private volatile long threshold;
+    private volatile long lastDecayNanos;
+
+    public HotKeyTracker(int depth, int width, int sampleRate, int topSize, long decayIntervalNanos, LongSupplier nanoClock) {
+        this.sketch = new CountMinSketch(depth, width);
+        this.sampleRate = sampleRate;
+        this.topSize = topSize;
+        this.decayIntervalNanos = decayIntervalNanos;
+        this.nanoClock = nanoClock;
+        this.lastDecayNanos = nanoClock.getAsLong();
+    }
+
+    public void record(long key) {
+        if(sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+
+        long estimate = sketch.add(key, sampleRate);
+        if(estimate >= threshold && !candidates.contains(key)) {
+            candidates.add(key);
+            if(candidates.size() > 2 * topSize && pruneLock.tryLock()) {
+                try {
+                    prune();
+                } finally {
+                    pruneLock.unlock();
+                }
+            }
+        }
+    }
+
+    public List<HotKey> top() {
+        double windowSeconds = (decayIntervalNanos + nanoClock.getAsLong() - lastDecayNanos) / 1e9;
+
+        return candidates.stream()
+                .map(key -> {
+                    long estimate = sketch.estimate(key);
+                    return new HotKey(key, estimate, estimate / windowSeconds);
+                })
+                .sorted(Comparator.comparingLong(HotKey::estimatedCount).reversed())
+                .limit(topSize)
+                .toList();
+    }
+
+    //Restores the counts of a previous run, the keys are ranked against the current ones
+    public void seed(List<HotKey> hotKeys) {
+        pruneLock.lock();
+        try {
+            hotKeys.forEach(hotKey -> {
+                sketch.add(hotKey.id(), hotKey.estimatedCount());
+                candidates.add(hotKey.id());
+            });
+            prune();
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    public void decay() {
+        pruneLock.lock();
+        try {
+            sketch.halve();
+            threshold >>= 1;
+            lastDecayNanos = nanoClock.getAsLong();
+            prune();
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    //Keeps the top size candidates, the smallest of them is the bar for new ones until the top is full
+    private void prune() {
+        if(candidates.size() <= topSize) {
+            threshold = 0;
+            return;
+        }
+
+        List<HotKey> ranked = candidates.stream()
+                .map(key -> new HotKey(key, sketch.estimate(key), 0))
+                .sorted(Comparator.comparingLong(HotKey::estimatedCount).reversed())
+                .toList();
+        ranked.subList(topSize, ranked.size()).forEach(hotKey -> candidates.remove(hotKey.id()));
+        threshold = ranked.get(topSize - 1).estimatedCount();
+    }
+}
@@ -0,0 +1,98 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKey;
+import com.jefferson.library.dto.HotKeysReport;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hot books and authors of the by-id reads. Without tracking the record calls return straight away.
+ * Warm-up reads aren't recorded, they would inflate the keys restored from the hot set snapshot.
+ */
+public class HotKeys {
+
+    //Sent by the loopback warm-up requests, the header is ignored from any other address
+    public static final String WARMUP_HEADER = "X-Library-Warmup";
+
+    //Set around in-process warm-up reads, they have no request to carry the header
+    private static final ThreadLocal<Boolean> IN_PROCESS_WARMUP = ThreadLocal.withInitial(() -> false);
+
+    private final HotKeyTracker books;
+    private final HotKeyTracker authors;
+
+    public HotKeys(HotKeyTracker books, HotKeyTracker authors) {
+        this.books = books;
+        this.authors = authors;
+    }
+
+    public static HotKeys disabled() {
+        return new HotKeys(null, null);
+    }
+
+    public void recordBook(long bookId) {
+        if(books != null && !isWarmupRequest()) {
+            books.record(bookId);
+        }
+    }
+
+    public void recordAuthor(long authorId) {
+        if(authors != null && !isWarmupRequest()) {
+            authors.record(authorId);
+        }
+    }
+
+    public void decay() {
+        if(books != null) {
+            books.decay();
+            authors.decay();
+        }
+    }
+
+    public boolean isEnabled() {
+        return books != null;
+    }
+
+    public void seed(List<HotKey> hotBooks, List<HotKey> hotAuthors) {
+        if(books != null) {
+            books.seed(hotBooks);
+            authors.seed(hotAuthors);
+        }
+    }
+
+    public HotSetSnapshot snapshot() {
+        return books == null
+                ? new HotSetSnapshot(Instant.now(), List.of(), List.of())
+                : new HotSetSnapshot(Instant.now(), books.top(), authors.top());
+    }
+
+    public HotKeysReport report() {
+        return books == null
+                ? new HotKeysReport(false, List.of(), List.of())
+                : new HotKeysReport(true, books.top(), authors.top());
+    }
+
+    public static <T> T duringWarmup(Supplier<T> reads) {
+        IN_PROCESS_WARMUP.set(true);
+        try {
+            return reads.get();
+        } finally {
+            IN_PROCESS_WARMUP.remove();
+        }
+    }
+
+    private static boolean isWarmupRequest() {
+        if(IN_PROCESS_WARMUP.get()) {
+            return true;
+        }
+        if(!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getRequest().getHeader(WARMUP_HEADER) == null) {
+            return false;
+        }
+        String remoteAddress = attributes.getRequest().getRemoteAddr();
+        return "127.0.0.1".equals(remoteAddress) || "0:0:0:0:0:0:0:1".equals(remoteAddress) || "::1".equals(remoteAddress);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKeysReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeys hotKeys;
+
+    @Autowired
+    public HotKeysEndpoint(HotKeys hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
+    //Estimates from sampled reads, they never undercount a key but may overcount a cold one
+    @ReadOperation
+    public HotKeysReport hotKeys() {
+        return hotKeys.report();
+    }
+}
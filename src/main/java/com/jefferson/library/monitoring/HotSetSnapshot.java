@@ -0,0 +1,89 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Hot books and authors with their estimated counts, persisted across restarts.
+ * The file is a magic number, the write time in epoch millis, the book and author counts, then an
+ * (id, count) pair of longs per key. It's replaced atomically, a reader never sees a partial write.
+ */
+public record HotSetSnapshot(Instant writtenAt, List<HotKey> books, List<HotKey> authors) {
+
+    private static final int MAGIC = 0x484B5331;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    public boolean isEmpty() {
+        return books.isEmpty() && authors.isEmpty();
+    }
+
+    public void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (books.size() + authors.size()) * ENTRY_BYTES);
+        buffer.putInt(MAGIC).putLong(writtenAt.toEpochMilli()).putInt(books.size()).putInt(authors.size());
+        books.forEach(book -> buffer.putLong(book.id()).putLong(book.estimatedCount()));
+        authors.forEach(author -> buffer.putLong(author.id()).putLong(author.estimatedCount()));
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return empty when there is no snapshot yet
+     * @throws IOException when the file can't be read or isn't a snapshot
+     */
+    public static Optional<HotSetSnapshot> read(Path file) throws IOException {
+        if(!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size < HEADER_BYTES) {
+                throw new IOException("Hot set snapshot " + file + " is truncated");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if(buffer.getInt() != MAGIC) {
+                throw new IOException(file + " isn't a hot set snapshot");
+            }
+            Instant writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            int books = buffer.getInt();
+            int authors = buffer.getInt();
+            if(books < 0 || authors < 0 || size != HEADER_BYTES + (long) (books + authors) * ENTRY_BYTES) {
+                throw new IOException("Hot set snapshot " + file + " is truncated");
+            }
+
+            return Optional.of(new HotSetSnapshot(writtenAt, entries(buffer, books), entries(buffer, authors)));
+        }
+    }
+
+    private static List<HotKey> entries(ByteBuffer buffer, int count) {
+        List<HotKey> entries = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            entries.add(new HotKey(buffer.getLong(), buffer.getLong(), 0));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,28 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.JournalStats;
+import com.jefferson.library.journal.MutationJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "journal")
+@ConditionalOnProperty(prefix = "library.journal", name = "enabled", havingValue = "true")
+public class JournalEndpoint {
+
+    private final MutationJournal journal;
+
+    @Autowired
+    public JournalEndpoint(MutationJournal journal) {
+        this.journal = journal;
+    }
+
+    //Dropped entries were refused by a full ring or failed to be written, the journal has a gap there
+    @ReadOperation
+    public JournalStats stats() {
+        return journal.stats();
+    }
+}
@@ -0,0 +1,26 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.ReadModelStats;
+import com.jefferson.library.readmodel.BookReadModel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "readmodel")
+public class ReadModelEndpoint {
+
+    private final BookReadModel bookReadModel;
+
+    @Autowired
+    public ReadModelEndpoint(BookReadModel bookReadModel) {
+        this.bookReadModel = bookReadModel;
+    }
+
+    //Footprint in shallow sizes, bytesPerMillionBooks extrapolates it from the loaded books
+    @ReadOperation
+    public ReadModelStats stats() {
+        return bookReadModel.stats();
+    }
+}
@@ -0,0 +1,116 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.SqlStatementStats;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates execution timings per statement shape.
+ * A shape is the SQL text with literals and IN-lists collapsed, so that the same query
+ * with different arguments is counted once. The number of tracked shapes is bounded,
+ * executions of shapes beyond the bound are only counted as untracked.
+ */
+public class SqlStatementRegistry {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int maxShapes;
+    private final ConcurrentHashMap<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StatementTimings> statements = new ConcurrentHashMap<>();
+    private final LongAdder untrackedExecutions = new LongAdder();
+
+    public SqlStatementRegistry(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    public void record(String sql, long elapsedNanos) {
+        String shape = shapeOf(sql);
+
+        StatementTimings timings = statements.get(shape);
+        if(timings == null) {
+            if(statements.size() >= maxShapes) {
+                untrackedExecutions.increment();
+                return;
+            }
+            timings = statements.computeIfAbsent(shape, key -> new StatementTimings());
+        }
+        timings.record(elapsedNanos);
+    }
+
+    public List<SqlStatementStats> slowest(int limit) {
+        return top(Comparator.comparingLong((StatementTimings t) -> t.maxNanos.get()), limit);
+    }
+
+    public List<SqlStatementStats> mostFrequent(int limit) {
+        return top(Comparator.comparingLong((StatementTimings t) -> t.executions.sum()), limit);
+    }
+
+    public long trackedShapes() {
+        return statements.size();
+    }
+
+    public long untrackedExecutions() {
+        return untrackedExecutions.sum();
+    }
+
+    public void reset() {
+        statements.clear();
+        untrackedExecutions.reset();
+    }
+
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private String shapeOf(String sql) {
+        String shape = shapeCache.get(sql);
+        if(shape != null) return shape;
+
+        shape = normalize(sql);
+        if(shapeCache.size() < maxShapes * 4) {
+            shapeCache.put(sql, shape);
+        }
+        return shape;
+    }
+
+    private List<SqlStatementStats> top(Comparator<StatementTimings> order, int limit) {
+        return statements.entrySet().stream()
+                .sorted((a, b) -> order.compare(b.getValue(), a.getValue()))
+                .limit(limit)
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .toList();
+    }
+
+    private static final class StatementTimings {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsedNanos) {
+            executions.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        SqlStatementStats toStats(String statement) {
+            long count = executions.sum();
+            long total = totalNanos.sum();
+            return new SqlStatementStats(statement,
+                    count,
+                    total / 1_000_000.0,
+                    count == 0 ? 0 : total / 1_000_000.0 / count,
+                    maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
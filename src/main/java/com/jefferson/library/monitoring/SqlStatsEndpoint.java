@@ -0,0 +1,38 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.config.SqlMonitoringProperties;
+import com.jefferson.library.dto.SqlStatsReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatementRegistry registry;
+    private final int defaultTopSize;
+
+    @Autowired
+    public SqlStatsEndpoint(SqlStatementRegistry registry, SqlMonitoringProperties properties) {
+        this.registry = registry;
+        this.defaultTopSize = properties.topSize();
+    }
+
+    @ReadOperation
+    public SqlStatsReport statistics(@Nullable Integer top) {
+        int limit = top != null && top > 0 ? top : defaultTopSize;
+        return new SqlStatsReport(registry.trackedShapes(),
+                registry.untrackedExecutions(),
+                registry.slowest(limit),
+                registry.mostFrequent(limit));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        registry.reset();
+    }
+}
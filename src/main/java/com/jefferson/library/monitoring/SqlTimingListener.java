@@ -0,0 +1,61 @@
+package com.jefferson.library.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every statement going through the proxied datasource.
+ * Statements slower than the threshold are logged at WARN, a sampled share of the rest at INFO,
+ * everything else is only aggregated in {@link SqlStatementRegistry}.
+ */
+@Slf4j
+public class SqlTimingListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "sqlTimingStartNanos";
+
+    private final SqlStatementRegistry registry;
+    private final long slowQueryThresholdNanos;
+    private final double sampleRate;
+
+    public SqlTimingListener(SqlStatementRegistry registry, long slowQueryThresholdMs, double sampleRate) {
+        this.registry = registry;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMs);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsedNanos = start != null
+                ? System.nanoTime() - start
+                : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+
+        for(QueryInfo queryInfo: queryInfoList) {
+            registry.record(queryInfo.getQuery(), elapsedNanos);
+        }
+
+        if(elapsedNanos >= slowQueryThresholdNanos) {
+            log.warn("Slow query ({} ms, batch size {}): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    execInfo.getBatchSize(), queryText(queryInfoList));
+        } else if(sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info("Sampled query ({} µs): {}", TimeUnit.NANOSECONDS.toMicros(elapsedNanos), queryText(queryInfoList));
+        }
+    }
+
+    private static String queryText(List<QueryInfo> queryInfoList) {
+        return queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream().map(QueryInfo::getQuery).toList().toString();
+    }
+}
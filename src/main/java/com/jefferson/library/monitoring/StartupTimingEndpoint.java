@@ -0,0 +1,27 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.StartupReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "startuptiming")
+public class StartupTimingEndpoint {
+
+    private static final int DEFAULT_TOP_SIZE = 20;
+
+    private final StartupTimingRecorder recorder;
+
+    @Autowired
+    public StartupTimingEndpoint(StartupTimingRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public StartupReport report(@Nullable Integer top) {
+        return recorder.report(top != null && top > 0 ? top : DEFAULT_TOP_SIZE);
+    }
+}
@@ -0,0 +1,102 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.StartupReport;
+import com.jefferson.library.dto.StartupStepTiming;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the startup milestones of this instance: context started, application ready and the first
+ * API request served. The slowest startup steps come from the buffered timeline when the application
+ * runs with a {@link BufferingApplicationStartup}, tests and plain runs report none.
+ */
+@Slf4j
+public class StartupTimingRecorder {
+
+    private static final long NOT_RECORDED = -1;
+
+    private final ApplicationStartup applicationStartup;
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong firstRequestMillis = new AtomicLong(NOT_RECORDED);
+
+    private volatile Duration contextStarted;
+    private volatile Duration applicationReady;
+    private volatile long jvmUptimeAtReady = NOT_RECORDED;
+    private volatile String firstRequest;
+
+    public StartupTimingRecorder(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        contextStarted = event.getTimeTaken();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        applicationReady = event.getTimeTaken();
+        jvmUptimeAtReady = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Application ready {} ms after JVM start", jvmUptimeAtReady);
+    }
+
+    public boolean isFirstRequestRecorded() {
+        return firstRequestMillis.get() != NOT_RECORDED;
+    }
+
+    public void recordFirstRequest(String request) {
+        if(firstRequestMillis.compareAndSet(NOT_RECORDED, System.currentTimeMillis())) {
+            firstRequest = request;
+            log.info("First request {} ms after JVM start: {}", firstRequestMillis.get() - jvmStartMillis, request);
+        }
+    }
+
+    public StartupReport report(int top) {
+        long firstRequestAt = firstRequestMillis.get();
+
+        return new StartupReport(Instant.ofEpochMilli(jvmStartMillis),
+                toMillis(contextStarted),
+                toMillis(applicationReady),
+                jvmUptimeAtReady != NOT_RECORDED ? jvmUptimeAtReady : null,
+                firstRequestAt != NOT_RECORDED ? firstRequestAt - jvmStartMillis : null,
+                firstRequest,
+                slowestSteps(top));
+    }
+
+    private List<StartupStepTiming> slowestSteps(int top) {
+        if(!(applicationStartup instanceof BufferingApplicationStartup buffering)) return List.of();
+
+        return buffering.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .map(event -> new StartupStepTiming(event.getStartupStep().getName(),
+                        tagsOf(event.getStartupStep()),
+                        event.getDuration().toMillis()))
+                .toList();
+    }
+
+    private static Map<String, String> tagsOf(StartupStep step) {
+        Map<String, String> tags = new LinkedHashMap<>();
+        step.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        return tags;
+    }
+
+    private static Long toMillis(Duration duration) {
+        return duration != null ? duration.toMillis() : null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.WarmupReport;
+import com.jefferson.library.service.WarmupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "warmup")
+public class WarmupEndpoint {
+
+    private final WarmupService warmupService;
+
+    @Autowired
+    public WarmupEndpoint(WarmupService warmupService) {
+        this.warmupService = warmupService;
+    }
+
+    //No content until a warm-up has run
+    @ReadOperation
+    public WarmupReport report() {
+        return warmupService.lastReport();
+    }
+}
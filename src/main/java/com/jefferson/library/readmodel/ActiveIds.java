@@ -0,0 +1,38 @@
+package com.jefferson.library.readmodel;
+
+/**
+ * Active book and author ids, consulted before the by-id lookups so that unknown ids are answered without
+ * a query. Ids are exact bits over the dense id space rather than Bloom filter hashes, so deleted ids are cleared.
+ */
+public class ActiveIds {
+
+    private final IdFilter books;
+    private final IdFilter authors;
+
+    private ActiveIds(boolean enabled) {
+        this.books = new IdFilter(enabled);
+        this.authors = new IdFilter(enabled);
+    }
+
+    public static ActiveIds enabled() {
+        return new ActiveIds(true);
+    }
+
+    //Every id might exist, every lookup goes to the database
+    public static ActiveIds disabled() {
+        return new ActiveIds(false);
+    }
+
+    public IdFilter books() {
+        return books;
+    }
+
+    public IdFilter authors() {
+        return authors;
+    }
+
+    void startServing() {
+        books.startServing();
+        authors.startServing();
+    }
+}
@@ -0,0 +1,98 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.AuthorChangedEvent;
+import com.jefferson.library.dto.BookChangedEvent;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Loads the active ids before the web server starts, then follows the book and author changes.
+ * An id is added as soon as its change is recorded and removed only once the delete has committed,
+ * so a rolled back change leaves a false positive behind at worst, never a false miss.
+ * A deleted id comes back only through a restore, long after its delete committed.
+ */
+@Slf4j
+public class ActiveIdsUpdater implements SmartInitializingSingleton {
+
+    private final ActiveIds activeIds;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final Shards shards;
+    private final int chunkSize;
+
+    public ActiveIdsUpdater(ActiveIds activeIds,
+                            BookRepository bookRepository,
+                            AuthorRepository authorRepository,
+                            Shards shards,
+                            int chunkSize) {
+        this.activeIds = activeIds;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.shards = shards;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        shards.onEachShard(() -> load(activeIds.books(), bookRepository::findActiveIdsAfter)
+                + load(activeIds.authors(), authorRepository::findActiveIdsAfter));
+        activeIds.startServing();
+
+        log.info("Active ids loaded in {} ms: {} books, {} authors", (System.nanoTime() - start) / 1_000_000,
+                activeIds.books().size(), activeIds.authors().size());
+    }
+
+    @EventListener
+    public void onBookRecorded(BookChangedEvent event) {
+        if(!event.book().deleted()) {
+            activeIds.books().add(event.book().id());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookCommitted(BookChangedEvent event) {
+        if(event.book().deleted()) {
+            activeIds.books().remove(event.book().id());
+        }
+    }
+
+    @EventListener
+    public void onAuthorRecorded(AuthorChangedEvent event) {
+        if(!event.author().deleted()) {
+            activeIds.authors().add(event.author().id());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAuthorCommitted(AuthorChangedEvent event) {
+        if(event.author().deleted()) {
+            activeIds.authors().remove(event.author().id());
+        }
+    }
+
+    private long load(IdFilter filter, BiFunction<Long, Limit, List<Long>> query) {
+        long loaded = 0;
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = query.apply(afterId, Limit.of(chunkSize));
+            chunk.forEach(filter::add);
+            loaded += chunk.size();
+            if(!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        } while(chunk.size() == chunkSize);
+        return loaded;
+    }
+}
@@ -0,0 +1,315 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.ReadModelStats;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Every active book held in columns of primitive arrays, one slot per book, found through a long-keyed
+ * open addressing map. Titles are kept as UTF-8 bytes. Active ids are kept sorted, globally and per author,
+ * so the id-ordered pages are slices of these arrays.
+ * <p>
+ * Changes are applied after commit by the book version, which every change advances under the row lock, so an
+ * older change than the one applied is dropped whatever order the commits are seen in. A deleted book keeps its slot without a title, so a late update can't resurrect it.
+ * Once the tombstone grace has passed no older change of the book is still in flight, the slot goes to a free
+ * list and is reused by the next new book. Archived books were deleted first, their slots go the same way.
+ */
+public class BookReadModel {
+
+    private static final long NO_VERSION = -1;
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final Duration DEFAULT_TOMBSTONE_GRACE = Duration.ofMinutes(1);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private LongIntHashMap slotsById;
+    private long[] versions;
+    private long[] authorIds;
+    private int[] pages;
+    private long[] createdAt;
+    private byte[][] titles;
+    private int slots;
+    private long titleBytes;
+
+    private int[] freeSlots;
+    private int freeCount;
+    private Queue<Tombstone> tombstones;
+    private final long tombstoneGraceNanos;
+    private final LongSupplier nanoClock;
+
+    private SortedLongArray activeIds;
+    private LongIntHashMap authorSlots;
+    private SortedLongArray[] booksByAuthor;
+    private int authors;
+
+    private volatile boolean serving;
+
+    public BookReadModel() {
+        this(DEFAULT_TOMBSTONE_GRACE, System::nanoTime);
+    }
+
+    public BookReadModel(Duration tombstoneGrace, LongSupplier nanoClock) {
+        this.tombstoneGraceNanos = tombstoneGrace.toNanos();
+        this.nanoClock = nanoClock;
+        reset();
+    }
+
+    /**
+     * Reads are served only once every book has been loaded
+     */
+    public boolean isServing() {
+        return serving;
+    }
+
+    public void startServing() {
+        serving = true;
+    }
+
+    public void apply(BookSnapshot book) {
+        lock.writeLock().lock();
+        try {
+            reclaimTombstones(nanoClock.getAsLong());
+            applyLocked(book);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Drops every book, a recovery found incomplete is loaded again from scratch
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(List<BookSnapshot> books) {
+        lock.writeLock().lock();
+        try {
+            books.forEach(this::applyLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<BookDto> find(long bookId) {
+        return read(() -> {
+            int slot = slotsById.get(bookId);
+            return slot == LongIntHashMap.MISSING || titles[slot] == null ? Optional.empty() : Optional.of(toDto(slot));
+        });
+    }
+
+    /**
+     * Books in id order
+     */
+    public List<BookDto> page(long offset, int size) {
+        return read(() -> {
+            List<BookDto> books = new ArrayList<>(size);
+            for(long index = offset; index < activeIds.size() && books.size() < size; index++) {
+                books.add(toDto(slotsById.get(activeIds.get((int) index))));
+            }
+            return books;
+        });
+    }
+
+    public List<ReadModelBook> booksOfAuthor(long authorId, long afterId, int limit) {
+        return read(() -> {
+            int authorSlot = authorSlots.get(authorId);
+            if(authorSlot == LongIntHashMap.MISSING) {
+                return List.of();
+            }
+
+            SortedLongArray bookIds = booksByAuthor[authorSlot];
+            List<ReadModelBook> books = new ArrayList<>(Math.min(limit, bookIds.size()));
+            for(int index = bookIds.indexAfter(afterId); index < bookIds.size() && books.size() < limit; index++) {
+                long bookId = bookIds.get(index);
+                books.add(new ReadModelBook(bookId, toDto(slotsById.get(bookId))));
+            }
+            return books;
+        });
+    }
+
+    public int size() {
+        return read(activeIds::size);
+    }
+
+    public ReadModelStats stats() {
+        return read(() -> {
+            long bytes = footprintBytes();
+            int books = activeIds.size();
+            return new ReadModelStats(serving, books, slots - freeCount - books, authors, bytes,
+                    books == 0 ? 0 : bytes * 1_000_000 / books);
+        });
+    }
+
+    private void applyLocked(BookSnapshot book) {
+        long version = book.version();
+        int slot = slotsById.get(book.id());
+        if(slot != LongIntHashMap.MISSING && versions[slot] > version) {
+            return;
+        }
+        if(slot == LongIntHashMap.MISSING) {
+            slot = newSlot(book.id());
+        }
+        if(titles[slot] != null) {
+            unindex(book.id(), slot);
+        }
+
+        versions[slot] = version;
+        if(book.deleted()) {
+            titles[slot] = null;
+            tombstones.add(new Tombstone(book.id(), slot, version, nanoClock.getAsLong()));
+            return;
+        }
+
+        byte[] title = book.title().getBytes(StandardCharsets.UTF_8);
+        titleBytes += Footprint.array(title.length, Byte.BYTES);
+        titles[slot] = title;
+        authorIds[slot] = book.authorId();
+        pages[slot] = book.pagesNumber();
+        createdAt[slot] = book.createdAt() == null ? NULL_TIME : toEpochNanos(book.createdAt());
+
+        activeIds.add(book.id());
+        authorBooks(book.authorId()).add(book.id());
+    }
+
+    private void reset() {
+        slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+        versions = new long[INITIAL_CAPACITY];
+        authorIds = new long[INITIAL_CAPACITY];
+        pages = new int[INITIAL_CAPACITY];
+        createdAt = new long[INITIAL_CAPACITY];
+        titles = new byte[INITIAL_CAPACITY][];
+        slots = 0;
+        titleBytes = 0;
+
+        freeSlots = new int[16];
+        freeCount = 0;
+        tombstones = new ArrayDeque<>();
+
+        activeIds = new SortedLongArray(INITIAL_CAPACITY);
+        authorSlots = new LongIntHashMap(INITIAL_CAPACITY);
+        booksByAuthor = new SortedLongArray[INITIAL_CAPACITY];
+        authors = 0;
+    }
+
+    //Shallow sizes of the arrays, spare capacity included
+    private long footprintBytes() {
+        long bytes = slotsById.footprintBytes()
+                + Footprint.array(versions.length, Long.BYTES)
+                + Footprint.array(authorIds.length, Long.BYTES)
+                + Footprint.array(pages.length, Integer.BYTES)
+                + Footprint.array(createdAt.length, Long.BYTES)
+                + Footprint.array(titles.length, Footprint.REFERENCE_BYTES)
+                + Footprint.array(freeSlots.length, Integer.BYTES)
+                + titleBytes
+                + activeIds.footprintBytes()
+                + authorSlots.footprintBytes()
+                + Footprint.array(booksByAuthor.length, Footprint.REFERENCE_BYTES);
+        for(int authorSlot = 0; authorSlot < authors; authorSlot++) {
+            bytes += booksByAuthor[authorSlot].footprintBytes();
+        }
+        return bytes;
+    }
+
+    //A tombstone replaced by a newer change is skipped, the book is active again or has a later tombstone
+    private void reclaimTombstones(long now) {
+        for(Tombstone tombstone = tombstones.peek();
+            tombstone != null && now - tombstone.deletedAt() >= tombstoneGraceNanos;
+            tombstone = tombstones.peek()) {
+            tombstones.poll();
+            int slot = tombstone.slot();
+            if(slotsById.get(tombstone.bookId()) == slot && titles[slot] == null && versions[slot] == tombstone.version()) {
+                slotsById.remove(tombstone.bookId());
+                versions[slot] = NO_VERSION;
+                if(freeCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, freeCount << 1);
+                }
+                freeSlots[freeCount++] = slot;
+            }
+        }
+    }
+
+    private int newSlot(long bookId) {
+        if(freeCount > 0) {
+            int slot = freeSlots[--freeCount];
+            slotsById.put(bookId, slot);
+            return slot;
+        }
+        if(slots == versions.length) {
+            int capacity = slots + (slots >> 1);
+            versions = Arrays.copyOf(versions, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            pages = Arrays.copyOf(pages, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+        }
+        int slot = slots++;
+        versions[slot] = NO_VERSION;
+        slotsById.put(bookId, slot);
+        return slot;
+    }
+
+    private void unindex(long bookId, int slot) {
+        titleBytes -= Footprint.array(titles[slot].length, Byte.BYTES);
+        activeIds.remove(bookId);
+        authorBooks(authorIds[slot]).remove(bookId);
+    }
+
+    private SortedLongArray authorBooks(long authorId) {
+        int authorSlot = authorSlots.get(authorId);
+        if(authorSlot == LongIntHashMap.MISSING) {
+            if(authors == booksByAuthor.length) {
+                booksByAuthor = Arrays.copyOf(booksByAuthor, authors + (authors >> 1));
+            }
+            authorSlot = authors++;
+            booksByAuthor[authorSlot] = new SortedLongArray(4);
+            authorSlots.put(authorId, authorSlot);
+        }
+        return booksByAuthor[authorSlot];
+    }
+
+    private BookDto toDto(int slot) {
+        return new BookDto(authorIds[slot], new String(titles[slot], StandardCharsets.UTF_8), pages[slot],
+                createdAt[slot] == NULL_TIME ? null : fromEpochNanos(createdAt[slot]));
+    }
+
+    private static long toEpochNanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private record Tombstone(long bookId, int slot, long version, long deletedAt) {
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.BookChangedEvent;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.journal.MutationJournal;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Loads the read model once every singleton is up, the shard schemas included, and before the web server
+ * starts. Then it follows the committed book changes of the write paths.
+ * <p>
+ * With the mutation journal on, the model is recovered by replaying it instead of reading every active book.
+ * The journal only holds this instance's changes since it was first opened, so it's trusted only from its first
+ * position on, without a gap, and when it ends with as many active books as the database. Otherwise the model
+ * is loaded from the database as without it.
+ */
+@Slf4j
+public class BookReadModelUpdater implements SmartInitializingSingleton {
+
+    private final BookReadModel readModel;
+    private final BookRepository bookRepository;
+    private final Shards shards;
+    private final int chunkSize;
+    private final MutationJournal journal;
+
+    public BookReadModelUpdater(BookReadModel readModel, BookRepository bookRepository, Shards shards, int chunkSize,
+                                MutationJournal journal) {
+        this.readModel = readModel;
+        this.bookRepository = bookRepository;
+        this.shards = shards;
+        this.chunkSize = chunkSize;
+        this.journal = journal;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        boolean recovered = journal != null && recoverFromJournal();
+        if(!recovered) {
+            shards.onEachShard(this::loadShard);
+        }
+        readModel.startServing();
+
+        log.info("Read model loaded from the {} in {} ms: {}", recovered ? "journal" : "database",
+                (System.nanoTime() - start) / 1_000_000, readModel.stats());
+    }
+
+    //A rolled back change was never seen by anyone, it isn't applied
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onBookChanged(BookChangedEvent event) {
+        readModel.apply(event.book());
+    }
+
+    private boolean recoverFromJournal() {
+        long[] expected = {1};
+        try {
+            journal.replay(0, entry -> {
+                if(expected[0] < 0) return;
+                if(entry.isGap() || entry.position() != expected[0]) {
+                    log.warn("Journal isn't complete at position {}", entry.position());
+                    expected[0] = -1;
+                    return;
+                }
+                expected[0]++;
+                if(entry.book() != null) {
+                    readModel.apply(entry.book());
+                }
+            });
+        } catch(IOException exception) {
+            log.warn("Couldn't replay the journal: {}", exception.getMessage());
+            expected[0] = -1;
+        }
+
+        if(expected[0] > 0) {
+            long activeBooks = shards.onEachShard(bookRepository::countByDeletedFalse).stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            if(readModel.size() == activeBooks) {
+                return true;
+            }
+            log.warn("Journal holds {} active books, the database {}", readModel.size(), activeBooks);
+        }
+        readModel.clear();
+        return false;
+    }
+
+    private Long loadShard() {
+        long afterId = 0;
+        List<BookSnapshot> chunk;
+        do {
+            chunk = bookRepository.findActiveSnapshotsAfter(afterId, Limit.of(chunkSize));
+            readModel.load(chunk);
+            if(!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while(chunk.size() == chunkSize);
+        return afterId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jefferson.library.readmodel;
+
+//Shallow sizes on a 64-bit JVM with compressed oops: 16 byte array header, 8 byte alignment
+final class Footprint {
+
+    static final int REFERENCE_BYTES = 4;
+    static final int OBJECT_HEADER_BYTES = 12;
+
+    private Footprint() {
+    }
+
+    static long array(int length, int elementBytes) {
+        return align(16L + (long) length * elementBytes);
+    }
+
+    static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,55 @@
+package com.jefferson.library.readmodel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One bit per id, in pages of 64K ids allocated on the first id set in them. Ids are dense within a shard,
+ * range sharding leaves gaps between shards that cost no pages. Bits are set and cleared with CAS,
+ * readers never lock.
+ */
+final class IdBitSet {
+
+    private static final int PAGE_BITS = 16;
+    private static final int WORDS_PER_PAGE = (1 << PAGE_BITS) / Long.SIZE;
+    //The AtomicLongArray holding the words, its boxed key and its map node
+    private static final int PAGE_OVERHEAD_BYTES = 64;
+
+    private final ConcurrentHashMap<Long, AtomicLongArray> pages = new ConcurrentHashMap<>();
+
+    void set(long id) {
+        AtomicLongArray page = pages.computeIfAbsent(id >>> PAGE_BITS, index -> new AtomicLongArray(WORDS_PER_PAGE));
+        page.accumulateAndGet(word(id), 1L << id, (bits, bit) -> bits | bit);
+    }
+
+    void clear(long id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        if(page != null) {
+            page.accumulateAndGet(word(id), ~(1L << id), (bits, mask) -> bits & mask);
+        }
+    }
+
+    boolean get(long id) {
+        AtomicLongArray page = pages.get(id >>> PAGE_BITS);
+        return page != null && (page.get(word(id)) & (1L << id)) != 0;
+    }
+
+    long cardinality() {
+        long ids = 0;
+        for(AtomicLongArray page: pages.values()) {
+            for(int i = 0; i < WORDS_PER_PAGE; i++) {
+                ids += Long.bitCount(page.get(i));
+            }
+        }
+        return ids;
+    }
+
+    long footprintBytes() {
+        return pages.size() * (Footprint.array(WORDS_PER_PAGE, Long.BYTES) + PAGE_OVERHEAD_BYTES);
+    }
+
+    //Bits within a word are picked by the low 6 bits of the id, shifts use them as they are
+    private static int word(long id) {
+        return (int) (id >>> 6) & (WORDS_PER_PAGE - 1);
+    }
+}
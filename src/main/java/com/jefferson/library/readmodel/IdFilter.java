@@ -0,0 +1,80 @@
+package com.jefferson.library.readmodel;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Active ids of one kind. A miss is definite once the ids are loaded, a hit is only likely: the row can have
+ * been deleted or archived since, the lookup that follows reports it as a false positive.
+ * Until it's loaded, or when disabled, every id might exist.
+ */
+public class IdFilter {
+
+    private final IdBitSet ids;
+    private volatile boolean ready;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    IdFilter(boolean enabled) {
+        this.ids = enabled ? new IdBitSet() : null;
+    }
+
+    public boolean mightContain(long id) {
+        if(!ready) {
+            return true;
+        }
+
+        checks.increment();
+        if(ids.get(id)) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    public void recordFalsePositive() {
+        if(ready) {
+            falsePositives.increment();
+        }
+    }
+
+    //Share of the ids let through that turned out missing
+    public double falsePositiveRate() {
+        long positives = checks.sum() - definiteMisses.sum();
+        return positives == 0 ? 0 : (double) falsePositives.sum() / positives;
+    }
+
+    public long definiteMisses() {
+        return definiteMisses.sum();
+    }
+
+    public long size() {
+        return ids == null ? 0 : ids.cardinality();
+    }
+
+    public long footprintBytes() {
+        return ids == null ? 0 : ids.footprintBytes();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    //Public for the synthetic warm-up catalog, its rows are never committed and are only known in-process
+    public void add(long id) {
+        if(ids != null) {
+            ids.set(id);
+        }
+    }
+
+    public void remove(long id) {
+        if(ids != null) {
+            ids.clear(id);
+        }
+    }
+
+    void startServing() {
+        ready = ids != null;
+    }
+}
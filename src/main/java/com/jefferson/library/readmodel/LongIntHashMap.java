@@ -0,0 +1,109 @@
+package com.jefferson.library.readmodel;
+
+/**
+ * Open addressing map of positive long keys to int values, linear probing over two primitive arrays.
+ * Removal shifts the following entries back, so there are no deleted markers to skip. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+
+    private static final long FREE = 0;
+    private static final float MAX_LOAD = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int get(long key) {
+        for(int index = index(key); ; index = (index + 1) & mask) {
+            if(keys[index] == key) {
+                return values[index];
+            }
+            if(keys[index] == FREE) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        int index = index(key);
+        while(keys[index] != FREE && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        if(keys[index] == FREE) {
+            if(size + 1 > keys.length * MAX_LOAD) {
+                grow();
+                put(key, value);
+                return;
+            }
+            size++;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    int remove(long key) {
+        int index = index(key);
+        while(keys[index] != key) {
+            if(keys[index] == FREE) {
+                return MISSING;
+            }
+            index = (index + 1) & mask;
+        }
+        int removed = values[index];
+
+        //Entries after the hole move back unless they already sit between their home slot and the hole
+        int hole = index;
+        for(int next = (hole + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = index(keys[next]);
+            if(((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        keys[hole] = FREE;
+        size--;
+
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long footprintBytes() {
+        return Footprint.array(keys.length, Long.BYTES) + Footprint.array(values.length, Integer.BYTES);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldValues.length << 1];
+        mask = keys.length - 1;
+        size = 0;
+
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    //Sequential ids would otherwise fill runs of neighbouring slots
+    private int index(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
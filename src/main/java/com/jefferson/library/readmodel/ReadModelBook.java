@@ -0,0 +1,7 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.BookDto;
+
+//The id is the keyset cursor of the next page, BookDto doesn't carry it
+public record ReadModelBook(long id, BookDto book) {
+}
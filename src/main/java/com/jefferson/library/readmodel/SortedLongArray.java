@@ -0,0 +1,65 @@
+package com.jefferson.library.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * Growable sorted array of distinct longs. Ids are mostly added in increasing order, which appends.
+ * Not thread-safe.
+ */
+final class SortedLongArray {
+
+    private long[] values;
+    private int size;
+
+    SortedLongArray(int initialCapacity) {
+        this.values = new long[Math.max(1, initialCapacity)];
+    }
+
+    void add(long value) {
+        if(size > 0 && values[size - 1] >= value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if(index >= 0) {
+                return;
+            }
+            insert(-index - 1, value);
+            return;
+        }
+        insert(size, value);
+    }
+
+    void remove(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if(index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+    }
+
+    //Index of the first value greater than the given one
+    int indexAfter(long value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long footprintBytes() {
+        return Footprint.align(Footprint.OBJECT_HEADER_BYTES + Footprint.REFERENCE_BYTES + Integer.BYTES)
+                + Footprint.array(values.length, Long.BYTES);
+    }
+
+    private void insert(int index, long value) {
+        if(size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+}
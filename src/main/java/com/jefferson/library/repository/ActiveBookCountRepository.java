@@ -0,0 +1,30 @@
+package com.jefferson.library.repository;
+
+import com.jefferson.library.model.ActiveBookCountSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ActiveBookCountRepository extends CrudRepository<ActiveBookCountSlot, Integer> {
+
+    @Query("select coalesce(sum(s.bookCount), 0) from ActiveBookCountSlot s")
+    long sumBookCounts();
+
+    @Modifying
+    @Query("update ActiveBookCountSlot s set s.bookCount = s.bookCount + :delta where s.slot = :slot")
+    int add(@Param("slot") int slot, @Param("delta") long delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ActiveBookCountSlot s order by s.slot")
+    List<ActiveBookCountSlot> lockAll();
+
+    //The whole count goes to the first slot
+    @Modifying
+    @Query("update ActiveBookCountSlot s set s.bookCount = case when s.slot = 0 then :bookCount else 0 end")
+    int reset(@Param("bookCount") long bookCount);
+}
@@ -0,0 +1,27 @@
+package com.jefferson.library.repository;
+
+import com.jefferson.library.model.ArchivedAuthor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ArchivedAuthorRepository extends CrudRepository<ArchivedAuthor, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into authors_archive (id, name, created_at, deleted_at, archived_at)
+            select id, name, created_at, deleted_at, :archivedAt
+            from authors where id in (:ids)""", nativeQuery = true)
+    int copyFromAuthors(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = """
+            insert into authors (id, name, deleted, created_at, updated_at)
+            select id, name, false, created_at, :restoredAt
+            from authors_archive where id = :id""", nativeQuery = true)
+    int restoreToAuthors(@Param("id") Long id, @Param("restoredAt") LocalDateTime restoredAt);
+}
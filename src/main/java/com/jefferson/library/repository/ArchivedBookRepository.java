@@ -0,0 +1,27 @@
+package com.jefferson.library.repository;
+
+import com.jefferson.library.model.ArchivedBook;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ArchivedBookRepository extends CrudRepository<ArchivedBook, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into books_archive (id, title, pages_number, author_id, created_at, deleted_at, archived_at, version)
+            select id, title, pages_number, author_id, created_at, deleted_at, :archivedAt, version
+            from books where id in (:ids)""", nativeQuery = true)
+    int copyFromBooks(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = """
+            insert into books (id, title, pages_number, author_id, deleted, created_at, updated_at, version)
+            select id, title, pages_number, author_id, false, created_at, :restoredAt, version + 1
+            from books_archive where id = :id""", nativeQuery = true)
+    int restoreToBooks(@Param("id") Long id, @Param("restoredAt") LocalDateTime restoredAt);
+}
@@ -0,0 +1,12 @@
+package com.jefferson.library.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuthorBulkInsert {
+
+    /**
+     * @return the generated ids, in the order of the names
+     */
+    List<Long> insertAll(List<String> names, LocalDateTime createdAt);
+}
@@ -0,0 +1,53 @@
+package com.jefferson.library.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Identity ids switch off Hibernate's insert batching, every persisted author would be a round trip of its own.
+ * The rows go out as one JDBC batch instead, on the connection of the surrounding transaction.
+ */
+class AuthorBulkInsertImpl implements AuthorBulkInsert {
+
+    private static final String INSERT = "insert into authors (name, deleted, created_at, updated_at) values (?, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    AuthorBulkInsertImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> insertAll(List<String> names, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try(PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                for(String name: names) {
+                    statement.setString(1, name);
+                    statement.setTimestamp(2, timestamp);
+                    statement.setTimestamp(3, timestamp);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(names.size());
+                try(ResultSet keys = statement.getGeneratedKeys()) {
+                    while(keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+}
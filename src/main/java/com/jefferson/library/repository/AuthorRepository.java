@@ -1,11 +1,99 @@
 package com.jefferson.library.repository;
 
+import com.jefferson.library.dto.AuthorChange;
+import com.jefferson.library.dto.AuthorSummary;
+import com.jefferson.library.dto.GroupCount;
 import com.jefferson.library.model.Author;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface AuthorRepository extends CrudRepository<Author, Long> {
+public interface AuthorRepository extends CrudRepository<Author, Long>, AuthorBulkInsert {
 
     Optional<Author> findByIdAndDeletedFalse(Long id);
+    boolean existsByIdAndDeletedFalse(Long id);
+    List<Author> findAllByIdInAndDeletedFalse(Collection<Long> ids);
+
+    @Query("select a.id from Author a where a.deleted = false and a.id > :afterId order by a.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    //Book counts are kept on the author rows, the collections aren't loaded
+    @Query("""
+            select new com.jefferson.library.dto.AuthorSummary(a.id, a.name, a.createdAt, a.bookCount)
+            from Author a
+            where a.deleted = false
+              and (a.name > :name or (a.name = :name and a.id > :afterId))
+            order by a.name, a.id""")
+    List<AuthorSummary> findSummariesByNameAfter(@Param("name") String name,
+                                                 @Param("afterId") Long afterId,
+                                                 Limit limit);
+
+    //Walks idx_authors_book_count from the cursor on
+    @Query("""
+            select new com.jefferson.library.dto.AuthorSummary(a.id, a.name, a.createdAt, a.bookCount)
+            from Author a
+            where a.deleted = false
+              and (a.bookCount < :bookCount or (a.bookCount = :bookCount and a.id > :afterId))
+            order by a.bookCount desc, a.id""")
+    List<AuthorSummary> findSummariesByBookCountAfter(@Param("bookCount") long bookCount,
+                                                      @Param("afterId") Long afterId,
+                                                      Limit limit);
+
+    @Modifying
+    @Query(value = "update authors set book_count = book_count + :delta where id = :id", nativeQuery = true)
+    int addBookCount(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "update authors set book_count = book_count + :delta where id in :ids", nativeQuery = true)
+    int addBookCounts(@Param("ids") Collection<Long> ids, @Param("delta") long delta);
+
+    //Sets the book count of every author whose count is off, returns their number
+    @Modifying
+    @Query(value = """
+            update authors a set book_count = (select count(*) from books b where b.author_id = a.id and b.deleted = false)
+            where a.book_count <> (select count(*) from books b where b.author_id = a.id and b.deleted = false)""",
+            nativeQuery = true)
+    int reconcileBookCounts();
+
+    //Authors grouped by their number of active books, the ones without any are the zero group
+    @Query("""
+            select new com.jefferson.library.dto.GroupCount(s.books, count(*))
+            from (select count(b.id) as books
+                  from Author a left join Book b on b.author = a and b.deleted = false
+                  where a.deleted = false
+                  group by a.id) s
+            group by s.books
+            order by s.books""")
+    List<GroupCount> countActiveByBookCount();
+
+    //First pages of a full sync, changes after it come from the change feed
+    @Query("""
+            select new com.jefferson.library.dto.AuthorChange(a.id, a.name, a.createdAt, a.updatedAt, a.deleted)
+            from Author a
+            where a.deleted = false and a.id > :afterId
+            order by a.id""")
+    List<AuthorChange> findActiveChangesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    //Authors are archived only once none of their books are left in the hot table
+    @Query("""
+            select a.id from Author a
+            where a.deleted = true and a.deletedAt < :cutoff
+            and not exists (select 1 from Book b where b.author = a)
+            order by a.id""")
+    List<Long> findArchivableIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from Author a where a.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Author a set a.deleted = false, a.deletedAt = null, a.updatedAt = :now where a.id = :id and a.deleted = true")
+    int undelete(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
@@ -1,15 +1,124 @@
 package com.jefferson.library.repository;
 
+import com.jefferson.library.dto.BookChange;
+import com.jefferson.library.dto.BookExportRow;
+import com.jefferson.library.dto.BookPageCount;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.DailyCount;
 import com.jefferson.library.model.Book;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends CrudRepository<Book, Long>, PagingAndSortingRepository<Book, Long> {
 
     Page<Book> findAllByDeletedFalse(Pageable pageable);
+    //No count query, the total of a page comes from the active book counter
+    List<Book> findByDeletedFalse(Pageable pageable);
+
+    Window<Book> findByDeletedFalse(ScrollPosition position, Sort sort, Limit limit);
     Optional<Book> findByIdAndDeletedFalse(Long id);
+
+    //Locked until the change commits, the version it increments is then the one it publishes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.id = :id and b.deleted = false")
+    Optional<Book> lockActiveById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Book b where b.author.id = :authorId and b.deleted = false order by b.id")
+    List<Book> lockActiveByAuthorId(@Param("authorId") Long authorId);
+    long countByDeletedFalse();
+    List<Book> findAllByIdInAndDeletedFalse(Collection<Long> ids);
+    List<Book> findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(Long authorId, Long afterId, Limit limit);
+
+    @Query("""
+            select new com.jefferson.library.dto.BookExportRow(b.id, b.title, b.pagesNumber, b.createdAt, a.id, a.name)
+            from Book b join b.author a
+            where b.deleted = false and b.id > :afterId
+            order by b.id""")
+    List<BookExportRow> findExportRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new com.jefferson.library.dto.BookSnapshot(b.id, b.author.id, b.title, b.pagesNumber, b.createdAt, b.deleted,
+                    b.version)
+            from Book b
+            where b.deleted = false and b.id > :afterId
+            order by b.id""")
+    List<BookSnapshot> findActiveSnapshotsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            select new com.jefferson.library.dto.BookPageCount(b.id, b.pagesNumber)
+            from Book b
+            where b.deleted = false and b.id > :afterId
+            order by b.id""")
+    List<BookPageCount> findActivePageCountsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    //Deleted books are counted as well, the rate is of creation
+    @Query("""
+            select new com.jefferson.library.dto.DailyCount(cast(b.createdAt as LocalDate), count(b.id))
+            from Book b
+            where b.createdAt >= :since
+            group by cast(b.createdAt as LocalDate)
+            order by cast(b.createdAt as LocalDate)""")
+    List<DailyCount> countCreatedPerDaySince(@Param("since") LocalDateTime since);
+
+    @Query("select b.id from Book b where b.deleted = false and b.id > :afterId order by b.id")
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    //Projections aren't managed, streaming an author's books doesn't fill the persistence context
+    @Query("""
+            select new com.jefferson.library.dto.BookSnapshot(b.id, b.author.id, b.title, b.pagesNumber, b.createdAt, b.deleted,
+                    b.version)
+            from Book b
+            where b.author.id = :authorId and b.deleted = false and b.id > :afterId
+            order by b.id""")
+    List<BookSnapshot> findActiveSnapshotsOfAuthorAfter(@Param("authorId") Long authorId,
+                                                        @Param("afterId") Long afterId,
+                                                        Limit limit);
+
+    //First pages of a full sync, changes after it come from the change feed
+    @Query("""
+            select new com.jefferson.library.dto.BookChange(b.id, b.author.id, b.title, b.pagesNumber, b.createdAt, b.updatedAt, b.deleted)
+            from Book b
+            where b.deleted = false and b.id > :afterId
+            order by b.id""")
+    List<BookChange> findActiveChangesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select b.id from Book b where b.deleted = true and b.deletedAt < :cutoff order by b.id")
+    List<Long> findIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    //Locked until the soft delete commits, a concurrent bulk delete waits and then finds them deleted
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select new com.jefferson.library.dto.BookSnapshot(b.id, b.author.id, b.title, b.pagesNumber, b.createdAt, b.deleted,
+                    b.version)
+            from Book b
+            where b.id in :ids and b.deleted = false""")
+    List<BookSnapshot> lockActiveSnapshots(@Param("ids") Collection<Long> ids);
+
+    //Entity callbacks don't run for bulk statements, updated_at and the version are set by the statement
+    @Modifying
+    @Query("""
+            update Book b set b.deleted = true, b.deletedAt = :now, b.updatedAt = :now, b.version = b.version + 1
+            where b.id in :ids and b.deleted = false""")
+    int softDeleteAllByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from Book b where b.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
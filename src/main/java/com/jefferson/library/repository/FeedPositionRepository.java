@@ -0,0 +1,19 @@
+package com.jefferson.library.repository;
+
+import com.jefferson.library.model.FeedPosition;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+public interface FeedPositionRepository extends CrudRepository<FeedPosition, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from FeedPosition p where p.id = " + FeedPosition.ID)
+    Optional<FeedPosition> lock();
+
+    @Query("select p.lastPosition from FeedPosition p where p.id = " + FeedPosition.ID)
+    Optional<Long> findLastPosition();
+}
@@ -0,0 +1,36 @@
+package com.jefferson.library.repository;
+
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends CrudRepository<OutboxEvent, Long> {
+
+    //Only committed events are visible to the transaction assigning positions
+    @Query("select e from OutboxEvent e where e.feedPosition is null order by e.id")
+    List<OutboxEvent> findWithoutFeedPosition(Limit limit);
+
+    List<OutboxEvent> findByFeedPositionGreaterThanOrderByFeedPositionAsc(Long feedPosition, Limit limit);
+
+    List<OutboxEvent> findByAggregateTypeAndFeedPositionGreaterThanOrderByFeedPositionAsc(AggregateType aggregateType,
+                                                                                          Long feedPosition,
+                                                                                          Limit limit);
+
+    @Query("select min(e.feedPosition) from OutboxEvent e")
+    Optional<Long> findFirstFeedPosition();
+
+    @Query("select min(e.feedPosition) from OutboxEvent e where e.createdAt >= :since")
+    Optional<Long> findFirstFeedPositionSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
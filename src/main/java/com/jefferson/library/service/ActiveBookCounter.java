@@ -0,0 +1,161 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.BookCountProperties;
+import com.jefferson.library.model.ActiveBookCountSlot;
+import com.jefferson.library.repository.ActiveBookCountRepository;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Number of active books, kept in counter slots of every shard so that a page of books doesn't need a COUNT(*),
+ * and per author on the author rows so that the author listing doesn't aggregate the books.
+ * Every create, delete and restore of a book adds to a slot and to its author in its own transaction,
+ * the counts are exact as of the last commit. Rows written around the services, by hand or by another application, are only
+ * counted by the reconciliation, which runs at startup and periodically.
+ */
+@Slf4j
+@Service
+public class ActiveBookCounter implements SmartInitializingSingleton {
+
+    private final ActiveBookCountRepository activeBookCountRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final BookCountProperties properties;
+    private final Counter drift;
+
+    private volatile long estimate;
+    private volatile long estimateExpiresAt = System.nanoTime();
+
+    @Autowired
+    public ActiveBookCounter(ActiveBookCountRepository activeBookCountRepository,
+                             BookRepository bookRepository,
+                             AuthorRepository authorRepository,
+                             Shards shards,
+                             PlatformTransactionManager transactionManager,
+                             BookCountProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.activeBookCountRepository = activeBookCountRepository;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.drift = meterRegistry.counter("library.book_count.drift");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    //Joins the transaction of the change, the slot and the author row stay locked until it commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(long authorId, long delta) {
+        if(delta != 0) {
+            addToSlot(delta);
+            authorRepository.addBookCount(authorId, delta);
+        }
+    }
+
+    //Slot first, then the authors, the same order as a single change and the reconciliation.
+    //The authors sharing a delta are updated by one statement, a bulk delete is mostly one per author
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addAll(Map<Long, Long> deltasByAuthor) {
+        addToSlot(deltasByAuthor.values().stream().mapToLong(Long::longValue).sum());
+        deltasByAuthor.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .collect(Collectors.groupingBy(Map.Entry::getValue, TreeMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toCollection(TreeSet::new))))
+                .forEach((delta, authorIds) -> authorRepository.addBookCounts(authorIds, delta));
+    }
+
+    public long total() {
+        return switch(properties.totalMode()) {
+            case EXACT -> sumOverShards(bookRepository::countByDeletedFalse);
+            case COUNTER -> sumOverShards(activeBookCountRepository::sumBookCounts);
+            case ESTIMATED -> estimate();
+        };
+    }
+
+    /**
+     * Sets the counter of every shard to a COUNT(*) of its active books. The slots are locked first,
+     * so changes committed meanwhile are in the count and the ones still running add to it afterwards;
+     * book writes of the shard wait for the count.
+     *
+     * @return the sum of the differences found
+     */
+    public long reconcile() {
+        long start = System.nanoTime();
+        long found = shards.onEachShard(() -> transactionTemplate.execute(status -> reconcileShard()))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+
+        if(found != 0) {
+            log.warn("Active book counter was off by {}, reconciled in {} ms", found, (System.nanoTime() - start) / 1_000_000);
+        }
+        return found;
+    }
+
+    private long reconcileShard() {
+        List<ActiveBookCountSlot> slots = activeBookCountRepository.lockAll();
+        Set<Integer> existing = slots.stream().map(ActiveBookCountSlot::getSlot).collect(Collectors.toSet());
+        for(int slot = 0; slot < properties.slots(); slot++) {
+            if(!existing.contains(slot)) {
+                activeBookCountRepository.save(new ActiveBookCountSlot(slot));
+            }
+        }
+
+        long counted = bookRepository.countByDeletedFalse();
+        long difference = counted - slots.stream().mapToLong(ActiveBookCountSlot::getBookCount).sum();
+        activeBookCountRepository.reset(counted);
+
+        int authorsOff = authorRepository.reconcileBookCounts();
+        if(authorsOff > 0) {
+            log.warn("Book counts of {} authors were off, reconciled", authorsOff);
+        }
+
+        drift.increment(Math.abs(difference));
+        return difference;
+    }
+
+    private void addToSlot(long delta) {
+        if(delta != 0) {
+            activeBookCountRepository.add(ThreadLocalRandom.current().nextInt(properties.slots()), delta);
+        }
+    }
+
+    private long estimate() {
+        if(System.nanoTime() - estimateExpiresAt >= 0) {
+            estimate = sumOverShards(activeBookCountRepository::sumBookCounts);
+            estimateExpiresAt = System.nanoTime() + properties.estimateMaxAge().toNanos();
+        }
+        return estimate;
+    }
+
+    private long sumOverShards(LongSupplier count) {
+        return shards.onEachShard(count::getAsLong).stream().mapToLong(Long::longValue).sum();
+    }
+}
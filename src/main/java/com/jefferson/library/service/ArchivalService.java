@@ -0,0 +1,227 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.ArchivalProperties;
+import com.jefferson.library.dto.ArchivalResult;
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.mapper.AuthorMapper;
+import com.jefferson.library.mapper.BookMapper;
+import com.jefferson.library.model.ArchivedBook;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.repository.ArchivedAuthorRepository;
+import com.jefferson.library.repository.ArchivedBookRepository;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.ShardKey;
+import com.jefferson.library.sharding.Shards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Moves rows soft-deleted longer than the retention period from the hot tables into archive tables.
+ * Every batch runs in its own short transaction with a pause in between, so foreground traffic
+ * never waits on a long-running archival transaction.
+ */
+@Slf4j
+@Service
+@Validated
+public class ArchivalService {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ArchivedBookRepository archivedBookRepository;
+    private final ArchivedAuthorRepository archivedAuthorRepository;
+    private final BookMapper bookMapper;
+    private final AuthorMapper authorMapper;
+    private final OutboxService outboxService;
+    private final ActiveBookCounter activeBookCounter;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchivalProperties properties;
+
+    private final Counter archivedBooks;
+    private final Counter archivedAuthors;
+    private final Counter restoredBooks;
+    private final Counter restoredAuthors;
+    private final Timer batchTimer;
+
+    @Autowired
+    public ArchivalService(BookRepository bookRepository,
+                           AuthorRepository authorRepository,
+                           ArchivedBookRepository archivedBookRepository,
+                           ArchivedAuthorRepository archivedAuthorRepository,
+                           BookMapper bookMapper,
+                           AuthorMapper authorMapper,
+                           OutboxService outboxService,
+                           ActiveBookCounter activeBookCounter,
+                           Shards shards,
+                           PlatformTransactionManager transactionManager,
+                           ArchivalProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.archivedBookRepository = archivedBookRepository;
+        this.archivedAuthorRepository = archivedAuthorRepository;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.outboxService = outboxService;
+        this.activeBookCounter = activeBookCounter;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+
+        this.archivedBooks = meterRegistry.counter("library.archival.archived", "table", "books");
+        this.archivedAuthors = meterRegistry.counter("library.archival.archived", "table", "authors");
+        this.restoredBooks = meterRegistry.counter("library.archival.restored", "table", "books");
+        this.restoredAuthors = meterRegistry.counter("library.archival.restored", "table", "authors");
+        this.batchTimer = meterRegistry.timer("library.archival.batch");
+    }
+
+    public ArchivalResult archiveExpired() {
+        return archiveDeletedBefore(LocalDateTime.now().minus(properties.retention()));
+    }
+
+    //Shards are archived one after another, each within the batch limit of a run
+    public ArchivalResult archiveDeletedBefore(@NotNull(message = "Archival cutoff mustn't be null")
+                                               LocalDateTime cutoff) {
+        return shards.onEachShard(() -> archiveShard(cutoff)).stream()
+                .reduce(new ArchivalResult(0, 0, 0), (left, right) -> new ArchivalResult(
+                        left.booksArchived() + right.booksArchived(),
+                        left.authorsArchived() + right.authorsArchived(),
+                        left.batches() + right.batches()));
+    }
+
+    private ArchivalResult archiveShard(LocalDateTime cutoff) {
+        int batches = 0;
+
+        //Books go first: an author is archivable only once none of its books are left in the hot table
+        int books = 0;
+        while(batches < properties.maxBatchesPerRun()) {
+            int moved = runBatch(() -> archiveBookBatch(cutoff));
+            books += moved;
+            if(moved > 0) batches++;
+            if(moved < properties.batchSize() || !pause()) break;
+        }
+
+        int authors = 0;
+        while(batches < properties.maxBatchesPerRun()) {
+            int moved = runBatch(() -> archiveAuthorBatch(cutoff));
+            authors += moved;
+            if(moved > 0) batches++;
+            if(moved < properties.batchSize() || !pause()) break;
+        }
+
+        if(books > 0 || authors > 0) {
+            log.info("Archived {} books and {} authors deleted before {} in {} batches", books, authors, cutoff, batches);
+        }
+        return new ArchivalResult(books, authors, batches);
+    }
+
+    @Transactional
+    public BookDto restoreBook(@ShardKey
+                               @NotNull(message = "Book id mustn't be null")
+                               @Positive(message = "Book id must be positive") Long bookId) {
+
+        ArchivedBook archivedBook = archivedBookRepository.findById(bookId)
+                .orElseThrow(() -> new BookNotFoundException("Archived book", bookId));
+
+        Long authorId = archivedBook.getAuthorId();
+        if(archivedAuthorRepository.existsById(authorId)) {
+            restoreArchivedAuthor(authorId);
+        } else if(!authorRepository.existsById(authorId)) {
+            throw new AuthorNotFoundException(authorId);
+        } else if(authorRepository.undelete(authorId, LocalDateTime.now()) > 0) {
+            authorRepository.findById(authorId)
+                    .ifPresent(author -> outboxService.recordAuthorChange(author, ChangeType.RESTORED));
+        }
+
+        archivedBookRepository.restoreToBooks(bookId, LocalDateTime.now());
+        archivedBookRepository.delete(archivedBook);
+        activeBookCounter.add(authorId, 1);
+        restoredBooks.increment();
+
+        Book book = bookRepository.findByIdAndDeletedFalse(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
+        outboxService.recordBookChange(book, ChangeType.RESTORED);
+
+        return bookMapper.toDto(book);
+    }
+
+    @Transactional
+    public AuthorDto restoreAuthor(@ShardKey
+                                   @NotNull(message = "Author id mustn't be null")
+                                   @Positive(message = "Author id must be positive") Long authorId) {
+
+        if(!archivedAuthorRepository.existsById(authorId)) {
+            throw new AuthorNotFoundException("Archived author", authorId);
+        }
+        Author author = restoreArchivedAuthor(authorId);
+
+        return authorMapper.toDtoWithoutBooks(author);
+    }
+
+    private Author restoreArchivedAuthor(Long authorId) {
+        archivedAuthorRepository.restoreToAuthors(authorId, LocalDateTime.now());
+        archivedAuthorRepository.deleteById(authorId);
+        restoredAuthors.increment();
+
+        Author author = authorRepository.findByIdAndDeletedFalse(authorId)
+                .orElseThrow(() -> new AuthorNotFoundException(authorId));
+        outboxService.recordAuthorChange(author, ChangeType.RESTORED);
+        return author;
+    }
+
+    private int archiveBookBatch(LocalDateTime cutoff) {
+        List<Long> ids = bookRepository.findIdsDeletedBefore(cutoff, Limit.of(properties.batchSize()));
+        if(ids.isEmpty()) return 0;
+
+        archivedBookRepository.copyFromBooks(ids, LocalDateTime.now());
+        bookRepository.deleteAllByIdIn(ids);
+        archivedBooks.increment(ids.size());
+        return ids.size();
+    }
+
+    private int archiveAuthorBatch(LocalDateTime cutoff) {
+        List<Long> ids = authorRepository.findArchivableIdsDeletedBefore(cutoff, Limit.of(properties.batchSize()));
+        if(ids.isEmpty()) return 0;
+
+        archivedAuthorRepository.copyFromAuthors(ids, LocalDateTime.now());
+        authorRepository.deleteAllByIdIn(ids);
+        archivedAuthors.increment(ids.size());
+        return ids.size();
+    }
+
+    private int runBatch(IntSupplier batch) {
+        Integer moved = batchTimer.record(() -> transactionTemplate.execute(status -> batch.getAsInt()));
+        return moved != null ? moved : 0;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.batchPause().toMillis());
+            return true;
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
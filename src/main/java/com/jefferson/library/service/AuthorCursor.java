@@ -0,0 +1,48 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position of the author listing: the sort key and id of the last author of a page.
+ * The sort is encoded too, a cursor of one ordering is meaningless in the other.
+ */
+record AuthorCursor(AuthorSort sort, String key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String value = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    long bookCount() {
+        return Long.parseLong(key);
+    }
+
+    //Names may contain the separator, the sort and the id can't
+    static AuthorCursor decode(String token, AuthorSort expectedSort) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = value.indexOf(SEPARATOR);
+            int last = value.lastIndexOf(SEPARATOR);
+            AuthorCursor cursor = new AuthorCursor(AuthorSort.valueOf(value.substring(0, first)),
+                    value.substring(first + 1, last),
+                    Long.parseLong(value.substring(last + 1)));
+
+            if(cursor.sort() != expectedSort) {
+                throw new InvalidPageRequestException("Cursor was issued for sorting by " + cursor.sort()
+                        + ", not " + expectedSort);
+            }
+            if(cursor.sort() == AuthorSort.BOOK_COUNT) {
+                cursor.bookCount();
+            }
+            return cursor;
+        } catch(IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token);
+        }
+    }
+}
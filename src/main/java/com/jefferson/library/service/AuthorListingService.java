@@ -0,0 +1,81 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.dto.AuthorSummary;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.sharding.ShardMerge;
+import com.jefferson.library.sharding.Shards;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lists active authors with their active book counts, one grouped query per page and shard.
+ * Pages are keyset based, so a deep page costs the same as the first one when sorting by name.
+ * With several shards each one returns its next page after the cursor and the pages are merged.
+ */
+@Service
+@Validated
+public class AuthorListingService {
+
+    //Positions before the first author of each ordering
+    private static final AuthorCursor FIRST_BY_NAME = new AuthorCursor(AuthorSort.NAME, "", 0);
+    private static final AuthorCursor FIRST_BY_BOOK_COUNT = new AuthorCursor(AuthorSort.BOOK_COUNT,
+            String.valueOf(Long.MAX_VALUE), 0);
+
+    //Same orders as the queries, string comparison matches the H2 default collation
+    private static final Comparator<AuthorSummary> BY_NAME = Comparator.comparing(AuthorSummary::name)
+            .thenComparing(AuthorSummary::id);
+    private static final Comparator<AuthorSummary> BY_BOOK_COUNT = Comparator.comparingLong(AuthorSummary::bookCount)
+            .reversed()
+            .thenComparing(AuthorSummary::id);
+
+    private final AuthorRepository authorRepository;
+    private final PageRequestPolicy pageRequestPolicy;
+    private final Shards shards;
+
+    @Autowired
+    public AuthorListingService(AuthorRepository authorRepository, PageRequestPolicy pageRequestPolicy, Shards shards) {
+        this.authorRepository = authorRepository;
+        this.pageRequestPolicy = pageRequestPolicy;
+        this.shards = shards;
+    }
+
+    public CursorPage<AuthorSummary> listActiveAuthors(@NotNull(message = "Sort mustn't be null") AuthorSort sort,
+                                                       String cursor,
+                                                       @Positive(message = "Limit must be positive") int limit) {
+        pageRequestPolicy.checkLimit(limit);
+
+        AuthorCursor from = cursor != null ? AuthorCursor.decode(cursor, sort) : first(sort);
+        Limit rows = Limit.of(limit + 1);
+
+        List<List<AuthorSummary>> pages = shards.onEachShard(() -> switch(sort) {
+            case NAME -> authorRepository.findSummariesByNameAfter(from.key(), from.id(), rows);
+            case BOOK_COUNT -> authorRepository.findSummariesByBookCountAfter(from.bookCount(), from.id(), rows);
+        });
+        List<AuthorSummary> authors = ShardMerge.mergeSorted(pages, sort == AuthorSort.NAME ? BY_NAME : BY_BOOK_COUNT,
+                0, limit + 1);
+
+        boolean hasMore = authors.size() > limit;
+        if(!hasMore) {
+            return new CursorPage<>(authors, null, false);
+        }
+
+        authors = authors.subList(0, limit);
+        AuthorSummary last = authors.get(limit - 1);
+        String key = sort == AuthorSort.NAME ? last.name() : String.valueOf(last.bookCount());
+
+        return new CursorPage<>(authors, new AuthorCursor(sort, key, last.id()).encode(), true);
+    }
+
+    private static AuthorCursor first(AuthorSort sort) {
+        return sort == AuthorSort.NAME ? FIRST_BY_NAME : FIRST_BY_BOOK_COUNT;
+    }
+}
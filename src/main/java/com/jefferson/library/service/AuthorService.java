@@ -2,20 +2,34 @@ package com.jefferson.library.service;
 
 import com.jefferson.library.dto.AuthorDto;
 import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.CursorPage;
 import com.jefferson.library.exception.AuthorNotFoundException;
 import com.jefferson.library.mapper.AuthorMapper;
+import com.jefferson.library.mapper.BookMapper;
 import com.jefferson.library.model.Author;
 import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.readmodel.ReadModelBook;
 import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.AssignsShard;
+import com.jefferson.library.sharding.ShardKey;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -23,23 +37,77 @@ import java.util.Optional;
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
     private final AuthorMapper authorMapper;
+    private final BookMapper bookMapper;
+    private final OutboxService outboxService;
+    private final ActiveBookCounter activeBookCounter;
+    private final PageRequestPolicy pageRequestPolicy;
+    private final BookReadModel bookReadModel;
+    private final HotKeys hotKeys;
+    private final ActiveIds activeIds;
 
     @Autowired
-    public AuthorService(AuthorRepository authorRepository, AuthorMapper authorMapper) {
+    public AuthorService(AuthorRepository authorRepository,
+                         BookRepository bookRepository,
+                         AuthorMapper authorMapper,
+                         BookMapper bookMapper,
+                         OutboxService outboxService,
+                         ActiveBookCounter activeBookCounter,
+                         PageRequestPolicy pageRequestPolicy,
+                         BookReadModel bookReadModel,
+                         HotKeys hotKeys,
+                         ActiveIds activeIds) {
         this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
         this.authorMapper = authorMapper;
+        this.bookMapper = bookMapper;
+        this.outboxService = outboxService;
+        this.activeBookCounter = activeBookCounter;
+        this.pageRequestPolicy = pageRequestPolicy;
+        this.bookReadModel = bookReadModel;
+        this.hotKeys = hotKeys;
+        this.activeIds = activeIds;
     }
 
-    public AuthorDto getActiveAuthorById(@NotNull(message = "Author id mustn't be null")
+    public AuthorDto getActiveAuthorById(@ShardKey
+                                         @NotNull(message = "Author id mustn't be null")
                                          @Positive(message = "Author id must be positive") Long authorId) {
+        hotKeys.recordAuthor(authorId);
+
+        if(!activeIds.authors().mightContain(authorId)) {
+            throw new AuthorNotFoundException(authorId);
+        }
 
         Author author = authorRepository.findByIdAndDeletedFalse(authorId)
-                .orElseThrow(() -> new AuthorNotFoundException("Author not found for id: " + authorId));
+                .orElseThrow(() -> {
+                    activeIds.authors().recordFalsePositive();
+                    return new AuthorNotFoundException(authorId);
+                });
 
-        return authorMapper.toDtoWithBooks(author);
+        return withFirstBooks(author);
     }
 
+    public CursorPage<BookDto> getActiveBooksOfAuthor(@ShardKey
+                                                      @NotNull(message = "Author id mustn't be null")
+                                                      @Positive(message = "Author id must be positive") Long authorId,
+                                                      String cursor,
+                                                      @Positive(message = "Limit must be positive") int limit) {
+        pageRequestPolicy.checkLimit(limit);
+
+        if(!activeIds.authors().mightContain(authorId)) {
+            throw new AuthorNotFoundException(authorId);
+        }
+        if(!authorRepository.existsByIdAndDeletedFalse(authorId)) {
+            activeIds.authors().recordFalsePositive();
+            throw new AuthorNotFoundException(authorId);
+        }
+
+        long afterId = cursor != null ? BookCursor.decode(cursor).id() : 0;
+        return booksOfAuthor(authorId, afterId, limit);
+    }
+
+    @AssignsShard
     @Transactional
     public AuthorDto createNewAuthor(@NotNull(message = "Author request mustn't be null")
                                      @Valid
@@ -47,37 +115,71 @@ public class AuthorService {
         Author author = Author.build(null, authorRequest.name());
 
         Author createdAuthor = authorRepository.save(author);
+        outboxService.recordAuthorChange(createdAuthor, ChangeType.CREATED);
 
         return authorMapper.toDtoWithoutBooks(createdAuthor);
     }
 
     @Transactional
-    public AuthorDto addBookToAuthor(@NotNull(message = "Book request mustn't be null")
+    public AuthorDto addBookToAuthor(@ShardKey
+                                     @NotNull(message = "Book request mustn't be null")
                                      @Valid BookRequest bookRequest) {
 
         Author author = authorRepository.findByIdAndDeletedFalse(bookRequest.authorId())
-                .orElseThrow(() -> new AuthorNotFoundException("Author not found for id: " + bookRequest.authorId()));
-
-        Book book = Book.buildBook(null, bookRequest.title(), bookRequest.pagesNumber(), author);
+                .orElseThrow(() -> new AuthorNotFoundException(bookRequest.authorId()));
 
-        author.addBook(book);
+        //Saved on its own, adding it to the author's collection would load the whole collection
+        Book book = bookRepository.save(Book.buildBook(null, bookRequest.title(), bookRequest.pagesNumber(), author));
+        activeBookCounter.add(author.getId(), 1);
+        outboxService.recordBookChange(book, ChangeType.CREATED);
 
-        Author updatedAuthor = authorRepository.save(author);
-
-        return authorMapper.toDtoWithBooks(updatedAuthor);
+        return withFirstBooks(author);
     }
 
     @Transactional
-    public void deleteAuthorById(@NotNull(message = "Author id mustn't be null")
+    public void deleteAuthorById(@ShardKey
+                                 @NotNull(message = "Author id mustn't be null")
                                      @Positive(message = "Author id must be positive") Long authorId) {
 
         Optional<Author> authorOptional = authorRepository.findByIdAndDeletedFalse(authorId);
 
         if(authorOptional.isPresent()) {
             Author author = authorOptional.get();
-            author.softDeleteAllBooks();
+            //Books deleted before already have their tombstone in the feed
+            List<Book> activeBooks = bookRepository.lockActiveByAuthorId(authorId);
+            activeBooks.forEach(book -> {
+                book.setDeleted(true);
+                book.nextVersion();
+            });
+            author.setDeleted(true);
 
             authorRepository.save(author);
+            activeBookCounter.add(authorId, -activeBooks.size());
+
+            outboxService.recordAuthorChange(author, ChangeType.DELETED);
+            activeBooks.forEach(book -> outboxService.recordBookChange(book, ChangeType.DELETED));
+        }
+    }
+
+    private AuthorDto withFirstBooks(Author author) {
+        CursorPage<BookDto> books = booksOfAuthor(author.getId(), 0, pageRequestPolicy.embeddedBooks());
+        return authorMapper.toDtoWithBooks(author, books.items(), books.nextCursor());
+    }
+
+    //One row past the limit is fetched to tell whether there is a next page.
+    //The read model only holds committed changes, a transaction reads its own through JPA.
+    private CursorPage<BookDto> booksOfAuthor(long authorId, long afterId, int limit) {
+        if(bookReadModel.isServing() && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            List<ReadModelBook> books = bookReadModel.booksOfAuthor(authorId, afterId, limit + 1);
+            String nextCursor = books.size() > limit ? new BookCursor(books.get(limit - 1).id()).encode() : null;
+            return new CursorPage<>(books.stream().limit(limit).map(ReadModelBook::book).toList(), nextCursor,
+                    nextCursor != null);
         }
+
+        List<Book> books = bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, afterId,
+                Limit.of(limit + 1));
+        String nextCursor = books.size() > limit ? new BookCursor(books.get(limit - 1).getId()).encode() : null;
+        return new CursorPage<>(books.stream().limit(limit).map(bookMapper::toDto).toList(), nextCursor,
+                nextCursor != null);
     }
 }
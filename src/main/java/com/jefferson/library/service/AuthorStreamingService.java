@@ -0,0 +1,132 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.mapper.AuthorMapper;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.ShardKey;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes an author with all of its books straight to the response. The author is written and flushed
+ * first, then the books follow in id order, a keyset chunk at a time, each chunk flushed once written.
+ * Heap use and the time to the first byte don't depend on the number of books.
+ */
+@Service
+@Validated
+public class AuthorStreamingService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final AuthorMapper authorMapper;
+    private final ObjectMapper objectMapper;
+    private final PageRequestPolicy pageRequestPolicy;
+    private final BookReadModel bookReadModel;
+    private final HotKeys hotKeys;
+    private final ActiveIds activeIds;
+
+    @Autowired
+    public AuthorStreamingService(AuthorRepository authorRepository,
+                                  BookRepository bookRepository,
+                                  AuthorMapper authorMapper,
+                                  ObjectMapper objectMapper,
+                                  PageRequestPolicy pageRequestPolicy,
+                                  BookReadModel bookReadModel,
+                                  HotKeys hotKeys,
+                                  ActiveIds activeIds) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
+        this.pageRequestPolicy = pageRequestPolicy;
+        this.bookReadModel = bookReadModel;
+        this.hotKeys = hotKeys;
+        this.activeIds = activeIds;
+    }
+
+    //Looked up before the response is committed, a missing author is still a 404
+    public AuthorDto getActiveAuthorWithoutBooks(@ShardKey
+                                                 @NotNull(message = "Author id mustn't be null")
+                                                 @Positive(message = "Author id must be positive") Long authorId) {
+        hotKeys.recordAuthor(authorId);
+
+        if(!activeIds.authors().mightContain(authorId)) {
+            throw new AuthorNotFoundException(authorId);
+        }
+
+        return authorRepository.findByIdAndDeletedFalse(authorId)
+                .map(authorMapper::toDtoWithoutBooks)
+                .orElseThrow(() -> {
+                    activeIds.authors().recordFalsePositive();
+                    return new AuthorNotFoundException(authorId);
+                });
+    }
+
+    /**
+     * Streams {@code {"name":..,"createdAt":..,"books":[...]}}. Runs on the async request thread,
+     * the shard is bound again by the author id.
+     */
+    public void streamActiveAuthor(@ShardKey
+                                   @NotNull(message = "Author id mustn't be null")
+                                   @Positive(message = "Author id must be positive") Long authorId,
+                                   @NotNull(message = "Author mustn't be null") AuthorDto author,
+                                   OutputStream outputStream) throws IOException {
+        int chunkSize = pageRequestPolicy.streamChunkSize();
+
+        try(JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("name", author.name());
+            generator.writeFieldName("createdAt");
+            generator.writeObject(author.createdAt());
+            generator.writeArrayFieldStart("books");
+            generator.flush();
+
+            long afterId = 0;
+            List<KeyedBook> chunk;
+            do {
+                chunk = chunk(authorId, afterId, chunkSize);
+                for(KeyedBook entry: chunk) {
+                    generator.writeObject(entry.book());
+                }
+                generator.flush();
+                if(!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).id();
+                }
+            } while(chunk.size() == chunkSize);
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private List<KeyedBook> chunk(long authorId, long afterId, int chunkSize) {
+        if(bookReadModel.isServing()) {
+            return bookReadModel.booksOfAuthor(authorId, afterId, chunkSize).stream()
+                    .map(book -> new KeyedBook(book.id(), book.book()))
+                    .toList();
+        }
+        return bookRepository.findActiveSnapshotsOfAuthorAfter(authorId, afterId, Limit.of(chunkSize)).stream()
+                .map(book -> new KeyedBook(book.id(),
+                        new BookDto(book.authorId(), book.title(), book.pagesNumber(), book.createdAt())))
+                .toList();
+    }
+
+    private record KeyedBook(long id, BookDto book) {
+    }
+}
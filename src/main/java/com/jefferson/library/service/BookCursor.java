@@ -0,0 +1,24 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the books of an author: the id of the last book of a page.
+ */
+record BookCursor(long id) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static BookCursor decode(String token) {
+        try {
+            return new BookCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)));
+        } catch(IllegalArgumentException exception) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token);
+        }
+    }
+}
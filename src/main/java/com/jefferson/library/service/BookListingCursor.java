@@ -0,0 +1,59 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.model.Book;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keyset position of the book listing: the sortable fields of the last book of a page.
+ * All of them are kept, the position is taken on the fields of the requested sort.
+ */
+record BookListingCursor(long id, LocalDateTime createdAt, String title) {
+
+    private static final char SEPARATOR = '|';
+
+    static BookListingCursor of(Book book) {
+        return new BookListingCursor(book.getId(), book.getCreatedAt(), book.getTitle());
+    }
+
+    KeysetScrollPosition position(Sort sort) {
+        Map<String, Object> keys = new HashMap<>();
+        for(Sort.Order order: sort) {
+            keys.put(order.getProperty(), switch(order.getProperty()) {
+                case "id" -> id;
+                case "createdAt" -> createdAt;
+                case "title" -> title;
+                default -> throw new InvalidPageRequestException("Sorting by '" + order.getProperty() + "' isn't supported");
+            });
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    String encode() {
+        String value = Long.toString(id) + SEPARATOR + createdAt + SEPARATOR + title;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Titles may contain the separator, the id and the creation time can't
+    static BookListingCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = value.indexOf(SEPARATOR);
+            int second = value.indexOf(SEPARATOR, first + 1);
+            return new BookListingCursor(Long.parseLong(value.substring(0, first)),
+                    LocalDateTime.parse(value.substring(first + 1, second)),
+                    value.substring(second + 1));
+        } catch(IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException exception) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token);
+        }
+    }
+}
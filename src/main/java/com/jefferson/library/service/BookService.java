@@ -2,78 +2,206 @@ package com.jefferson.library.service;
 
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.CursorPage;
 import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.exception.InvalidPageRequestException;
 import com.jefferson.library.mapper.BookMapper;
 import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.BookReadModel;
 import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.ShardKey;
+import com.jefferson.library.sharding.ShardMerge;
+import com.jefferson.library.sharding.Shards;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Validated
 public class BookService {
 
+    //Sort keys of the whitelisted fields, see library.paging.sortable-fields
+    private static final Map<String, Comparator<Book>> SORT_KEYS = Map.of(
+            "id", Comparator.comparing(Book::getId),
+            "title", Comparator.comparing(Book::getTitle),
+            "createdAt", Comparator.comparing(Book::getCreatedAt));
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final OutboxService outboxService;
+    private final ActiveBookCounter activeBookCounter;
+    private final Shards shards;
+    private final BookReadModel bookReadModel;
+    private final HotKeys hotKeys;
+    private final ActiveIds activeIds;
 
     @Autowired
-    public BookService(BookRepository bookRepository, BookMapper bookMapper) {
+    public BookService(BookRepository bookRepository,
+                       BookMapper bookMapper,
+                       OutboxService outboxService,
+                       ActiveBookCounter activeBookCounter,
+                       Shards shards,
+                       BookReadModel bookReadModel,
+                       HotKeys hotKeys,
+                       ActiveIds activeIds) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
+        this.outboxService = outboxService;
+        this.activeBookCounter = activeBookCounter;
+        this.shards = shards;
+        this.bookReadModel = bookReadModel;
+        this.hotKeys = hotKeys;
+        this.activeIds = activeIds;
     }
 
     public Page<BookDto> getAllActiveBooks(@NotNull(message = "Pageable arg mustn't be null")
                                            Pageable pageable) {
-        return bookRepository.findAllByDeletedFalse(pageable)
-                .map(bookMapper::toDto);
+        //The read model keeps the books in id order, other orders are left to the database
+        if(bookReadModel.isServing() && (pageable.getSort().isUnsorted() || pageable.getSort().equals(Sort.by("id")))) {
+            return new PageImpl<>(bookReadModel.page(pageable.getOffset(), pageable.getPageSize()), pageable,
+                    bookReadModel.size());
+        }
+
+        //The total is left out when the page tells it, the first page not being full or the last one
+        if(shards.count() == 1) {
+            return PageableExecutionUtils.getPage(bookRepository.findByDeletedFalse(pageable), pageable,
+                            activeBookCounter::total)
+                    .map(bookMapper::toDto);
+        }
+
+        //Every shard would have to return its first offset + size books, deeper pages go through the listing
+        if(pageable.getOffset() > 0) {
+            throw new InvalidPageRequestException("Books are sharded, pages past the first are listed with a cursor");
+        }
+        Sort sort = withIdTieBreaker(pageable.getSort());
+        Pageable shardPage = PageRequest.of(0, pageable.getPageSize(), sort);
+        List<List<Book>> pages = shards.onEachShard(() -> bookRepository.findByDeletedFalse(shardPage));
+
+        List<BookDto> books = ShardMerge.mergeSorted(pages, comparator(sort), 0, pageable.getPageSize())
+                .stream()
+                .map(bookMapper::toDto)
+                .toList();
+
+        return PageableExecutionUtils.getPage(books, pageable, activeBookCounter::total);
     }
 
-    public BookDto getActiveBookById(@NotNull(message = "Book id mustn't be null")
+    /**
+     * Keyset pages of the active books: every shard returns the books after the cursor in the page order
+     * and the merge keeps the first ones, so a deep page costs the same as the first one.
+     */
+    public CursorPage<BookDto> listActiveBooks(@NotNull(message = "Sort mustn't be null") Sort sort,
+                                               String cursor,
+                                               @Positive(message = "Limit must be positive") int limit) {
+        Sort order = withIdTieBreaker(sort);
+        ScrollPosition from = cursor != null ? BookListingCursor.decode(cursor).position(order) : ScrollPosition.keyset();
+        Limit rows = Limit.of(limit + 1);
+
+        List<List<Book>> pages = shards.onEachShard(() -> bookRepository.findByDeletedFalse(from, order, rows).getContent());
+        List<Book> books = ShardMerge.mergeSorted(pages, comparator(order), 0, limit + 1);
+
+        boolean hasMore = books.size() > limit;
+        if(!hasMore) {
+            return new CursorPage<>(books.stream().map(bookMapper::toDto).toList(), null, false);
+        }
+
+        books = books.subList(0, limit);
+        return new CursorPage<>(books.stream().map(bookMapper::toDto).toList(),
+                BookListingCursor.of(books.get(limit - 1)).encode(), true);
+    }
+
+    public BookDto getActiveBookById(@ShardKey
+                                     @NotNull(message = "Book id mustn't be null")
                                @Positive(message = "Book id must be positive") Long bookId) {
+        hotKeys.recordBook(bookId);
 
-        Book book = bookRepository.findByIdAndDeletedFalse(bookId)
-                .orElseThrow(() -> new BookNotFoundException("Book not found for id: " + bookId));
+        if(!activeIds.books().mightContain(bookId)) {
+            throw new BookNotFoundException(bookId);
+        }
 
-        return bookMapper.toDto(book);
+        //The read model only holds committed changes, a transaction reads its own through JPA
+        Optional<BookDto> book = bookReadModel.isServing() && !TransactionSynchronizationManager.isActualTransactionActive()
+                ? bookReadModel.find(bookId)
+                : bookRepository.findByIdAndDeletedFalse(bookId).map(bookMapper::toDto);
+
+        return book.orElseThrow(() -> {
+            activeIds.books().recordFalsePositive();
+            return new BookNotFoundException(bookId);
+        });
     }
 
     @Transactional
-    public BookDto updateBookInfo(@NotNull(message = "Book id mustn't be null")
+    public BookDto updateBookInfo(@ShardKey
+                                  @NotNull(message = "Book id mustn't be null")
                                   @Positive(message = "Book id must be positive") Long bookId,
                                   @NotNull(message = "Book request mustn't be null")
                                   @Valid BookRequest bookRequest) {
 
-        Book book = bookRepository.findByIdAndDeletedFalse(bookId)
-                .orElseThrow(() -> new BookNotFoundException("Book not found for id: " + bookId));
+        Book book = bookRepository.lockActiveById(bookId)
+                .orElseThrow(() -> new BookNotFoundException(bookId));
 
         book.setTitle(bookRequest.title());
         book.setPagesNumber(bookRequest.pagesNumber());
+        book.nextVersion();
 
         Book updatedBook = bookRepository.save(book);
+        outboxService.recordBookChange(updatedBook, ChangeType.UPDATED);
 
         return bookMapper.toDto(updatedBook);
     }
 
     @Transactional
-    public void deleteBook(@NotNull(message = "Book id mustn't be null")
+    public void deleteBook(@ShardKey
+                           @NotNull(message = "Book id mustn't be null")
                                @Positive(message = "Book id must be positive") Long bookId) {
 
-        Optional<Book> bookOptional = bookRepository.findByIdAndDeletedFalse(bookId);
+        Optional<Book> bookOptional = bookRepository.lockActiveById(bookId);
 
         if(bookOptional.isPresent()) {
             Book book = bookOptional.get();
             book.setDeleted(true);
+            book.nextVersion();
 
             bookRepository.save(book);
+            activeBookCounter.add(book.getAuthor().getId(), -1);
+            outboxService.recordBookChange(book, ChangeType.DELETED);
+        }
+    }
+
+    //The id breaks ties, so the order is total and the same on every shard
+    private static Sort withIdTieBreaker(Sort sort) {
+        return sort.getOrderFor("id") != null ? sort : sort.and(Sort.by("id"));
+    }
+
+    private static Comparator<Book> comparator(Sort sort) {
+        Comparator<Book> comparator = null;
+        for(Sort.Order order: sort) {
+            Comparator<Book> next = SORT_KEYS.get(order.getProperty());
+            if(order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
         }
+        return comparator;
     }
 }
@@ -0,0 +1,118 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.mapper.BookMapper;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.sharding.Shards;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes large book pages straight to the response instead of buffering them.
+ * Rows are read through a JDBC cursor and the persistence context is cleared after every chunk,
+ * so heap use is bounded by the chunk size rather than the page size.
+ */
+@Service
+public class BookStreamingService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+    private final PageRequestPolicy pageRequestPolicy;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Shards shards;
+
+    @Autowired
+    public BookStreamingService(BookMapper bookMapper,
+                                ObjectMapper objectMapper,
+                                PageRequestPolicy pageRequestPolicy,
+                                PlatformTransactionManager transactionManager,
+                                Shards shards) {
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.pageRequestPolicy = pageRequestPolicy;
+        this.shards = shards;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Called before the response starts. The query reads one database, with books spread over shards
+     * a page this large is refused like any page past the first.
+     */
+    public void checkStreamable() {
+        if(shards.count() > 1) {
+            throw new InvalidPageRequestException("Books are sharded, pages above the max page size are listed with a cursor");
+        }
+    }
+
+    /**
+     * Streams the requested page as {@code {"content":[...],"size":..,"number":..,"numberOfElements":..}}.
+     * The sort must have been checked by {@link PageRequestPolicy#check}, its properties go into the query text.
+     */
+    public void streamActiveBooks(Pageable pageable, OutputStream outputStream) throws IOException {
+        int chunkSize = pageRequestPolicy.streamChunkSize();
+
+        try(JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+
+            long written = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try(Stream<Book> books = entityManager
+                        .createQuery("select b from Book b where b.deleted = false" + orderBy(pageable.getSort()), Book.class)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .setHint(HibernateHints.HINT_FETCH_SIZE, chunkSize)
+                        .setHint(HibernateHints.HINT_READ_ONLY, true)
+                        .getResultStream()) {
+
+                    Iterator<Book> iterator = books.iterator();
+                    while(iterator.hasNext()) {
+                        generator.writeObject(bookMapper.toDto(iterator.next()));
+                        if(++count % chunkSize == 0) {
+                            generator.flush();
+                            entityManager.clear();
+                        }
+                    }
+                } catch(IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                return count;
+            });
+
+            generator.writeEndArray();
+            generator.writeNumberField("size", pageable.getPageSize());
+            generator.writeNumberField("number", pageable.getPageNumber());
+            generator.writeNumberField("numberOfElements", written);
+            generator.writeEndObject();
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder(" order by ");
+        for(Sort.Order order: sort) {
+            orderBy.append("b.").append(order.getProperty())
+                    .append(order.isAscending() ? " asc, " : " desc, ");
+        }
+        //Id as the tiebreaker keeps offsets stable between requests
+        return orderBy.append("b.id asc").toString();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.BulkProperties;
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.AssignsShard;
+import com.jefferson.library.sharding.Shards;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and deletes many rows per request. Authors are inserted in JDBC batches, books are soft-deleted
+ * with one set-based statement per chunk of ids instead of a lookup and an update per book.
+ * Outbox events are recorded for every row changed, the same as for the single-row endpoints.
+ */
+@Service
+@Validated
+public class BulkService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final OutboxService outboxService;
+    private final ActiveBookCounter activeBookCounter;
+    private final Shards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkProperties properties;
+
+    @Autowired
+    public BulkService(AuthorRepository authorRepository,
+                       BookRepository bookRepository,
+                       OutboxService outboxService,
+                       ActiveBookCounter activeBookCounter,
+                       Shards shards,
+                       PlatformTransactionManager transactionManager,
+                       BulkProperties properties) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.outboxService = outboxService;
+        this.activeBookCounter = activeBookCounter;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    //All the authors of a request go to the shard picked for it, they're created or rolled back together
+    @AssignsShard
+    @Transactional
+    public BulkResult createAuthors(@NotNull(message = "Bulk request mustn't be null")
+                                    @Valid BulkAuthorRequest request) {
+        List<String> names = request.authors().stream().map(AuthorRequest::name).toList();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Long> ids = new ArrayList<>(names.size());
+        for(List<String> chunk: chunks(names)) {
+            ids.addAll(authorRepository.insertAll(chunk, now));
+        }
+
+        for(int i = 0; i < ids.size(); i++) {
+            outboxService.recordAuthorChange(new AuthorSnapshot(ids.get(i), names.get(i), now, false), ChangeType.CREATED);
+        }
+
+        return new BulkResult(names.size(), ids);
+    }
+
+    //Every chunk commits on its own, on each shard in turn; ids a shard doesn't hold match no row there
+    public BulkResult deleteBooks(@NotNull(message = "Bulk request mustn't be null")
+                                  @Valid BulkDeleteRequest request) {
+        List<Long> ids = request.ids().stream().distinct().toList();
+
+        List<Long> deleted = new ArrayList<>();
+        for(List<Long> chunk: chunks(ids)) {
+            shards.onEachShard(() -> transactionTemplate.execute(status -> deleteChunk(chunk)))
+                    .forEach(deleted::addAll);
+        }
+
+        return new BulkResult(request.ids().size(), deleted);
+    }
+
+    private List<Long> deleteChunk(List<Long> ids) {
+        List<BookSnapshot> books = bookRepository.lockActiveSnapshots(ids);
+        if(books.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> bookIds = books.stream().map(BookSnapshot::id).toList();
+        bookRepository.softDeleteAllByIdIn(bookIds, LocalDateTime.now());
+        activeBookCounter.addAll(books.stream()
+                .collect(Collectors.groupingBy(BookSnapshot::authorId, Collectors.summingLong(book -> -1L))));
+
+        books.forEach(book -> outboxService.recordBookChange(new BookSnapshot(book.id(), book.authorId(),
+                book.title(), book.pagesNumber(), book.createdAt(), true, book.version() + 1), ChangeType.DELETED));
+        return bookIds;
+    }
+
+    private <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for(int from = 0; from < items.size(); from += properties.chunkSize()) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + properties.chunkSize())));
+        }
+        return chunks;
+    }
+}
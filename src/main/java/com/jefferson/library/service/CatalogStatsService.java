@@ -0,0 +1,147 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.StatsProperties;
+import com.jefferson.library.dto.BookPageCount;
+import com.jefferson.library.dto.CatalogStats;
+import com.jefferson.library.dto.CatalogStats.Bucket;
+import com.jefferson.library.dto.CatalogStats.PageCountStats;
+import com.jefferson.library.dto.DailyCount;
+import com.jefferson.library.exception.StatsNotReadyException;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import com.jefferson.library.statistics.PageCountTask;
+import com.jefferson.library.statistics.PageCounts;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog-wide statistics, computed in full by the scheduled refresh and served from the last computation.
+ * Until the first one lands the stats aren't ready, a request never runs the full scan itself.
+ * Books per author and books created per day are grouped by the database. Page counts are read as
+ * keyset chunks of two columns and counted on a fork/join pool, exact per page count, so the median
+ * and the other percentiles aren't estimates. Every shard is computed separately and the results are summed.
+ */
+@Slf4j
+@Service
+public class CatalogStatsService {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final Shards shards;
+    private final StatsProperties properties;
+    private final ForkJoinPool pool;
+    private final long createdAt = System.nanoTime();
+
+    private volatile CatalogStats stats;
+
+    @Autowired
+    public CatalogStatsService(AuthorRepository authorRepository,
+                               BookRepository bookRepository,
+                               Shards shards,
+                               StatsProperties properties) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.shards = shards;
+        this.properties = properties;
+        this.pool = new ForkJoinPool(properties.parallelism());
+    }
+
+    //Callers are told to come back once the first refresh is due, or in a second if it is still running
+    public CatalogStats getStats() {
+        CatalogStats current = stats;
+        if(current == null) {
+            Duration sinceStart = Duration.ofNanos(System.nanoTime() - createdAt);
+            throw new StatsNotReadyException(properties.initialDelay().minus(sinceStart));
+        }
+        return current;
+    }
+
+    public synchronized CatalogStats refresh() {
+        long started = System.nanoTime();
+
+        Map<Long, Long> authorsByBookCount = new TreeMap<>();
+        shards.onEachShard(authorRepository::countActiveByBookCount)
+                .forEach(groups -> groups.forEach(group ->
+                        authorsByBookCount.merge(group.value(), group.count(), Long::sum)));
+
+        LocalDate firstDay = LocalDate.now().minusDays(properties.creationDays() - 1L);
+        Map<LocalDate, Long> createdPerDay = new TreeMap<>();
+        for(LocalDate day = firstDay; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            createdPerDay.put(day, 0L);
+        }
+        shards.onEachShard(() -> bookRepository.countCreatedPerDaySince(firstDay.atStartOfDay()))
+                .forEach(days -> days.forEach(day -> createdPerDay.merge(day.day(), day.count(), Long::sum)));
+
+        PageCounts pageCounts = shards.onEachShard(this::countPages).stream()
+                .reduce(new PageCounts(), PageCounts::merge);
+
+        CatalogStats computed = new CatalogStats(
+                Instant.now(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                pageCounts.total(),
+                authorsByBookCount.values().stream().mapToLong(Long::longValue).sum(),
+                powerOfTwoBuckets(authorsByBookCount),
+                new PageCountStats(pageCounts.min(), pageCounts.max(), pageCounts.mean(),
+                        pageCounts.percentile(0.5), pageCounts.percentile(0.9), pageCounts.percentile(0.99),
+                        pageCounts.histogram(properties.pageBucketWidth())),
+                createdPerDay.entrySet().stream().map(day -> new DailyCount(day.getKey(), day.getValue())).toList());
+
+        log.info("Catalog stats of {} books computed in {} ms", computed.activeBooks(), computed.durationMs());
+        stats = computed;
+        return computed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    //The next chunk is read while the previous one is counted, no more than two chunks are held at once
+    private PageCounts countPages() {
+        PageCounts counts = new PageCounts();
+        ForkJoinTask<PageCounts> counting = null;
+        Long afterId = 0L;
+
+        List<BookPageCount> chunk;
+        do {
+            chunk = bookRepository.findActivePageCountsAfter(afterId, Limit.of(properties.chunkSize()));
+            if(counting != null) {
+                counts.merge(counting.join());
+                counting = null;
+            }
+            if(!chunk.isEmpty()) {
+                int[] pages = chunk.stream().mapToInt(BookPageCount::pagesNumber).toArray();
+                counting = pool.submit(new PageCountTask(pages, properties.splitThreshold()));
+                afterId = chunk.get(chunk.size() - 1).id();
+            }
+        } while(chunk.size() == properties.chunkSize());
+
+        return counting == null ? counts : counts.merge(counting.join());
+    }
+
+    //0, 1, 2-3, 4-7 and so on
+    private static List<Bucket> powerOfTwoBuckets(Map<Long, Long> countsByValue) {
+        Map<Long, Long> bucketCounts = new TreeMap<>();
+        countsByValue.forEach((value, count) ->
+                bucketCounts.merge(value == 0 ? 0 : Long.highestOneBit(value), count, Long::sum));
+
+        List<Bucket> buckets = new ArrayList<>(bucketCounts.size());
+        bucketCounts.forEach((from, count) -> buckets.add(new Bucket(from, from == 0 ? 0 : from * 2 - 1, count)));
+        return buckets;
+    }
+}
@@ -0,0 +1,240 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.OutboxProperties;
+import com.jefferson.library.dto.ChangeFeedEntry;
+import com.jefferson.library.model.FeedPosition;
+import com.jefferson.library.model.OutboxEvent;
+import com.jefferson.library.repository.FeedPositionRepository;
+import com.jefferson.library.repository.OutboxEventRepository;
+import com.jefferson.library.sharding.Shards;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Relays outbox events to change feed subscribers in feed position order.
+ * Every subscriber keeps its own cursor, so a client resuming from an older position catches up
+ * batch by batch from the table before it joins the live tail.
+ * <p>
+ * Event ids come from a pooled sequence and are taken at insert, so a later id can commit before an earlier one.
+ * Feed positions, the sequences of the feed entries, are assigned instead: one transaction at a time locks
+ * the position counter and numbers the committed events that have none yet. An event still uncommitted
+ * gets a higher position once it commits, so a cursor never skips over a change.
+ */
+@Slf4j
+@Service
+@Validated
+public class ChangeFeedService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final FeedPositionRepository feedPositionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Shards shards;
+    private final OutboxProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private volatile boolean counterCreated;
+
+    @Autowired
+    public ChangeFeedService(OutboxEventRepository outboxEventRepository,
+                             FeedPositionRepository feedPositionRepository,
+                             PlatformTransactionManager transactionManager,
+                             Shards shards,
+                             OutboxProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.feedPositionRepository = feedPositionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.properties = properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "changefeed-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        meterRegistry.gauge("library.changefeed.subscribers", subscribers, List::size);
+    }
+
+    //Without a sequence to resume from the subscriber only gets changes made from now on
+    public SseEmitter subscribe(@PositiveOrZero(message = "Sequence must be positive or zero") Long afterSequence) {
+        long cursor = afterSequence != null ? afterSequence : lastPosition();
+
+        SseEmitter emitter = new SseEmitter(properties.emitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, cursor);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        return emitter;
+    }
+
+    public List<ChangeFeedEntry> readAfter(@NotNull(message = "Sequence mustn't be null")
+                                           @PositiveOrZero(message = "Sequence must be positive or zero") Long afterSequence,
+                                           @Positive(message = "Limit must be positive") int limit) {
+        return findAfter(afterSequence, Math.min(limit, properties.batchSize()));
+    }
+
+    public long lastPosition() {
+        return feedPositionRepository.findLastPosition().orElse(0L);
+    }
+
+    /**
+     * Numbers the committed events without a feed position, in batches of the outbox batch size.
+     *
+     * @return the number of events positioned
+     */
+    public int assignPositions() {
+        if(!counterCreated) {
+            createCounter();
+        }
+        int assigned = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> assignBatch());
+            assigned += batch;
+        } while(batch == properties.batchSize());
+        return assigned;
+    }
+
+    /**
+     * Positions the new events and hands every idle subscriber the batch after its cursor.
+     * Subscribers sharing a cursor share one query; the sends run on sender threads, so a slow client
+     * only delays itself and is picked up again from its cursor once its previous batch is written.
+     *
+     * @return the number of entries handed out
+     */
+    public synchronized int relay() {
+        assignPositions();
+        if(subscribers.isEmpty()) return 0;
+
+        Map<Long, List<ChangeFeedEntry>> batches = new HashMap<>();
+        int handedOut = 0;
+        for(Subscriber subscriber : subscribers) {
+            if(!subscriber.sending.compareAndSet(false, true)) continue;
+
+            List<ChangeFeedEntry> entries = batches.computeIfAbsent(subscriber.cursor,
+                    cursor -> findAfter(cursor, properties.batchSize()));
+            if(entries.isEmpty()) {
+                subscriber.sending.set(false);
+                continue;
+            }
+            handedOut += entries.size();
+            senders.execute(() -> subscriber.send(entries));
+        }
+        return handedOut;
+    }
+
+    //Every shard keeps the outbox events of its own changes
+    public int removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        return shards.onEachShard(() -> transactionTemplate.execute(status ->
+                        outboxEventRepository.deleteCreatedBefore(cutoff)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private synchronized void createCounter() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if(!feedPositionRepository.existsById(FeedPosition.ID)) {
+                feedPositionRepository.save(new FeedPosition());
+            }
+        });
+        counterCreated = true;
+    }
+
+    private int assignBatch() {
+        FeedPosition position = feedPositionRepository.lock()
+                .orElseThrow(() -> new IllegalStateException("Feed position counter is missing"));
+
+        List<OutboxEvent> events = outboxEventRepository.findWithoutFeedPosition(Limit.of(properties.batchSize()));
+        for(OutboxEvent event : events) {
+            event.assignFeedPosition(position.next());
+        }
+        return events.size();
+    }
+
+    private List<ChangeFeedEntry> findAfter(long position, int limit) {
+        return outboxEventRepository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(position, Limit.of(limit)).stream()
+                .map(ChangeFeedService::toEntry)
+                .toList();
+    }
+
+    private static ChangeFeedEntry toEntry(OutboxEvent event) {
+        return new ChangeFeedEntry(event.getFeedPosition(), event.getAggregateType(), event.getAggregateId(),
+                event.getChangeType(), event.getPayload(), event.getCreatedAt());
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long cursor;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        private void send(List<ChangeFeedEntry> entries) {
+            try {
+                for(ChangeFeedEntry entry : entries) {
+                    if(entry.sequence() <= cursor) continue;
+
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(entry.sequence()))
+                            .name(eventName(entry))
+                            .data(entry, MediaType.APPLICATION_JSON));
+                    cursor = entry.sequence();
+                }
+            } catch(IOException | IllegalStateException exception) {
+                log.debug("Dropping change feed subscriber at position {}: {}", cursor, exception.getMessage());
+                subscribers.remove(this);
+                emitter.completeWithError(exception);
+            } finally {
+                sending.set(false);
+            }
+        }
+
+        private static String eventName(ChangeFeedEntry entry) {
+            return (entry.aggregateType() + "." + entry.changeType()).toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.ExportProperties;
+import com.jefferson.library.dto.BookExportRow;
+import com.jefferson.library.dto.ExportFormat;
+import com.jefferson.library.dto.ExportJobStatus;
+import com.jefferson.library.dto.ExportJobStatus.State;
+import com.jefferson.library.exception.ExportJobNotFoundException;
+import com.jefferson.library.exception.ExportNotReadyException;
+import com.jefferson.library.exception.ExportQueueFullException;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.ShardMerge;
+import com.jefferson.library.sharding.Shards;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background exports of active books joined with author names.
+ * Jobs run on a bounded executor, rows are read in keyset chunks and written through a direct
+ * buffer into a file channel. The file is published under its final name only once complete.
+ */
+@Slf4j
+@Service
+@Validated
+public class ExportService {
+
+    private final BookRepository bookRepository;
+    private final Shards shards;
+    private final ExportProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ExportService(BookRepository bookRepository, Shards shards, ExportProperties properties) {
+        this.bookRepository = bookRepository;
+        this.shards = shards;
+        this.properties = properties;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(),
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public ExportJobStatus startExport(@NotNull(message = "Export format mustn't be null") ExportFormat format) {
+        ExportJob job = new ExportJob(UUID.randomUUID(), format);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch(RejectedExecutionException exception) {
+            jobs.remove(job.id);
+            throw new ExportQueueFullException("Export queue is full, export " + job.id + " wasn't started");
+        }
+        return job.toStatus();
+    }
+
+    public ExportJobStatus getStatus(@NotNull(message = "Export id mustn't be null") UUID exportId) {
+        return findJob(exportId).toStatus();
+    }
+
+    public Path getExportedFile(@NotNull(message = "Export id mustn't be null") UUID exportId) {
+        ExportJob job = findJob(exportId);
+        if(job.state != State.COMPLETED) {
+            throw new ExportNotReadyException("Export " + exportId + " isn't completed, state: " + job.state);
+        }
+        return job.file;
+    }
+
+    public int removeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        int removed = 0;
+        for(ExportJob job: jobs.values()) {
+            if(job.finishedAt != null && job.finishedAt.isBefore(cutoff)) {
+                jobs.remove(job.id);
+                deleteQuietly(job.file);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ExportJob findJob(UUID exportId) {
+        ExportJob job = jobs.get(exportId);
+        if(job == null) {
+            throw new ExportJobNotFoundException(exportId);
+        }
+        return job;
+    }
+
+    private void run(ExportJob job) {
+        job.state = State.RUNNING;
+
+        Path directory = properties.directory();
+        Path partFile = directory.resolve(job.id + "." + job.format.extension() + ".part");
+        Path file = directory.resolve(job.id + "." + job.format.extension());
+        try {
+            job.totalRows = shards.onEachShard(bookRepository::countByDeletedFalse).stream()
+                    .mapToLong(Long::longValue)
+                    .sum();
+            Files.createDirectories(directory);
+            try(FileChannel channel = FileChannel.open(partFile,
+                    StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                writeCsv(job, channel);
+                channel.force(false);
+            }
+            Files.move(partFile, file, StandardCopyOption.ATOMIC_MOVE);
+
+            job.file = file;
+            job.finishedAt = LocalDateTime.now();
+            job.state = State.COMPLETED;
+            log.info("Export {} completed: {} rows in {}", job.id, job.rowsWritten.get(), file);
+        } catch(IOException | RuntimeException exception) {
+            deleteQuietly(partFile);
+            job.error = exception.getMessage();
+            job.finishedAt = LocalDateTime.now();
+            job.state = State.FAILED;
+            log.error("Export {} failed: {}", job.id, exception.getMessage());
+        }
+    }
+
+    private void writeCsv(ExportJob job, FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(properties.bufferSize());
+        write(channel, buffer, "book_id,title,pages_number,created_at,author_id,author_name\n");
+
+        long lastId = 0;
+        StringBuilder line = new StringBuilder(256);
+        while(true) {
+            //A shutdown mustn't leave a truncated file published as completed
+            if(Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Export interrupted after " + job.rowsWritten.get() + " rows");
+            }
+            //Every shard returns its next chunk, the merge keeps the rows in id order across shards
+            long after = lastId;
+            List<BookExportRow> rows = ShardMerge.mergeSorted(
+                    shards.onEachShard(() -> bookRepository.findExportRowsAfter(after, Limit.of(properties.chunkSize()))),
+                    Comparator.comparingLong(BookExportRow::bookId), 0, properties.chunkSize());
+            if(rows.isEmpty()) break;
+
+            for(BookExportRow row: rows) {
+                line.setLength(0);
+                line.append(row.bookId()).append(',');
+                appendCsvField(line, row.title()).append(',');
+                line.append(row.pagesNumber()).append(',')
+                        .append(row.createdAt()).append(',')
+                        .append(row.authorId()).append(',');
+                appendCsvField(line, row.authorName()).append('\n');
+                write(channel, buffer, line);
+            }
+            lastId = rows.get(rows.size() - 1).bookId();
+            job.rowsWritten.addAndGet(rows.size());
+        }
+
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer, CharSequence text) throws IOException {
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while(offset < bytes.length) {
+            if(!buffer.hasRemaining()) {
+                buffer.flip();
+                while(buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private static StringBuilder appendCsvField(StringBuilder line, String value) {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if(!quote) return line.append(value);
+
+        line.append('"');
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if(c == '"') line.append('"');
+            line.append(c);
+        }
+        return line.append('"');
+    }
+
+    private static void deleteQuietly(Path file) {
+        if(file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch(IOException exception) {
+            log.warn("Couldn't delete export file {}: {}", file, exception.getMessage());
+        }
+    }
+
+    private static final class ExportJob {
+        private final UUID id;
+        private final ExportFormat format;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile State state = State.QUEUED;
+        private volatile long totalRows;
+        private volatile Path file;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        ExportJob(UUID id, ExportFormat format) {
+            this.id = id;
+            this.format = format;
+        }
+
+        ExportJobStatus toStatus() {
+            long rows = rowsWritten.get();
+            double progress = state == State.COMPLETED ? 1.0
+                    : totalRows > 0 ? Math.min(1.0, (double) rows / totalRows) : 0.0;
+            return new ExportJobStatus(id, format, state, rows, totalRows, progress, createdAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.HotKeysProperties;
+import com.jefferson.library.dto.HotKey;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.monitoring.HotSetSnapshot;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Carries the hot set over restarts. The tracked hot keys are written to disk periodically and at shutdown,
+ * at startup the snapshot is read back and its books and authors are fetched in batches before the
+ * instance is ready, so their rows and the by-id read paths are warm when traffic returns.
+ * The keys still active are restored into the tracker, the warm-up then reads them.
+ */
+@Slf4j
+@Service
+public class HotSetService {
+
+    private final HotKeys hotKeys;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final BookReadModel bookReadModel;
+    private final Shards shards;
+    private final HotKeysProperties properties;
+
+    @Autowired
+    public HotSetService(HotKeys hotKeys,
+                         BookRepository bookRepository,
+                         AuthorRepository authorRepository,
+                         BookReadModel bookReadModel,
+                         Shards shards,
+                         HotKeysProperties properties) {
+        this.hotKeys = hotKeys;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.bookReadModel = bookReadModel;
+        this.shards = shards;
+        this.properties = properties;
+    }
+
+    //An empty hot set isn't written, a restart with no traffic yet keeps the previous snapshot
+    public void saveSnapshot() {
+        if(properties.snapshotFile() == null) {
+            return;
+        }
+
+        HotSetSnapshot snapshot = hotKeys.snapshot();
+        if(snapshot.isEmpty()) {
+            return;
+        }
+
+        try {
+            snapshot.write(properties.snapshotFile());
+        } catch(IOException exception) {
+            log.warn("Couldn't write the hot set snapshot {}: {}", properties.snapshotFile(), exception.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of hot books and authors still active and restored
+     */
+    public int restore() {
+        if(properties.snapshotFile() == null) {
+            return 0;
+        }
+
+        HotSetSnapshot snapshot;
+        try {
+            snapshot = HotSetSnapshot.read(properties.snapshotFile()).orElse(null);
+        } catch(IOException exception) {
+            log.warn("Ignoring the hot set snapshot: {}", exception.getMessage());
+            return 0;
+        }
+        if(snapshot == null || snapshot.isEmpty()) {
+            return 0;
+        }
+
+        //Books held by the read model are already in memory, only their existence is checked there
+        Set<Long> activeBooks = bookReadModel.isServing()
+                ? activeInReadModel(snapshot.books())
+                : prefetch(snapshot.books(), bookRepository::findAllByIdInAndDeletedFalse, Book::getId);
+        Set<Long> activeAuthors = prefetch(snapshot.authors(), authorRepository::findAllByIdInAndDeletedFalse,
+                Author::getId);
+
+        List<HotKey> books = snapshot.books().stream().filter(book -> activeBooks.contains(book.id())).toList();
+        List<HotKey> authors = snapshot.authors().stream().filter(author -> activeAuthors.contains(author.id())).toList();
+        hotKeys.seed(books, authors);
+
+        log.info("Restored {} hot books and {} hot authors of the snapshot written at {}",
+                books.size(), authors.size(), snapshot.writtenAt());
+        return books.size() + authors.size();
+    }
+
+    private <T> Set<Long> prefetch(List<HotKey> hotKeys, Function<Collection<Long>, List<T>> query, Function<T, Long> id) {
+        List<Long> ids = hotKeys.stream().map(HotKey::id).toList();
+        Set<Long> active = new HashSet<>();
+
+        for(int from = 0; from < ids.size(); from += properties.prefetchBatchSize()) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + properties.prefetchBatchSize()));
+            shards.onEachShard(() -> query.apply(batch))
+                    .forEach(rows -> rows.forEach(row -> active.add(id.apply(row))));
+        }
+        return active;
+    }
+
+    private Set<Long> activeInReadModel(List<HotKey> hotKeys) {
+        Set<Long> active = new HashSet<>();
+        hotKeys.stream()
+                .filter(hotKey -> bookReadModel.find(hotKey.id()).isPresent())
+                .forEach(hotKey -> active.add(hotKey.id()));
+        return active;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.dto.AuthorChangedEvent;
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookChangedEvent;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.model.OutboxEvent;
+import com.jefferson.library.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records catalog changes into the outbox table. It joins the caller's transaction and refuses to run
+ * without one, so a change and its outbox event are committed or rolled back together.
+ * Changes are also published in process, listeners see them once the transaction commits.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository,
+                         ObjectMapper objectMapper,
+                         ApplicationEventPublisher eventPublisher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void recordBookChange(Book book, ChangeType changeType) {
+        recordBookChange(new BookSnapshot(book.getId(), book.getAuthor().getId(), book.getTitle(),
+                book.getPagesNumber(), book.getCreatedAt(), book.isDeleted(), book.getVersion()), changeType);
+    }
+
+    //Bulk statements change rows without loading them, the caller provides their state after the change
+    public void recordBookChange(BookSnapshot snapshot, ChangeType changeType) {
+        long sequence = record(AggregateType.BOOK, snapshot.id(), changeType, snapshot);
+        eventPublisher.publishEvent(new BookChangedEvent(sequence, changeType, snapshot));
+    }
+
+    public void recordAuthorChange(Author author, ChangeType changeType) {
+        recordAuthorChange(new AuthorSnapshot(author.getId(), author.getName(),
+                author.getCreatedAt(), author.isDeleted()), changeType);
+    }
+
+    public void recordAuthorChange(AuthorSnapshot snapshot, ChangeType changeType) {
+        long sequence = record(AggregateType.AUTHOR, snapshot.id(), changeType, snapshot);
+        eventPublisher.publishEvent(new AuthorChangedEvent(sequence, changeType, snapshot));
+    }
+
+    private long record(AggregateType aggregateType, Long aggregateId, ChangeType changeType, Object snapshot) {
+        try {
+            String payload = objectMapper.writeValueAsString(snapshot);
+            return outboxEventRepository.save(OutboxEvent.build(aggregateType, aggregateId, changeType, payload)).getId();
+        } catch(JsonProcessingException exception) {
+            throw new IllegalStateException("Couldn't serialize " + aggregateType + " " + aggregateId, exception);
+        }
+    }
+}
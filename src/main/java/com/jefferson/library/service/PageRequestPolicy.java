@@ -0,0 +1,53 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.PagingProperties;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Guards client-supplied page requests: sorting only on whitelisted (indexed) fields,
+ * buffered pages up to the max page size, bigger ones only as a bounded stream.
+ */
+public class PageRequestPolicy {
+
+    private final PagingProperties properties;
+
+    public PageRequestPolicy(PagingProperties properties) {
+        this.properties = properties;
+    }
+
+    public void check(Pageable pageable) {
+        for(Sort.Order order: pageable.getSort()) {
+            if(!properties.sortableFields().contains(order.getProperty())) {
+                throw new InvalidPageRequestException("Sorting by '" + order.getProperty()
+                        + "' isn't supported, allowed fields: " + properties.sortableFields());
+            }
+        }
+        if(pageable.getPageSize() > properties.maxStreamSize()) {
+            throw new InvalidPageRequestException("Page size mustn't exceed " + properties.maxStreamSize());
+        }
+        if(pageable.getOffset() > Integer.MAX_VALUE) {
+            throw new InvalidPageRequestException("Page offset is too large: " + pageable.getOffset());
+        }
+    }
+
+    //Keyset listings are never streamed, the max page size is a hard limit for them
+    public void checkLimit(int limit) {
+        if(limit > properties.maxPageSize()) {
+            throw new InvalidPageRequestException("Page size mustn't exceed " + properties.maxPageSize());
+        }
+    }
+
+    public boolean requiresStreaming(Pageable pageable) {
+        return pageable.getPageSize() > properties.maxPageSize();
+    }
+
+    public int streamChunkSize() {
+        return properties.streamChunkSize();
+    }
+
+    public int embeddedBooks() {
+        return properties.embeddedBooks();
+    }
+}
@@ -0,0 +1,154 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.config.OutboxProperties;
+import com.jefferson.library.config.SyncProperties;
+import com.jefferson.library.dto.AuthorChange;
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookChange;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.SyncPage;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.exception.SyncWatermarkExpiredException;
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.OutboxEvent;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.repository.OutboxEventRepository;
+import jakarta.validation.constraints.Positive;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Returns books and authors changed after a client watermark, deletions included as tombstones.
+ * Changes are read from the change feed, whose positions follow commit order, so a watermark never
+ * skips over a change committed after it was handed out. A full sync first pages through the active rows
+ * by id and then continues from the feed position taken when it started.
+ */
+@Service
+@Validated
+public class SyncService {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ChangeFeedService changeFeedService;
+    private final ObjectMapper objectMapper;
+    private final SyncProperties properties;
+    private final OutboxProperties outboxProperties;
+
+    @Autowired
+    public SyncService(BookRepository bookRepository,
+                       AuthorRepository authorRepository,
+                       OutboxEventRepository outboxEventRepository,
+                       ChangeFeedService changeFeedService,
+                       ObjectMapper objectMapper,
+                       SyncProperties properties,
+                       OutboxProperties outboxProperties) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.changeFeedService = changeFeedService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.outboxProperties = outboxProperties;
+    }
+
+    public SyncPage<BookChange> booksChangedSince(LocalDateTime since,
+                                                  String watermark,
+                                                  @Positive(message = "Limit must be positive") int limit) {
+        return page(AggregateType.BOOK, start(since, watermark), limit,
+                bookRepository::findActiveChangesAfter, BookChange::id,
+                event -> {
+                    BookSnapshot book = readPayload(event, BookSnapshot.class);
+                    return new BookChange(book.id(), book.authorId(), book.title(), book.pagesNumber(),
+                            book.createdAt(), event.getCreatedAt(), book.deleted());
+                });
+    }
+
+    public SyncPage<AuthorChange> authorsChangedSince(LocalDateTime since,
+                                                      String watermark,
+                                                      @Positive(message = "Limit must be positive") int limit) {
+        return page(AggregateType.AUTHOR, start(since, watermark), limit,
+                authorRepository::findActiveChangesAfter, AuthorChange::id,
+                event -> {
+                    AuthorSnapshot author = readPayload(event, AuthorSnapshot.class);
+                    return new AuthorChange(author.id(), author.name(), author.createdAt(), event.getCreatedAt(),
+                            author.deleted());
+                });
+    }
+
+    //A watermark wins over since, without either the client gets a full sync
+    private SyncWatermark start(LocalDateTime since, String watermark) {
+        long lastPosition = changeFeedService.lastPosition();
+        if(watermark != null) {
+            SyncWatermark start = SyncWatermark.decode(watermark);
+            //Positions are dense, one missing before the oldest retained means changes were removed unseen
+            long oldestRetained = outboxEventRepository.findFirstFeedPosition().orElse(lastPosition + 1);
+            if(start.position() < oldestRetained - 1) {
+                throw expired();
+            }
+            return start;
+        }
+        if(since != null) {
+            if(since.isBefore(LocalDateTime.now().minus(outboxProperties.retention()))) {
+                throw expired();
+            }
+            return SyncWatermark.at(outboxEventRepository.findFirstFeedPositionSince(since)
+                    .map(position -> Math.min(position - 1, lastPosition))
+                    .orElse(lastPosition));
+        }
+        return new SyncWatermark(lastPosition, 0L);
+    }
+
+    private <T> SyncPage<T> page(AggregateType aggregateType, SyncWatermark from, int limit,
+                                 BiFunction<Long, Limit, List<T>> snapshotFinder,
+                                 ToLongFunction<T> idOf,
+                                 Function<OutboxEvent, T> toChange) {
+        if(limit > properties.maxPageSize()) {
+            throw new InvalidPageRequestException("Sync page size must not exceed " + properties.maxPageSize());
+        }
+
+        if(from.inSnapshot()) {
+            List<T> rows = snapshotFinder.apply(from.snapshotAfterId(), Limit.of(limit + 1));
+            if(rows.size() > limit) {
+                rows = rows.subList(0, limit);
+                long lastId = idOf.applyAsLong(rows.get(limit - 1));
+                return new SyncPage<>(rows, new SyncWatermark(from.position(), lastId).encode(), true);
+            }
+            return new SyncPage<>(rows, SyncWatermark.at(from.position()).encode(), false);
+        }
+
+        List<OutboxEvent> events = outboxEventRepository.findByAggregateTypeAndFeedPositionGreaterThanOrderByFeedPositionAsc(
+                aggregateType, from.position(), Limit.of(limit + 1));
+        boolean hasMore = events.size() > limit;
+        if(hasMore) {
+            events = events.subList(0, limit);
+        }
+        SyncWatermark next = events.isEmpty() ? from : SyncWatermark.at(events.get(events.size() - 1).getFeedPosition());
+
+        return new SyncPage<>(events.stream().map(toChange).toList(), next.encode(), hasMore);
+    }
+
+    private <S> S readPayload(OutboxEvent event, Class<S> type) {
+        try {
+            return objectMapper.readValue(event.getPayload(), type);
+        } catch(JsonProcessingException exception) {
+            throw new IllegalStateException("Couldn't read payload of outbox event " + event.getId(), exception);
+        }
+    }
+
+    private SyncWatermarkExpiredException expired() {
+        return new SyncWatermarkExpiredException("Sync watermark is older than the change feed retention of "
+                + outboxProperties.retention() + ", a full sync is required");
+    }
+}
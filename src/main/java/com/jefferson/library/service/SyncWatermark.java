@@ -0,0 +1,46 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the delta sync: the last change feed position a client has seen and, while a full sync
+ * is still reading the tables, the id of the last row returned. Clients get it as an opaque token
+ * and only pass it back.
+ */
+record SyncWatermark(long position, Long snapshotAfterId) {
+
+    private static final char SEPARATOR = '|';
+
+    static SyncWatermark at(long position) {
+        return new SyncWatermark(position, null);
+    }
+
+    boolean inSnapshot() {
+        return snapshotAfterId != null;
+    }
+
+    String encode() {
+        String value = inSnapshot() ? Long.toString(position) + SEPARATOR + snapshotAfterId : Long.toString(position);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SyncWatermark decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            SyncWatermark watermark = separator < 0
+                    ? at(Long.parseLong(value))
+                    : new SyncWatermark(Long.parseLong(value.substring(0, separator)),
+                            Long.parseLong(value.substring(separator + 1)));
+            if(watermark.position() < 0) {
+                throw new IllegalArgumentException("Negative position");
+            }
+            return watermark;
+        } catch(IllegalArgumentException exception) {
+            throw new InvalidPageRequestException("Invalid sync watermark: " + token);
+        }
+    }
+}
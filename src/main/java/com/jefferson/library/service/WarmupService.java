@@ -0,0 +1,319 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.config.WarmupProperties;
+import com.jefferson.library.dto.HotKey;
+import com.jefferson.library.dto.HotKeysReport;
+import com.jefferson.library.dto.WarmupReport;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Drives the read endpoints over loopback HTTP until request latency stops improving, so the JIT,
+ * Hibernate query plans and Jackson serializers are warm before the instance takes traffic.
+ * Warm-up reads the hot books and authors still active, restored from the hot set snapshot, or else
+ * the existing catalog. The requests carry the warm-up header, so their reads don't count as hot keys.
+ * <p>
+ * An empty catalog is seeded with a synthetic author in a transaction that is always rolled back, nothing
+ * of it is ever committed. No other connection sees the rows, so the rounds call the read services
+ * in-process within that transaction and serialize their results instead of going over HTTP.
+ */
+@Slf4j
+@Service
+public class WarmupService {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final WarmupProperties properties;
+    private final HotKeys hotKeys;
+    private final ActiveIds activeIds;
+
+    private volatile WarmupReport lastReport;
+
+    @Autowired
+    public WarmupService(BookRepository bookRepository,
+                         AuthorRepository authorRepository,
+                         BookService bookService,
+                         AuthorService authorService,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         WarmupProperties properties,
+                         HotKeys hotKeys,
+                         ActiveIds activeIds) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.hotKeys = hotKeys;
+        this.activeIds = activeIds;
+    }
+
+    public WarmupReport warmUp(int port) {
+        long started = System.nanoTime();
+        long deadline = started + properties.timeout().toNanos();
+
+        Sample sample = sample();
+        Rounds rounds = sample.dataSource() == WarmupReport.DataSource.SYNTHETIC
+                ? syntheticRounds(deadline)
+                : httpRounds(port, sample, deadline);
+
+        WarmupReport report = new WarmupReport(sample.dataSource(), rounds.converged(), rounds.means().size(),
+                rounds.requests(), rounds.failures(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                rounds.means().isEmpty() ? 0 : rounds.means().get(0),
+                lastWindowMean(rounds.means(), properties.window()),
+                Instant.now());
+        lastReport = report;
+        return report;
+    }
+
+    public WarmupReport lastReport() {
+        return lastReport;
+    }
+
+    //Converged once the mean latency of the last window is within tolerance of the window before it
+    static boolean isConverged(List<Double> roundMeans, int window, double tolerance) {
+        if(roundMeans.size() < 2 * window) return false;
+
+        double previous = mean(roundMeans.subList(roundMeans.size() - 2 * window, roundMeans.size() - window));
+        double last = mean(roundMeans.subList(roundMeans.size() - window, roundMeans.size()));
+        return previous > 0 && Math.abs(last - previous) / previous <= tolerance;
+    }
+
+    private Rounds httpRounds(int port, Sample sample, long deadline) {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.concurrency());
+        HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+        try {
+            return runRounds(deadline, round -> {
+                List<Callable<RoundResult>> workers = new ArrayList<>(properties.concurrency());
+                for(int worker = 0; worker < properties.concurrency(); worker++) {
+                    int offset = round * properties.concurrency() + worker;
+                    workers.add(() -> runScenario(client, port, sample, offset));
+                }
+
+                RoundResult result = RoundResult.EMPTY;
+                for(Future<RoundResult> future : executor.invokeAll(workers, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    if(!future.isCancelled()) {
+                        result = result.plus(future.get());
+                    }
+                }
+                return result;
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //The transaction is bound to this thread, the workers of a round run one after another
+    private Rounds syntheticRounds(long deadline) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            Sample sample = seedSynthetic();
+            try {
+                return runRounds(deadline, round -> {
+                    RoundResult result = RoundResult.EMPTY;
+                    for(int worker = 0; worker < properties.concurrency(); worker++) {
+                        result = result.plus(runInProcess(sample, round * properties.concurrency() + worker));
+                    }
+                    return result;
+                });
+            } finally {
+                sample.bookIds().forEach(activeIds.books()::remove);
+                sample.authorIds().forEach(activeIds.authors()::remove);
+            }
+        });
+    }
+
+    private Rounds runRounds(long deadline, Round round) {
+        List<Double> roundMeans = new ArrayList<>();
+        long requests = 0;
+        long failures = 0;
+        boolean converged = false;
+
+        try {
+            while(roundMeans.size() < properties.maxRounds() && System.nanoTime() < deadline) {
+                RoundResult result = round.run(roundMeans.size());
+                if(result.requests() == 0) break;
+
+                requests += result.requests();
+                failures += result.failures();
+                roundMeans.add(result.totalNanos() / (double) result.requests() / 1_000_000);
+
+                if(roundMeans.size() >= properties.minRounds()
+                        && isConverged(roundMeans, properties.window(), properties.tolerance())) {
+                    converged = true;
+                    break;
+                }
+            }
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch(ExecutionException exception) {
+            log.warn("Warm-up round failed: {}", exception.getCause().getMessage());
+        }
+        return new Rounds(roundMeans, requests, failures, converged);
+    }
+
+    private RoundResult runScenario(HttpClient client, int port, Sample sample, int offset) throws IOException, InterruptedException {
+        List<String> paths = new ArrayList<>(3);
+        paths.add("/api/v1/books?page=0&size=10");
+        if(!sample.bookIds().isEmpty()) {
+            paths.add("/api/v1/books/" + sample.bookIds().get(offset % sample.bookIds().size()));
+            paths.add("/api/v1/authors/" + sample.authorIds().get(offset % sample.authorIds().size()));
+        }
+
+        long totalNanos = 0;
+        long failures = 0;
+        for(String path : paths) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header(HotKeys.WARMUP_HEADER, "true")
+                    .GET()
+                    .build();
+
+            long start = System.nanoTime();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            totalNanos += System.nanoTime() - start;
+            if(response.statusCode() >= 400) failures++;
+        }
+        return new RoundResult(paths.size(), failures, totalNanos);
+    }
+
+    //The same reads as the HTTP scenario, a failed one is counted like an error status
+    private RoundResult runInProcess(Sample sample, int offset) {
+        long bookId = sample.bookIds().get(offset % sample.bookIds().size());
+        long authorId = sample.authorIds().get(offset % sample.authorIds().size());
+        List<Supplier<Object>> reads = List.of(
+                () -> bookService.getAllActiveBooks(PageRequest.of(0, 10)),
+                () -> bookService.getActiveBookById(bookId),
+                () -> authorService.getActiveAuthorById(authorId));
+
+        long totalNanos = 0;
+        long failures = 0;
+        for(Supplier<Object> read : reads) {
+            long start = System.nanoTime();
+            try {
+                objectMapper.writeValueAsBytes(HotKeys.duringWarmup(read));
+            } catch(IOException | RuntimeException exception) {
+                failures++;
+            }
+            totalNanos += System.nanoTime() - start;
+        }
+        return new RoundResult(reads.size(), failures, totalNanos);
+    }
+
+    private Sample sample() {
+        Sample hotSet = hotSetSample();
+        if(hotSet != null) {
+            return hotSet;
+        }
+
+        List<Book> books = bookRepository.findAllByDeletedFalse(PageRequest.of(0, properties.sampleSize())).getContent();
+        if(!books.isEmpty()) {
+            return new Sample(WarmupReport.DataSource.CATALOG,
+                    books.stream().map(Book::getId).toList(),
+                    books.stream().map(book -> book.getAuthor().getId()).toList());
+        }
+        return new Sample(properties.syntheticBooks() == 0 ? WarmupReport.DataSource.EMPTY : WarmupReport.DataSource.SYNTHETIC,
+                List.of(), List.of());
+    }
+
+    private Sample hotSetSample() {
+        HotKeysReport hot = hotKeys.report();
+        List<Book> books = hot.books().isEmpty() ? List.of() : bookRepository.findAllByIdInAndDeletedFalse(
+                hot.books().stream().limit(properties.sampleSize()).map(HotKey::id).toList());
+        if(books.isEmpty()) {
+            return null;
+        }
+
+        List<Long> authorIds = hot.authors().isEmpty() ? List.of() : authorRepository.findAllByIdInAndDeletedFalse(
+                        hot.authors().stream().limit(properties.sampleSize()).map(HotKey::id).toList())
+                .stream()
+                .map(Author::getId)
+                .toList();
+
+        return new Sample(WarmupReport.DataSource.HOT_SET,
+                books.stream().map(Book::getId).toList(),
+                authorIds.isEmpty() ? books.stream().map(book -> book.getAuthor().getId()).toList() : authorIds);
+    }
+
+    //Repositories are used directly, the rows are rolled back and never reach the outbox or the counters.
+    //The active ids are in memory only, the ids are cleared again once the rounds end.
+    private Sample seedSynthetic() {
+        Author author = authorRepository.save(Author.build(null, "Warm-up author"));
+        List<Book> books = new ArrayList<>(properties.syntheticBooks());
+        for(int i = 0; i < properties.syntheticBooks(); i++) {
+            books.add(Book.buildBook(null, "Warm-up book " + i, 100 + i, author));
+        }
+        List<Long> bookIds = new ArrayList<>(properties.syntheticBooks());
+        bookRepository.saveAll(books).forEach(book -> bookIds.add(book.getId()));
+
+        activeIds.authors().add(author.getId());
+        bookIds.forEach(activeIds.books()::add);
+        return new Sample(WarmupReport.DataSource.SYNTHETIC, bookIds, List.of(author.getId()));
+    }
+
+    private static double lastWindowMean(List<Double> roundMeans, int window) {
+        if(roundMeans.isEmpty()) return 0;
+        return mean(roundMeans.subList(Math.max(0, roundMeans.size() - window), roundMeans.size()));
+    }
+
+    private static double mean(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+
+    @FunctionalInterface
+    private interface Round {
+        RoundResult run(int round) throws InterruptedException, ExecutionException;
+    }
+
+    private record Sample(WarmupReport.DataSource dataSource, List<Long> bookIds, List<Long> authorIds) {
+    }
+
+    private record Rounds(List<Double> means, long requests, long failures, boolean converged) {
+    }
+
+    private record RoundResult(long requests, long failures, long totalNanos) {
+
+        private static final RoundResult EMPTY = new RoundResult(0, 0, 0);
+
+        private RoundResult plus(RoundResult other) {
+            return new RoundResult(requests + other.requests, failures + other.failures, totalNanos + other.totalNanos);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.jefferson.library.sharding;
+
+/**
+ * Request belonging to an author, it's routed to the author's shard.
+ */
+public interface AuthorScoped {
+
+    Long authorId();
+}
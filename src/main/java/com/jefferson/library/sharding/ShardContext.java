@@ -0,0 +1,52 @@
+package com.jefferson.library.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard bound to the current thread, read by {@link ShardRoutingDataSource} when a connection is acquired.
+ * It has to be bound before the transaction starts, a transaction keeps the connection it started with.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void bind(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    private static void restore(Integer previous) {
+        if(previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.jefferson.library.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the service method parameter a call is routed by: an author or book id, both are issued
+ * by the shard that owns them, or an {@link AuthorScoped} request carrying the author id.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
@@ -0,0 +1,63 @@
+package com.jefferson.library.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of per-shard results, each already sorted by the merge order.
+ */
+public final class ShardMerge {
+
+    private ShardMerge() {
+    }
+
+    public static <T> List<T> mergeSorted(List<List<T>> sortedRuns, Comparator<? super T> comparator, long skip, int limit) {
+        PriorityQueue<Run<T>> heads = new PriorityQueue<>(Math.max(1, sortedRuns.size()),
+                (left, right) -> comparator.compare(left.head(), right.head()));
+        for(List<T> run: sortedRuns) {
+            if(!run.isEmpty()) {
+                heads.add(new Run<>(run));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(Math.min(limit, sortedRuns.stream().mapToInt(List::size).sum()));
+        long skipped = 0;
+        while(merged.size() < limit && !heads.isEmpty()) {
+            Run<T> run = heads.poll();
+            T next = run.next();
+            if(skipped < skip) {
+                skipped++;
+            } else {
+                merged.add(next);
+            }
+            if(run.hasNext()) {
+                heads.add(run);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Run<T> {
+
+        private final List<T> items;
+        private int position;
+
+        private Run(List<T> items) {
+            this.items = items;
+        }
+
+        private T head() {
+            return items.get(position);
+        }
+
+        private T next() {
+            return items.get(position++);
+        }
+
+        private boolean hasNext() {
+            return position < items.size();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jefferson.library.sharding;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maps author and book ids to shards. Ids are generated by each shard's identity columns, aligned so that
+ * every shard only issues ids it owns, which makes the shard of any id computable without a lookup.
+ */
+public class ShardResolver {
+
+    private final ShardingStrategy strategy;
+    private final int shardCount;
+    private final long rangeSize;
+    private final AtomicLong placements = new AtomicLong();
+
+    public ShardResolver(ShardingStrategy strategy, int shardCount, long rangeSize) {
+        this.strategy = strategy;
+        this.shardCount = shardCount;
+        this.rangeSize = rangeSize;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(long id) {
+        return switch(strategy) {
+            case HASH -> (int) Math.floorMod(id, (long) shardCount);
+            case RANGE -> (int) Math.min((id - 1) / rangeSize, shardCount - 1);
+        };
+    }
+
+    //New authors are spread round-robin, their books follow them
+    public int shardForNewAuthor() {
+        return (int) Math.floorMod(placements.getAndIncrement(), (long) shardCount);
+    }
+
+    /**
+     * @return the first id the shard may issue after the given max id
+     */
+    public long nextId(int shard, long maxId) {
+        return switch(strategy) {
+            case HASH -> (Math.floorDiv(maxId - shard, (long) shardCount) + 1) * shardCount + shard;
+            case RANGE -> Math.max(maxId + 1, shard * rangeSize + 1);
+        };
+    }
+
+    public long idIncrement() {
+        return strategy == ShardingStrategy.HASH ? shardCount : 1;
+    }
+
+    //The last range is open ended
+    public long maxId(int shard) {
+        return strategy == ShardingStrategy.RANGE && shard < shardCount - 1 ? (shard + 1) * rangeSize : Long.MAX_VALUE;
+    }
+}
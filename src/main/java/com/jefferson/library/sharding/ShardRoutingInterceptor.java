@@ -0,0 +1,71 @@
+package com.jefferson.library.sharding;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Binds the shard of a {@link ShardKey} argument, or a new author's shard for {@link AssignsShard} methods,
+ * around the service call. Ordered before the transaction advice so the transaction starts on that shard.
+ * Calls made while a shard is already bound stay on it.
+ */
+public class ShardRoutingInterceptor implements MethodInterceptor {
+
+    private static final int NEW_AUTHOR = -1;
+
+    private final Supplier<ShardResolver> resolver;
+    private final Map<Method, Integer> keyIndexes = new ConcurrentHashMap<>();
+
+    public ShardRoutingInterceptor(Supplier<ShardResolver> resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if(ShardContext.current() != null) {
+            return invocation.proceed();
+        }
+
+        ShardContext.bind(shardOf(invocation));
+        try {
+            return invocation.proceed();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private int shardOf(MethodInvocation invocation) {
+        int keyIndex = keyIndexes.computeIfAbsent(invocation.getMethod(), ShardRoutingInterceptor::keyIndex);
+        if(keyIndex == NEW_AUTHOR) {
+            return resolver.get().shardForNewAuthor();
+        }
+
+        Object key = invocation.getArguments()[keyIndex];
+        if(key instanceof AuthorScoped request) {
+            key = request.authorId();
+        }
+        //A missing key is left to the method validation, the call goes to the default shard
+        return key instanceof Number id ? resolver.get().shardOf(id.longValue()) : 0;
+    }
+
+    public static boolean isRouted(Method method) {
+        return method.isAnnotationPresent(AssignsShard.class) || keyIndex(method) != NEW_AUTHOR;
+    }
+
+    private static int keyIndex(Method method) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for(int i = 0; i < annotations.length; i++) {
+            for(Annotation annotation: annotations[i]) {
+                if(annotation instanceof ShardKey) {
+                    return i;
+                }
+            }
+        }
+        return NEW_AUTHOR;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jefferson.library.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Prepares the shards at startup. Hibernate only manages the schema of the default shard, the others get
+ * the mapped tables exported when schema generation is on. Then the author and book identity columns of
+ * every shard are aligned, so that a shard only issues ids it owns.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final List<String> SHARDED_TABLES = List.of("authors", "books");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardResolver resolver;
+    private final boolean exportSchema;
+
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                  DataSource dataSource,
+                                  ShardResolver resolver,
+                                  boolean exportSchema) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.resolver = resolver;
+        this.exportSchema = exportSchema;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        for(int shard = 0; shard < resolver.shardCount(); shard++) {
+            int current = shard;
+            ShardContext.runOn(shard, () -> {
+                if(exportSchema && current > 0) {
+                    sessionFactory.getSchemaManager().exportMappedObjects(true);
+                }
+                SHARDED_TABLES.forEach(table -> alignIdentity(current, table));
+            });
+        }
+    }
+
+    //Standard identity column options, a restart continues after the ids the shard already holds
+    private void alignIdentity(int shard, String table) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        long nextId = resolver.nextId(shard, maxId);
+
+        jdbcTemplate.execute("alter table " + table + " alter column id restart with " + nextId);
+        jdbcTemplate.execute("alter table " + table + " alter column id set increment by " + resolver.idIncrement());
+        if(resolver.maxId(shard) < Long.MAX_VALUE) {
+            jdbcTemplate.execute("alter table " + table + " alter column id set maxvalue " + resolver.maxId(shard));
+        }
+        log.info("Shard {}: {} ids continue at {}", shard, table, nextId);
+    }
+}
@@ -0,0 +1,8 @@
+package com.jefferson.library.sharding;
+
+public enum ShardingStrategy {
+    //Ids are interleaved, a shard owns the ids congruent to its index modulo the shard count
+    HASH,
+    //A shard owns a contiguous block of range-size ids
+    RANGE
+}
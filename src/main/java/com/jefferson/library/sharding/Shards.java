@@ -0,0 +1,43 @@
+package com.jefferson.library.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs a query on every shard. Without sharding there is a single shard, queried as is on the default datasource.
+ */
+public class Shards {
+
+    private final int count;
+
+    public Shards(int count) {
+        this.count = count;
+    }
+
+    public static Shards single() {
+        return new Shards(1);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    //Shards are queried one after another, each query gets a connection of its own shard
+    public <T> List<T> onEachShard(Supplier<T> query) {
+        if(count == 1) {
+            return List.of(query.get());
+        }
+        if(TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cross-shard queries can't run in a transaction, it's bound to one shard");
+        }
+
+        List<T> results = new ArrayList<>(count);
+        for(int shard = 0; shard < count; shard++) {
+            results.add(ShardContext.callOn(shard, query));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,42 @@
+package com.jefferson.library.statistics;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts a range of page counts, halving it until a half is within the split threshold and merging the halves.
+ */
+public class PageCountTask extends RecursiveTask<PageCounts> {
+
+    private final int[] pages;
+    private final int from;
+    private final int to;
+    private final int splitThreshold;
+
+    public PageCountTask(int[] pages, int splitThreshold) {
+        this(pages, 0, pages.length, splitThreshold);
+    }
+
+    private PageCountTask(int[] pages, int from, int to, int splitThreshold) {
+        this.pages = pages;
+        this.from = from;
+        this.to = to;
+        this.splitThreshold = splitThreshold;
+    }
+
+    @Override
+    protected PageCounts compute() {
+        if(to - from <= splitThreshold) {
+            PageCounts counts = new PageCounts();
+            for(int i = from; i < to; i++) {
+                counts.add(pages[i]);
+            }
+            return counts;
+        }
+
+        int middle = (from + to) >>> 1;
+        PageCountTask left = new PageCountTask(pages, from, middle, splitThreshold);
+        left.fork();
+        PageCounts right = new PageCountTask(pages, middle, to, splitThreshold).compute();
+        return right.merge(left.join());
+    }
+}
@@ -0,0 +1,88 @@
+package com.jefferson.library.statistics;
+
+import com.jefferson.library.dto.CatalogStats.Bucket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number of books per page count, exact up to {@link #MAX_EXACT_PAGES}, larger page counts share the last slot.
+ * Filled by a single thread, instances counted in parallel are merged afterwards.
+ */
+public final class PageCounts {
+
+    public static final int MAX_EXACT_PAGES = 10_000;
+
+    private final long[] counts = new long[MAX_EXACT_PAGES + 1];
+    private long total;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public void add(int pages) {
+        counts[Math.min(pages, MAX_EXACT_PAGES)]++;
+        total++;
+        sum += pages;
+        min = Math.min(min, pages);
+        max = Math.max(max, pages);
+    }
+
+    public PageCounts merge(PageCounts other) {
+        for(int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int min() {
+        return total == 0 ? 0 : min;
+    }
+
+    public int max() {
+        return total == 0 ? 0 : max;
+    }
+
+    public double mean() {
+        return total == 0 ? 0.0 : (double) sum / total;
+    }
+
+    /**
+     * @return the smallest page count that the given fraction of the books doesn't exceed,
+     * the largest page count if it falls into the shared last slot
+     */
+    public int percentile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for(int pages = 0; pages < MAX_EXACT_PAGES; pages++) {
+            seen += counts[pages];
+            if(seen >= rank) {
+                return pages;
+            }
+        }
+        return max();
+    }
+
+    //Non-empty ranges of the given width only, the range with the shared last slot ends at the largest page count
+    public List<Bucket> histogram(int width) {
+        List<Bucket> buckets = new ArrayList<>();
+        for(int from = 0; from <= MAX_EXACT_PAGES; from += width) {
+            int to = Math.min(MAX_EXACT_PAGES, from + width - 1);
+            long count = 0;
+            for(int pages = from; pages <= to; pages++) {
+                count += counts[pages];
+            }
+            if(count > 0) {
+                buckets.add(new Bucket(from, to == MAX_EXACT_PAGES ? Math.max(to, max) : to, count));
+            }
+        }
+        return buckets;
+    }
+}
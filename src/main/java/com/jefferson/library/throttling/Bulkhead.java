@@ -0,0 +1,11 @@
+package com.jefferson.library.throttling;
+
+import java.lang.annotation.*;
+
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    RequestClass value();
+}
@@ -0,0 +1,74 @@
+package com.jefferson.library.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps concurrent database-bound requests per {@link RequestClass}, so a burst of bulk requests
+ * can't take every pooled connection away from reads and writes.
+ */
+public class Bulkheads {
+
+    private final Map<RequestClass, Semaphore> semaphores = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Integer> limits;
+    private final long maxWaitNanos;
+
+    public Bulkheads(Map<RequestClass, Integer> limits, Duration maxWait, MeterRegistry meterRegistry) {
+        this.limits = Map.copyOf(limits);
+        this.maxWaitNanos = maxWait.toNanos();
+
+        limits.forEach((requestClass, limit) -> {
+            Semaphore semaphore = new Semaphore(limit);
+            semaphores.put(requestClass, semaphore);
+            meterRegistry.gauge("library.bulkhead.in_use",
+                    Tags.of("class", requestClass.name().toLowerCase(Locale.ROOT)),
+                    semaphore, s -> limit - s.availablePermits());
+        });
+    }
+
+    /**
+     * @return the permit to release once the request completes, null if the bulkhead is full
+     */
+    public Permit tryAcquire(RequestClass requestClass) {
+        Semaphore semaphore = semaphores.get(requestClass);
+        if(semaphore == null) return Permit.NONE;
+
+        try {
+            return semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS) ? new Permit(semaphore) : null;
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public int limitOf(RequestClass requestClass) {
+        return limits.getOrDefault(requestClass, 0);
+    }
+
+    //Async requests can complete on more than one path, the release is idempotent
+    public static final class Permit {
+
+        private static final Permit NONE = new Permit(null);
+
+        private final Semaphore semaphore;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Semaphore semaphore) {
+            this.semaphore = semaphore;
+        }
+
+        public void release() {
+            if(semaphore != null && released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
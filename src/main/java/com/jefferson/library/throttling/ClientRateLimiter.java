@@ -0,0 +1,69 @@
+package com.jefferson.library.throttling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per client. The map is bounded: once it's full, a new client first makes room by evicting
+ * idle buckets and is rejected if every known client is still active, known clients keep their own buckets.
+ */
+public class ClientRateLimiter {
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final double tokensPerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final long refillNanos;
+    private final AtomicLong nextInsertEviction;
+    private final LongSupplier clock;
+
+    public ClientRateLimiter(double tokensPerSecond, int burst, int maxClients,
+                             LongSupplier clock, MeterRegistry meterRegistry) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.refillNanos = (long) (burst * 1_000_000_000L / tokensPerSecond);
+        this.nextInsertEviction = new AtomicLong(clock.getAsLong());
+        this.clock = clock;
+
+        meterRegistry.gauge("library.throttling.clients", buckets, Map::size);
+    }
+
+    /**
+     * @return 0 if the request is admitted, otherwise the nanos until the client may retry
+     */
+    public long tryAcquire(String clientId) {
+        long now = clock.getAsLong();
+        TokenBucket bucket = bucketOf(clientId, now);
+        return bucket != null ? bucket.tryAcquire(now) : refillNanos;
+    }
+
+    //A full bucket is indistinguishable from a new one, so dropping it loses nothing
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        return before - buckets.size();
+    }
+
+    private TokenBucket bucketOf(String clientId, long now) {
+        TokenBucket bucket = buckets.get(clientId);
+        if(bucket != null) return bucket;
+        if(buckets.size() >= maxClients && !makeRoom(now)) return null;
+
+        return buckets.computeIfAbsent(clientId, id -> new TokenBucket(tokensPerSecond, burst));
+    }
+
+    //An active bucket needs up to the refill period to become idle, a scan per period finds them all
+    private boolean makeRoom(long now) {
+        long due = nextInsertEviction.get();
+        if(now - due >= 0 && nextInsertEviction.compareAndSet(due, now + refillNanos)) {
+            evictIdle();
+        }
+        return buckets.size() < maxClients;
+    }
+}
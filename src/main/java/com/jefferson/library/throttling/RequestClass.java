@@ -0,0 +1,13 @@
+package com.jefferson.library.throttling;
+
+/**
+ * Bulkhead a request is admitted through. Handlers without {@link Bulkhead} are classified
+ * by HTTP method: safe methods are reads, everything else is a write.
+ */
+public enum RequestClass {
+    READ,
+    WRITE,
+    BULK,
+    //Long-lived connections that don't hold a database connection, e.g. the change feed stream
+    NONE
+}
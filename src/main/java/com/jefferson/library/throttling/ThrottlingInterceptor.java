@@ -0,0 +1,170 @@
+package com.jefferson.library.throttling;
+
+import com.jefferson.library.exception.BulkheadFullException;
+import com.jefferson.library.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits a request only if its client has a token left and the bulkhead of its class has a free slot.
+ * Clients are told apart by their authenticated principal, otherwise by their remote address; the client
+ * header is taken only from trusted proxies.
+ * Rejections are thrown before the handler runs and turned into 429 and 503 by the exception handler.
+ * <p>
+ * Until the application is ready the only traffic is the warm-up, which is admitted unthrottled.
+ * <p>
+ * Permits of async requests are taken on the initial dispatch and held until the async processing ends,
+ * so a streamed response counts against its bulkhead for as long as it reads from the database.
+ */
+public class ThrottlingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ThrottlingInterceptor.class.getName() + ".permit";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final ClientRateLimiter rateLimiter;
+    private final Bulkheads bulkheads;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final Duration bulkheadRetryAfter;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationAvailability availability;
+    private final Map<Method, RequestClass> requestClasses = new ConcurrentHashMap<>();
+
+    public ThrottlingInterceptor(ClientRateLimiter rateLimiter,
+                                 Bulkheads bulkheads,
+                                 String clientHeader,
+                                 Set<String> trustedProxies,
+                                 Duration bulkheadRetryAfter,
+                                 MeterRegistry meterRegistry,
+                                 ApplicationAvailability availability) {
+        this.rateLimiter = rateLimiter;
+        this.bulkheads = bulkheads;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = trustedProxies;
+        this.bulkheadRetryAfter = bulkheadRetryAfter;
+        this.meterRegistry = meterRegistry;
+        this.availability = availability;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(request.getDispatcherType() == DispatcherType.ASYNC) return true;
+        if(!(handler instanceof HandlerMethod handlerMethod)) return true;
+        if(availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) return true;
+
+        RequestClass requestClass = classify(handlerMethod, request);
+
+        long waitNanos = rateLimiter.tryAcquire(clientIdOf(request));
+        if(waitNanos > 0) {
+            rejected("rate_limit", requestClass);
+            throw new RateLimitExceededException("Rate limit exceeded, try again later.", Duration.ofNanos(waitNanos));
+        }
+
+        if(requestClass == RequestClass.NONE) return true;
+
+        Bulkheads.Permit permit = bulkheads.tryAcquire(requestClass);
+        if(permit == null) {
+            rejected("bulkhead", requestClass);
+            throw new BulkheadFullException("Too many concurrent " + requestClass.name().toLowerCase(Locale.ROOT)
+                    + " requests, try again later.", bulkheadRetryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Bulkheads.Permit permit = (Bulkheads.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if(permit != null) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        Bulkheads.Permit permit = (Bulkheads.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if(permit != null && !request.isAsyncStarted()) {
+            permit.release();
+        }
+    }
+
+    private RequestClass classify(HandlerMethod handlerMethod, HttpServletRequest request) {
+        RequestClass requestClass = requestClasses.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            Bulkhead bulkhead = AnnotatedElementUtils.findMergedAnnotation(method, Bulkhead.class);
+            if(bulkhead == null) {
+                bulkhead = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Bulkhead.class);
+            }
+            return bulkhead != null ? bulkhead.value() : null;
+        });
+        if(requestClass != null) return requestClass;
+
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        return method == HttpMethod.GET || method == HttpMethod.HEAD ? RequestClass.READ : RequestClass.WRITE;
+    }
+
+    //Only a trusted proxy may name the client, anyone else could send a fresh id with every request
+    private String clientIdOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if(principal != null) {
+            return truncate("user:" + principal.getName());
+        }
+
+        String remoteAddress = request.getRemoteAddr();
+        if(trustedProxies.contains(remoteAddress)) {
+            String clientId = request.getHeader(clientHeader);
+            if(clientId != null && !clientId.isBlank()) {
+                return truncate(clientId);
+            }
+        }
+        return remoteAddress;
+    }
+
+    private static String truncate(String clientId) {
+        return clientId.length() > MAX_CLIENT_ID_LENGTH ? clientId.substring(0, MAX_CLIENT_ID_LENGTH) : clientId;
+    }
+
+    private void rejected(String reason, RequestClass requestClass) {
+        meterRegistry.counter("library.throttling.rejected",
+                "reason", reason, "class", requestClass.name().toLowerCase(Locale.ROOT)).increment();
+    }
+
+    private record PermitReleasingListener(Bulkheads.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jefferson.library.throttling;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is the theoretical arrival time of the next
+ * request, advanced with a single CAS. A bucket whose arrival time is in the past is full.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double tokensPerSecond, int burst) {
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * @return 0 if a token was taken, otherwise the nanos to wait until one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while(true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + emissionIntervalNanos;
+            long allowedAt = next - capacityNanos;
+
+            if(allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if(theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
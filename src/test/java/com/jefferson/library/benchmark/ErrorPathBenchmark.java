@@ -0,0 +1,88 @@
+package com.jefferson.library.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a 404 from the throw in the service to the response entity, before serialization.
+ * The legacy path is the one the handler had before: a stack trace captured on every throw and a WARN line
+ * per request. Log events go to a no-op appender, so only building them is measured, not the I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorPathBenchmark {
+
+    private static final org.slf4j.Logger log = LoggerFactory.getLogger(ErrorPathBenchmark.class);
+
+    //Frames between the service and the servlet container in a Spring MVC request are in the low hundreds
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private GlobalExceptionHandler handler;
+    private long authorId;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext(context);
+        appender.start();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> legacyNotFound() {
+        try {
+            throwAt(stackDepth, true, ++authorId);
+            throw new IllegalStateException();
+        } catch(LegacyNotFoundException exception) {
+            log.warn(exception.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("Error", exception.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> stacklessNotFound() {
+        try {
+            throwAt(stackDepth, false, ++authorId);
+            throw new IllegalStateException();
+        } catch(AuthorNotFoundException exception) {
+            return handler.handleAuthorNotFoundException(exception);
+        }
+    }
+
+    private static void throwAt(int depth, boolean legacy, long authorId) {
+        if(depth > 0) {
+            throwAt(depth - 1, legacy, authorId);
+            return;
+        }
+        throw legacy
+                ? new LegacyNotFoundException("Author not found for id: " + authorId)
+                : new AuthorNotFoundException(authorId);
+    }
+
+    static class LegacyNotFoundException extends RuntimeException {
+        LegacyNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
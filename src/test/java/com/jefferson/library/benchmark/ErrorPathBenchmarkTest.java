@@ -0,0 +1,56 @@
+package com.jefferson.library.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link ErrorPathBenchmark} in a forked JVM with the GC profiler, time and allocation per request.
+ * Excluded from the default build, run it with {@code mvn test -P benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class ErrorPathBenchmarkTest {
+
+    @Test
+    void stacklessNotFound_ShouldBeCheaperThanLegacy() throws Exception {
+
+        Options options = new OptionsBuilder()
+                .include(ErrorPathBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-error-path.json")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> nanosPerOp = results.stream().collect(Collectors.toMap(
+                result -> result.getParams().getBenchmark() + " depth=" + result.getParams().getParam("stackDepth"),
+                result -> result.getPrimaryResult().getScore()));
+        nanosPerOp.forEach((benchmark, score) -> log.info("{}: {} ns/op", benchmark, String.format("%.1f", score)));
+
+        for(String depth: new String[] {"20", "150"}) {
+            double legacy = nanosPerOp.get(ErrorPathBenchmark.class.getName() + ".legacyNotFound depth=" + depth);
+            double stackless = nanosPerOp.get(ErrorPathBenchmark.class.getName() + ".stacklessNotFound depth=" + depth);
+            assertTrue(stackless < legacy, "Stackless path isn't cheaper at depth " + depth);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.jefferson.library.benchmark;
+
+import com.jefferson.library.monitoring.HotKeyTracker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost added to a by-id read by the hot key tracking, from a thread per core over a skewed key distribution.
+ * The unsampled variant counts every access, it's the worst case of the sketch and the candidates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class HotKeysBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    @Param({"1", "8"})
+    private int sampleRate;
+
+    private HotKeyTracker tracker;
+    private long[] keys;
+
+    @Setup
+    public void setUp() {
+        tracker = new HotKeyTracker(4, 16384, sampleRate, 50, TimeUnit.MINUTES.toNanos(1), System::nanoTime);
+
+        //Roughly Zipf: the key is 1 / uniform, a few ids get most of the accesses
+        SplittableRandom random = new SplittableRandom(42);
+        keys = new long[KEYS];
+        for(int i = 0; i < KEYS; i++) {
+            keys[i] = (long) (1 / (random.nextDouble() + 1e-6));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void record(Cursor cursor) {
+        tracker.record(keys[cursor.next++ & (KEYS - 1)]);
+    }
+}
@@ -0,0 +1,49 @@
+package com.jefferson.library.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link HotKeysBenchmark} in a forked JVM. Excluded from the default build, run it with {@code mvn test -P benchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+public class HotKeysBenchmarkTest {
+
+    @Test
+    void record_ShouldCostNanoseconds() throws Exception {
+
+        Options options = new OptionsBuilder()
+                .include(HotKeysBenchmark.class.getName())
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-hot-keys.json")
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        for(RunResult result: results) {
+            double nanosPerOp = result.getPrimaryResult().getScore();
+            log.info("record sampleRate={}: {} ns/op", result.getParams().getParam("sampleRate"),
+                    String.format("%.1f", nanosPerOp));
+            if(result.getParams().getParam("sampleRate").equals("8")) {
+                assertTrue(nanosPerOp < 100, "Sampled hot key tracking costs " + nanosPerOp + " ns");
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.jefferson.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.support.CatalogFixtures;
+import com.jefferson.library.support.SqlBudget;
+import com.jefferson.library.support.SqlBudgetTest;
+import com.jefferson.library.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SqlBudgetTest
+public class AuthorControllerSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 200})
+    @SqlBudget(selects = 2, inserts = 0, updates = 0, roundTrips = 2)
+    void getAuthor_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        Author author = fixtures.authorWithBooks("Pushkin", numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(get("/api/v1/authors/" + author.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 200})
+    @SqlBudget(selects = 2, inserts = 0, updates = 0, roundTrips = 2)
+    void getAuthorBooks_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        Author author = fixtures.authorWithBooks("Pushkin", numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(get("/api/v1/authors/" + author.getId() + "/books").param("limit", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} authors")
+    @ValueSource(ints = {1, 20, 200})
+    //The book counts are kept on the author rows, no collection is loaded
+    @SqlBudget(selects = 1, inserts = 0, updates = 0, roundTrips = 1)
+    void listAuthors_ShouldStayWithinBudget(int numberOfAuthors) throws Throwable {
+
+        for(int i = 0; i < numberOfAuthors; i++) {
+            fixtures.authorWithBooks("Author " + i, 3);
+        }
+
+        counter.measure(() -> mockMvc.perform(get("/api/v1/authors").param("sort", "BOOK_COUNT").param("limit", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {0, 20, 200})
+    //Every change writes an outbox event, its id comes from a pooled sequence fetched once per 50 events
+    @SqlBudget(selects = 1, inserts = 2, updates = 0, roundTrips = 3)
+    void newAuthor_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        fixtures.authorWithBooks("Existing", numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(post("/api/v1/authors/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AuthorRequest("Pushkin"))))
+                .andExpect(status().isCreated()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {0, 20, 200})
+    //100 authors go out in one JDBC batch, their outbox events in two batches of the pooled sequence
+    @SqlBudget(selects = 2, inserts = 200, updates = 0, roundTrips = 5)
+    void newAuthors_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        fixtures.authorWithBooks("Existing", numberOfBooks);
+        BulkAuthorRequest bulkRequest = new BulkAuthorRequest(IntStream.range(0, 100)
+                .mapToObj(i -> new AuthorRequest("Author " + i))
+                .toList());
+
+        counter.measure(() -> mockMvc.perform(post("/api/v1/authors/new/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isCreated()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 200})
+    //The updates are of the active book counter and the book count of the author
+    @SqlBudget(selects = 3, inserts = 2, updates = 2, roundTrips = 6)
+    void addBook_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        Author author = fixtures.authorWithBooks("Pushkin", numberOfBooks);
+        BookRequest bookRequest = new BookRequest(author.getId(), "Onegin", 324);
+
+        counter.measure(() -> mockMvc.perform(post("/api/v1/authors/book")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookRequest)))
+                .andExpect(status().isCreated()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 200})
+    //One update and one outbox tombstone per book are inherent to the soft delete,
+    //they go out in JDBC batches of hibernate.jdbc.batch_size along with the outbox sequence fetches
+    @SqlBudget(selects = 7, inserts = -1, roundTrips = 18)
+    void deleteAuthor_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        Author author = fixtures.authorWithBooks("Pushkin", numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(delete("/api/v1/authors/delete/" + author.getId()))
+                .andExpect(status().isNoContent()));
+    }
+}
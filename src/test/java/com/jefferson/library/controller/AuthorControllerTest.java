@@ -3,9 +3,19 @@ package com.jefferson.library.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jefferson.library.dto.AuthorDto;
 import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.dto.AuthorSummary;
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.service.AuthorListingService;
 import com.jefferson.library.service.AuthorService;
+import com.jefferson.library.service.AuthorStreamingService;
+import com.jefferson.library.service.BulkService;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import org.springframework.test.web.servlet.MvcResult;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,11 +24,18 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest(AuthorController.class)
@@ -33,6 +50,69 @@ public class AuthorControllerTest {
     @MockitoBean
     private AuthorService authorService;
 
+    @MockitoBean
+    private AuthorListingService authorListingService;
+
+    @MockitoBean
+    private AuthorStreamingService authorStreamingService;
+
+    @MockitoBean
+    private BulkService bulkService;
+
+    @Test
+    void listAuthors_ShouldReturnPageWithBookCounts() throws Exception {
+
+        AuthorSummary summary = new AuthorSummary(1L, "Pushkin", LocalDateTime.now(), 3);
+
+        when(authorListingService.listActiveAuthors(AuthorSort.BOOK_COUNT, "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(summary), "next", true));
+
+        mockMvc.perform(get("/api/v1/authors")
+                        .param("sort", "BOOK_COUNT")
+                        .param("cursor", "abc")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].bookCount").value(3))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getAuthor_ShouldStreamAllBooks() throws Exception {
+
+        AuthorDto author = new AuthorDto("Pushkin", null, LocalDateTime.now());
+
+        when(authorStreamingService.getActiveAuthorWithoutBooks(1L)).thenReturn(author);
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write("{\"name\":\"Pushkin\",\"books\":[{\"title\":\"Onegin\"}]}"
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(authorStreamingService).streamActiveAuthor(eq(1L), eq(author), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/authors/1").param("books", "ALL"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books[0].title").value("Onegin"));
+
+        verifyNoInteractions(authorService);
+    }
+
+    @Test
+    void getAuthor_ShouldReturnNotFound_BeforeStreaming() throws Exception {
+
+        when(authorStreamingService.getActiveAuthorWithoutBooks(100L))
+                .thenThrow(new AuthorNotFoundException(100L));
+
+        mockMvc.perform(get("/api/v1/authors/100").param("books", "ALL"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.Error").value("Author not found for id: 100"));
+    }
+
     @Test
     void getAuthor_ShouldReturnAuthorWithBooks() throws Exception {
 
@@ -53,6 +133,21 @@ public class AuthorControllerTest {
                 .andExpect(jsonPath("$.books[0].pagesNumber").value(numberOfPages));
     }
 
+    @Test
+    void getAuthorBooks_ShouldReturnPageWithCursor() throws Exception {
+
+        BookDto bookDto = new BookDto(1L, "Onegin", 324, LocalDateTime.now());
+
+        when(authorService.getActiveBooksOfAuthor(1L, null, 20))
+                .thenReturn(new CursorPage<>(List.of(bookDto), "next", true));
+
+        mockMvc.perform(get("/api/v1/authors/1/books"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Onegin"))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
     @Test
     void newAuthor_ShouldReturnAuthorWithoutBooks() throws Exception {
 
@@ -69,6 +164,35 @@ public class AuthorControllerTest {
                 .andExpect(jsonPath("$.books").doesNotExist());
     }
 
+    @Test
+    void newAuthors_ShouldReturnGeneratedIds() throws Exception {
+
+        BulkAuthorRequest bulkRequest = new BulkAuthorRequest(List.of(new AuthorRequest("Pushkin"), new AuthorRequest("Gogol")));
+
+        when(bulkService.createAuthors(bulkRequest)).thenReturn(new BulkResult(2, List.of(7L, 8L)));
+
+        mockMvc.perform(post("/api/v1/authors/new/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.ids[0]").value(7))
+                .andExpect(jsonPath("$.ids[1]").value(8));
+    }
+
+    @Test
+    void newAuthors_ShouldReturnBadRequest_WhenNameIsBlank() throws Exception {
+
+        BulkAuthorRequest bulkRequest = new BulkAuthorRequest(List.of(new AuthorRequest("Pushkin"), new AuthorRequest(" ")));
+
+        mockMvc.perform(post("/api/v1/authors/new/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bulkService);
+    }
+
     @Test
     void addBook_ShouldReturnAuthorWithBooks() throws Exception {
 
@@ -0,0 +1,130 @@
+package com.jefferson.library.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.support.CatalogFixtures;
+import com.jefferson.library.support.SqlBudget;
+import com.jefferson.library.support.SqlBudgetTest;
+import com.jefferson.library.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SqlBudgetTest
+public class BookControllerSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @ParameterizedTest(name = "{0} books of distinct authors")
+    @ValueSource(ints = {1, 20, 100})
+    @SqlBudget(selects = 2, inserts = 0, updates = 0, roundTrips = 2)
+    void bookPage_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        fixtures.booksOfDistinctAuthors(numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(get("/api/v1/books").param("size", "50"))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} books of distinct authors")
+    @ValueSource(ints = {210, 600})
+    @SqlBudget(selects = 1, inserts = 0, updates = 0, roundTrips = 1)
+    void bookPage_ShouldStreamOversizedPageWithinBudget(int numberOfBooks) throws Throwable {
+
+        fixtures.booksOfDistinctAuthors(numberOfBooks);
+
+        counter.measure(() -> {
+            MvcResult result = mockMvc.perform(get("/api/v1/books").param("size", "1000").param("sort", "title"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content.length()").value(numberOfBooks))
+                    .andExpect(jsonPath("$.numberOfElements").value(numberOfBooks));
+        });
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 100})
+    @SqlBudget(selects = 1, inserts = 0, updates = 0, roundTrips = 1)
+    void getBook_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        List<Book> books = fixtures.booksOfDistinctAuthors(numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(get("/api/v1/books/" + books.get(0).getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 100})
+    //The outbox event id comes from a pooled sequence fetched once per 50 events
+    @SqlBudget(selects = 2, inserts = 1, updates = 1, roundTrips = 4)
+    void updateBook_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        List<Book> books = fixtures.booksOfDistinctAuthors(numberOfBooks);
+        Book book = books.get(books.size() - 1);
+        BookRequest bookRequest = new BookRequest(book.getAuthor().getId(), "Changed", 10);
+
+        counter.measure(() -> mockMvc.perform(put("/api/v1/books/update/" + book.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookRequest)))
+                .andExpect(status().isOk()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {1, 20, 100})
+    //The book, the active book counter and the book count of the author are updated
+    @SqlBudget(selects = 2, inserts = 1, updates = 3, roundTrips = 6)
+    void deleteBook_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        List<Book> books = fixtures.booksOfDistinctAuthors(numberOfBooks);
+
+        counter.measure(() -> mockMvc.perform(delete("/api/v1/books/delete/" + books.get(0).getId()))
+                .andExpect(status().isNoContent()));
+    }
+
+    @ParameterizedTest(name = "{0} books")
+    @ValueSource(ints = {100, 300})
+    //One locking select and one update for the 100 ids plus one of the counter and one of the authors,
+    //the outbox events go out in batches
+    @SqlBudget(selects = 3, inserts = 100, updates = 3, roundTrips = 8)
+    void deleteBooks_ShouldStayWithinBudget(int numberOfBooks) throws Throwable {
+
+        List<Book> books = fixtures.booksOfDistinctAuthors(numberOfBooks);
+        BulkDeleteRequest bulkRequest = new BulkDeleteRequest(books.subList(0, 100).stream().map(Book::getId).toList());
+
+        counter.measure(() -> mockMvc.perform(post("/api/v1/books/delete/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ids.length()").value(100)));
+    }
+}
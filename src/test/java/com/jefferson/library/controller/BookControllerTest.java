@@ -3,28 +3,41 @@ package com.jefferson.library.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.config.PagingConfig;
 import com.jefferson.library.service.BookService;
+import com.jefferson.library.service.BookStreamingService;
+import com.jefferson.library.service.BulkService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @WebMvcTest(BookController.class)
+@Import(PagingConfig.class)
 public class BookControllerTest {
 
     @Autowired
@@ -36,6 +49,12 @@ public class BookControllerTest {
     @MockitoBean
     private BookService bookService;
 
+    @MockitoBean
+    private BookStreamingService bookStreamingService;
+
+    @MockitoBean
+    private BulkService bulkService;
+
     @Test
     void bookPage_ShouldReturnPageOfBooks() throws Exception {
 
@@ -62,6 +81,64 @@ public class BookControllerTest {
                 .andExpect(jsonPath("$.size").value(10));
     }
 
+    @Test
+    void scrollBooks_ShouldPassSortAndCursor() throws Exception {
+
+        BookDto bookDto = new BookDto(1L, "Book One", 200, LocalDateTime.now());
+
+        when(bookService.listActiveBooks(Sort.by("title"), "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(bookDto), "def", true));
+
+        mockMvc.perform(get("/api/v1/books/scroll")
+                        .param("sort", "title")
+                        .param("cursor", "abc")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Book One"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void bookPage_ShouldStreamPage_WhenSizeAboveMaxPageSize() throws Exception {
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("{\"content\":[],\"size\":5000,\"number\":0,\"numberOfElements\":0}"
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(bookStreamingService).streamActiveBooks(any(Pageable.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/books").param("size", "5000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(5000));
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void bookPage_ShouldReturnBadRequest_WhenSortFieldNotAllowed() throws Exception {
+
+        mockMvc.perform(get("/api/v1/books").param("sort", "pagesNumber,desc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.Error").exists());
+
+        verifyNoInteractions(bookService);
+    }
+
+    @Test
+    void bookPage_ShouldReturnBadRequest_WhenSizeAboveMaxStreamSize() throws Exception {
+
+        mockMvc.perform(get("/api/v1/books").param("size", "1000001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookService, bookStreamingService);
+    }
+
     @Test
     void getBook_ShouldReturnBook() throws Exception {
 
@@ -105,4 +182,19 @@ public class BookControllerTest {
         mockMvc.perform(delete("/api/v1/books/delete/" + bookId))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void deleteBooks_ShouldReturnDeletedIds() throws Exception {
+
+        BulkDeleteRequest bulkRequest = new BulkDeleteRequest(List.of(1L, 2L, 3L));
+
+        when(bulkService.deleteBooks(bulkRequest)).thenReturn(new BulkResult(3, List.of(1L, 3L)));
+
+        mockMvc.perform(post("/api/v1/books/delete/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.ids.length()").value(2));
+    }
 }
@@ -0,0 +1,66 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.ChangeFeedEntry;
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.service.ChangeFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ChangeFeedController.class)
+public class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void changes_ShouldReturnEntriesWithRawPayload() throws Exception {
+
+        ChangeFeedEntry entry = new ChangeFeedEntry(7L, AggregateType.BOOK, 2L, ChangeType.UPDATED,
+                "{\"id\":2,\"title\":\"Onegin\"}", LocalDateTime.now());
+
+        when(changeFeedService.readAfter(5L, 100)).thenReturn(List.of(entry));
+
+        mockMvc.perform(get("/api/v1/changes").param("after", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].sequence").value(7))
+                .andExpect(jsonPath("$[0].changeType").value("UPDATED"))
+                .andExpect(jsonPath("$[0].payload.title").value("Onegin"));
+    }
+
+    @Test
+    void changes_ShouldReturnBadRequest_NegativeSequence() throws Exception {
+
+        mockMvc.perform(get("/api/v1/changes").param("after", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(changeFeedService);
+    }
+
+    @Test
+    void stream_ShouldResumeFromLastEventId() throws Exception {
+
+        when(changeFeedService.subscribe(anyLong())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/changes/stream")
+                        .param("after", "3")
+                        .header("Last-Event-ID", "42"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeedService).subscribe(42L);
+    }
+}
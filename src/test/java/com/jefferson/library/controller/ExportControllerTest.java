@@ -0,0 +1,106 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.ExportFormat;
+import com.jefferson.library.dto.ExportJobStatus;
+import com.jefferson.library.exception.ExportJobNotFoundException;
+import com.jefferson.library.exception.ExportNotReadyException;
+import com.jefferson.library.exception.ExportQueueFullException;
+import com.jefferson.library.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ExportController.class)
+public class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportService exportService;
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void startExport_ShouldReturnAcceptedWithJobStatus() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        ExportJobStatus status = new ExportJobStatus(id, ExportFormat.CSV, ExportJobStatus.State.QUEUED,
+                0, 0, 0.0, LocalDateTime.now(), null, null);
+
+        when(exportService.startExport(ExportFormat.CSV)).thenReturn(status);
+
+        mockMvc.perform(post("/api/v1/exports").param("format", "CSV"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void startExport_ShouldReturnServiceUnavailable_WhenQueueFull() throws Exception {
+
+        when(exportService.startExport(ExportFormat.CSV)).thenThrow(new ExportQueueFullException("Export queue is full"));
+
+        mockMvc.perform(post("/api/v1/exports").param("format", "CSV"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.Error").value("Too many background jobs, try again later."));
+    }
+
+    @Test
+    void download_ShouldTransferExportedFile() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        Path file = Files.writeString(tempDir.resolve(id + ".csv"), "book_id,title\n1,Onegin\n");
+        ExportJobStatus status = new ExportJobStatus(id, ExportFormat.CSV, ExportJobStatus.State.COMPLETED,
+                1, 1, 1.0, LocalDateTime.now(), LocalDateTime.now(), null);
+
+        when(exportService.getStatus(id)).thenReturn(status);
+        when(exportService.getExportedFile(id)).thenReturn(file);
+
+        mockMvc.perform(get("/api/v1/exports/" + id + "/file"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().longValue("Content-Length", Files.size(file)))
+                .andExpect(content().string("book_id,title\n1,Onegin\n"));
+    }
+
+    @Test
+    void download_ShouldReturnConflict_WhenExportNotCompleted() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        ExportJobStatus status = new ExportJobStatus(id, ExportFormat.CSV, ExportJobStatus.State.RUNNING,
+                1, 10, 0.1, LocalDateTime.now(), null, null);
+
+        when(exportService.getStatus(id)).thenReturn(status);
+        when(exportService.getExportedFile(id)).thenThrow(new ExportNotReadyException("Export isn't completed"));
+
+        mockMvc.perform(get("/api/v1/exports/" + id + "/file"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void getStatus_ShouldReturnNotFound_WhenUnknownExport() throws Exception {
+
+        UUID id = UUID.randomUUID();
+
+        when(exportService.getStatus(id)).thenThrow(new ExportJobNotFoundException(id));
+
+        mockMvc.perform(get("/api/v1/exports/" + id))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.Error").value("Export not found for id: " + id));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.CatalogStats;
+import com.jefferson.library.dto.CatalogStats.Bucket;
+import com.jefferson.library.dto.CatalogStats.PageCountStats;
+import com.jefferson.library.dto.DailyCount;
+import com.jefferson.library.exception.StatsNotReadyException;
+import com.jefferson.library.service.CatalogStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(StatsController.class)
+public class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CatalogStatsService catalogStatsService;
+
+    @Test
+    void getStats_ShouldReturnLastComputedStats() throws Exception {
+
+        CatalogStats stats = new CatalogStats(Instant.now(), 12, 3, 2,
+                List.of(new Bucket(1, 1, 1), new Bucket(2, 3, 1)),
+                new PageCountStats(100, 300, 200.0, 200, 300, 300, List.of(new Bucket(100, 199, 1), new Bucket(200, 299, 1),
+                        new Bucket(300, 399, 1))),
+                List.of(new DailyCount(LocalDate.of(2024, 5, 1), 3)));
+
+        when(catalogStatsService.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get("/api/v1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeBooks").value(3))
+                .andExpect(jsonPath("$.booksPerAuthor[1].to").value(3))
+                .andExpect(jsonPath("$.pageCounts.median").value(200))
+                .andExpect(jsonPath("$.createdPerDay[0].day").value("2024-05-01"));
+    }
+
+    @Test
+    void getStats_ShouldReturnServiceUnavailable_WhenNotComputedYet() throws Exception {
+
+        when(catalogStatsService.getStats()).thenThrow(new StatsNotReadyException(Duration.ofSeconds(42)));
+
+        mockMvc.perform(get("/api/v1/stats"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "42"))
+                .andExpect(jsonPath("$.Error").value("Catalog stats aren't computed yet, try again later."));
+    }
+}
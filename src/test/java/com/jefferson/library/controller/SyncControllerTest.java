@@ -0,0 +1,60 @@
+package com.jefferson.library.controller;
+
+import com.jefferson.library.dto.BookChange;
+import com.jefferson.library.dto.SyncPage;
+import com.jefferson.library.exception.SyncWatermarkExpiredException;
+import com.jefferson.library.service.SyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SyncController.class)
+public class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SyncService syncService;
+
+    @Test
+    void changedBooks_ShouldReturnChangesWithWatermark() throws Exception {
+
+        LocalDateTime since = LocalDateTime.of(2026, 1, 1, 10, 0);
+        BookChange change = new BookChange(2L, 1L, "Onegin", 324, since, since.plusHours(1), true);
+
+        when(syncService.booksChangedSince(since, null, 50))
+                .thenReturn(new SyncPage<>(List.of(change), "next", false));
+
+        mockMvc.perform(get("/api/v1/sync/books")
+                        .param("since", "2026-01-01T10:00:00")
+                        .param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].id").value(2))
+                .andExpect(jsonPath("$.changes[0].deleted").value(true))
+                .andExpect(jsonPath("$.watermark").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void changedAuthors_ShouldReturnGone_ExpiredWatermark() throws Exception {
+
+        when(syncService.authorsChangedSince(any(), eq("old"), eq(100)))
+                .thenThrow(new SyncWatermarkExpiredException("Sync watermark is older than PT720H, a full sync is required"));
+
+        mockMvc.perform(get("/api/v1/sync/authors").param("watermark", "old"))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.Error").exists());
+    }
+}
@@ -0,0 +1,27 @@
+package com.jefferson.library.exception;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ErrorLogSamplerTest {
+
+    @Test
+    void tryLog_ShouldSuppressAfterBurstAndReportSuppressedCount() throws InterruptedException {
+
+        ErrorLogSampler sampler = new ErrorLogSampler(10, 2);
+
+        assertEquals(0, sampler.tryLog(AuthorNotFoundException.class));
+        assertEquals(0, sampler.tryLog(AuthorNotFoundException.class));
+        assertEquals(-1, sampler.tryLog(AuthorNotFoundException.class));
+        assertEquals(-1, sampler.tryLog(AuthorNotFoundException.class));
+
+        //Other exception types have their own budget
+        assertEquals(0, sampler.tryLog(BookNotFoundException.class));
+
+        Thread.sleep(250);
+
+        assertEquals(2, sampler.tryLog(AuthorNotFoundException.class));
+        assertEquals(0, sampler.tryLog(AuthorNotFoundException.class));
+    }
+}
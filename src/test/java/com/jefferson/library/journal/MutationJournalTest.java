@@ -0,0 +1,285 @@
+package com.jefferson.library.journal;
+
+import com.jefferson.library.dto.AuthorChangedEvent;
+import com.jefferson.library.dto.AuthorSnapshot;
+import com.jefferson.library.dto.BookChangedEvent;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.readmodel.BookReadModelUpdater;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class MutationJournalTest {
+
+    //Small segments, a few dozen entries each, so the tests roll over several of them
+    private static final long SEGMENT_SIZE = 4096;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replay_ShouldReturnEntriesAcrossSegmentsInOrder() throws IOException {
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_456_789);
+        try(MutationJournal journal = open()) {
+            for(int i = 1; i <= 500; i++) {
+                assertTrue(journal.append(JournalEntry.of(new BookChangedEvent(i, ChangeType.CREATED,
+                        new BookSnapshot((long) i, 7L, "Книга " + i, i, createdAt, false, i)), Instant.now())));
+            }
+            journal.append(JournalEntry.of(new AuthorChangedEvent(501, ChangeType.DELETED,
+                    new AuthorSnapshot(7L, "Pushkin", null, true)), Instant.now()));
+        }
+
+        try(MutationJournal journal = open()) {
+            List<JournalEntry> entries = new ArrayList<>();
+            assertEquals(501, journal.replay(0, entries::add));
+
+            assertEquals(501, entries.size());
+            assertTrue(journal.stats().segments() > 1);
+            for(int i = 0; i < 500; i++) {
+                assertEquals(i + 1, entries.get(i).position());
+                assertEquals(new BookSnapshot(i + 1L, 7L, "Книга " + (i + 1), i + 1, createdAt, false, i + 1), entries.get(i).book());
+            }
+            assertEquals(new AuthorSnapshot(7L, "Pushkin", null, true), entries.get(500).author());
+            assertEquals(ChangeType.DELETED, entries.get(500).changeType());
+
+            List<JournalEntry> tail = new ArrayList<>();
+            journal.replay(450, tail::add);
+            assertEquals(51, tail.size());
+            assertEquals(451, tail.get(0).position());
+        }
+    }
+
+    @Test
+    void open_ShouldContinueAfterTornTail() throws IOException {
+
+        try(MutationJournal journal = open()) {
+            for(int i = 1; i <= 10; i++) {
+                journal.append(JournalEntry.of(new BookChangedEvent(i, ChangeType.CREATED,
+                        new BookSnapshot((long) i, 1L, "Book " + i, 100, null, false, 0)), Instant.now()));
+            }
+        }
+
+        //A crash halfway through the last record: its checksum no longer matches
+        Path segment = JournalSegment.list(directory).get(0);
+        int lastRecord = recordOffsets(segment).get(9);
+        try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), lastRecord + JournalSegment.RECORD_HEADER_BYTES + 20);
+        }
+
+        try(MutationJournal journal = open()) {
+            assertEquals(9, journal.stats().lastPosition());
+            journal.append(JournalEntry.of(new BookChangedEvent(11, ChangeType.UPDATED,
+                    new BookSnapshot(1L, 1L, "Changed", 100, null, false, 0)), Instant.now()));
+        }
+
+        try(MutationJournal journal = open()) {
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(0, entries::add);
+
+            assertEquals(10, entries.size());
+            assertEquals(10, entries.get(9).position());
+            assertEquals("Changed", entries.get(9).book().title());
+        }
+    }
+
+    @Test
+    void replay_ShouldRebuildReadModel() throws Exception {
+
+        int threads = 4;
+        int booksPerThread = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try(MutationJournal journal = open()) {
+            for(int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    start.await();
+                    for(int i = 0; i < booksPerThread; i++) {
+                        long id = (long) thread * booksPerThread + i + 1;
+                        assertTrue(journal.append(JournalEntry.of(new BookChangedEvent(id, ChangeType.CREATED,
+                                new BookSnapshot(id, thread + 1L, "Book " + id, 100, null, false, 0)), Instant.now())));
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+            //Deleting every other book of the first author
+            for(long id = 1; id <= booksPerThread; id += 2) {
+                journal.append(JournalEntry.of(new BookChangedEvent(100_000 + id, ChangeType.DELETED,
+                        new BookSnapshot(id, 1L, "Book " + id, 100, null, true, 1)), Instant.now()));
+            }
+        }
+
+        try(MutationJournal journal = open()) {
+            BookReadModel readModel = new BookReadModel();
+            Set<Long> positions = new HashSet<>();
+            journal.replay(0, entry -> {
+                positions.add(entry.position());
+                readModel.apply(entry.book());
+            });
+
+            assertEquals(threads * booksPerThread + booksPerThread / 2, positions.size());
+            assertEquals(threads * booksPerThread - booksPerThread / 2, readModel.size());
+            assertTrue(readModel.find(1L).isEmpty());
+            assertEquals("Book 2", readModel.find(2L).orElseThrow().title());
+            assertEquals(booksPerThread, readModel.booksOfAuthor(2L, 0, Integer.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    void open_ShouldTreatSegmentWithoutHeaderAsEmptyTornTail() throws IOException {
+
+        try(MutationJournal journal = open()) {
+            journal.append(bookCreated(1));
+        }
+        //A crash right after the next segment was created, before its header reached the disk
+        Files.write(directory.resolve(String.format("journal-%020d.seg", 2)), new byte[(int) SEGMENT_SIZE]);
+
+        try(MutationJournal journal = open()) {
+            assertEquals(1, journal.stats().lastPosition());
+            journal.append(bookCreated(2));
+        }
+
+        try(MutationJournal journal = open()) {
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(0, entries::add);
+
+            assertEquals(List.of(1L, 2L), entries.stream().map(entry -> entry.book().id()).toList());
+        }
+    }
+
+    @Test
+    void replay_ShouldPassGapInPlaceOfDroppedEntries() throws IOException {
+
+        try(MutationJournal journal = open()) {
+            journal.append(bookCreated(1));
+            journal.append(JournalEntry.of(new BookChangedEvent(2, ChangeType.CREATED,
+                    new BookSnapshot(2L, 1L, "x".repeat((int) SEGMENT_SIZE), 100, null, false, 0)), Instant.now()));
+            journal.append(bookCreated(3));
+        }
+
+        try(MutationJournal journal = open()) {
+            List<JournalEntry> entries = new ArrayList<>();
+            journal.replay(0, entries::add);
+
+            assertEquals(List.of(1L, 2L, 3L), entries.stream().map(JournalEntry::position).toList());
+            assertEquals(1L, entries.get(0).book().id());
+            assertTrue(entries.get(1).isGap());
+            assertEquals(1, entries.get(1).missed());
+            assertEquals(3L, entries.get(2).book().id());
+        }
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldRecoverReadModelFromJournal() throws IOException {
+
+        try(MutationJournal journal = open()) {
+            journal.append(bookCreated(1));
+            journal.append(bookCreated(2));
+            journal.append(JournalEntry.of(new BookChangedEvent(3, ChangeType.DELETED,
+                    new BookSnapshot(1L, 1L, "Book 1", 100, null, true, 0)), Instant.now()));
+        }
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.countByDeletedFalse()).thenReturn(1L);
+
+        try(MutationJournal journal = open()) {
+            BookReadModel readModel = new BookReadModel();
+            new BookReadModelUpdater(readModel, bookRepository, Shards.single(), 100, journal).afterSingletonsInstantiated();
+
+            assertTrue(readModel.isServing());
+            assertEquals(1, readModel.size());
+            assertEquals("Book 2", readModel.find(2L).orElseThrow().title());
+            verify(bookRepository, never()).findActiveSnapshotsAfter(any(), any());
+        }
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldLoadReadModelFromDatabase_WhenJournalHasGap() throws IOException {
+
+        try(MutationJournal journal = open()) {
+            journal.append(bookCreated(1));
+            journal.append(JournalEntry.of(new BookChangedEvent(2, ChangeType.CREATED,
+                    new BookSnapshot(2L, 1L, "x".repeat((int) SEGMENT_SIZE), 100, null, false, 0)), Instant.now()));
+        }
+        BookRepository bookRepository = mock(BookRepository.class);
+        when(bookRepository.findActiveSnapshotsAfter(any(), any())).thenReturn(List.of(
+                new BookSnapshot(1L, 1L, "Book 1", 100, null, false, 0), new BookSnapshot(2L, 1L, "Book 2", 100, null, false, 0)));
+
+        try(MutationJournal journal = open()) {
+            BookReadModel readModel = new BookReadModel();
+            new BookReadModelUpdater(readModel, bookRepository, Shards.single(), 100, journal).afterSingletonsInstantiated();
+
+            assertEquals(2, readModel.size());
+            assertEquals("Book 2", readModel.find(2L).orElseThrow().title());
+        }
+    }
+
+    @Test
+    void ringBuffer_ShouldRefuseOffer_WhenFull() {
+
+        JournalRingBuffer<Integer> ring = new JournalRingBuffer<>(3);
+
+        assertEquals(4, ring.capacity());
+        for(int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+
+        assertEquals(0, ring.poll());
+        assertTrue(ring.offer(4));
+        for(int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+    }
+
+    private static JournalEntry bookCreated(long id) {
+        return JournalEntry.of(new BookChangedEvent(id, ChangeType.CREATED,
+                new BookSnapshot(id, 1L, "Book " + id, 100, null, false, 0)), Instant.now());
+    }
+
+    private MutationJournal open() throws IOException {
+        return MutationJournal.open(directory, SEGMENT_SIZE, 64, 100, Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+
+    private static List<Integer> recordOffsets(Path segment) throws IOException {
+        List<Integer> offsets = new ArrayList<>();
+        int[] offset = {JournalSegment.HEADER_BYTES};
+        JournalSegment.read(segment, body -> {
+            offsets.add(offset[0]);
+            offset[0] += JournalSegment.RECORD_HEADER_BYTES + body.remaining();
+        });
+        return offsets;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jefferson.library.load;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds.
+ * Values below 64µs are exact, every higher power of two is split in 32 linear sub-buckets,
+ * which bounds the relative error at ~3%.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void record(long latencyNanos) {
+        counts.incrementAndGet(indexOf(Math.max(0, latencyNanos / 1_000)));
+    }
+
+    public long count() {
+        long total = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return upper bound of the bucket holding the given quantile, in milliseconds
+     */
+    public double percentileMillis(double quantile) {
+        long total = count();
+        if(total == 0) return 0;
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if(seen >= rank) {
+                return upperBoundOf(i) / 1_000.0;
+            }
+        }
+        return upperBoundOf(BUCKETS - 1) / 1_000.0;
+    }
+
+    public double maxMillis() {
+        for(int i = BUCKETS - 1; i >= 0; i--) {
+            if(counts.get(i) > 0) {
+                return upperBoundOf(i) / 1_000.0;
+            }
+        }
+        return 0;
+    }
+
+    private static int indexOf(long micros) {
+        if(micros < SUB_BUCKETS) return (int) micros;
+
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (micros >>> magnitude) - SUB_BUCKETS / 2;
+        return Math.min(BUCKETS - 1, magnitude * SUB_BUCKETS / 2 + SUB_BUCKETS / 2 + subBucket);
+    }
+
+    private static long upperBoundOf(int index) {
+        if(index < SUB_BUCKETS) return index;
+
+        int magnitude = (index - SUB_BUCKETS / 2) / (SUB_BUCKETS / 2);
+        int subBucket = (index - SUB_BUCKETS / 2) % (SUB_BUCKETS / 2);
+        return ((long) (subBucket + SUB_BUCKETS / 2 + 1) << magnitude) - 1;
+    }
+}
@@ -0,0 +1,216 @@
+package com.jefferson.library.load;
+
+import com.jefferson.library.load.LoadTestProfile.Operation;
+import com.jefferson.library.load.LoadTestReport.OperationReport;
+import com.jefferson.library.load.LoadTestReport.PhaseReport;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator. Workers start staggered over the ramp-up phase and then run
+ * through the steady-state phase, every worker drawing operations and keys from its own seeded random.
+ * Results are recorded per phase, ramp-up numbers are reported separately from steady state.
+ */
+public class LoadGenerator {
+
+    private final LoadTestProfile profile;
+    private final URI baseUri;
+    private final List<Long> authorIds;
+    private final List<Long> bookIds;
+    private final ZipfDistribution authorKeys;
+    private final ZipfDistribution bookKeys;
+    private final ZipfDistribution pageKeys;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final PhaseStats rampUp = new PhaseStats();
+    private final PhaseStats steadyState = new PhaseStats();
+
+    public LoadGenerator(LoadTestProfile profile, URI baseUri, List<Long> authorIds, List<Long> bookIds) {
+        this.profile = profile;
+        this.baseUri = baseUri;
+
+        //Popularity mustn't follow insertion order, keys are ranked by a seeded shuffle
+        this.authorIds = new ArrayList<>(authorIds);
+        this.bookIds = new ArrayList<>(bookIds);
+        Collections.shuffle(this.authorIds, new Random(profile.seed()));
+        Collections.shuffle(this.bookIds, new Random(profile.seed() + 1));
+
+        this.authorKeys = new ZipfDistribution(authorIds.size(), profile.zipfExponent());
+        this.bookKeys = new ZipfDistribution(bookIds.size(), profile.zipfExponent());
+        this.pageKeys = new ZipfDistribution(Math.max(1, bookIds.size() / 10), profile.zipfExponent());
+
+        this.operations = profile.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for(int i = 0; i < operations.length; i++) {
+            sum += profile.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        long steadyStart = start + TimeUnit.SECONDS.toNanos(profile.rampUpSeconds());
+        long end = steadyStart + TimeUnit.SECONDS.toNanos(profile.steadySeconds());
+
+        ExecutorService executor = Executors.newFixedThreadPool(profile.workers());
+        for(int worker = 0; worker < profile.workers(); worker++) {
+            long workerStart = start + (steadyStart - start) * worker / profile.workers();
+            Random random = new Random(profile.seed() * 31 + worker);
+            executor.execute(() -> work(random, workerStart, steadyStart, end));
+        }
+        executor.shutdown();
+        executor.awaitTermination(profile.rampUpSeconds() + profile.steadySeconds() + 60L, TimeUnit.SECONDS);
+
+        return new LoadTestReport(profile,
+                System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(),
+                rampUp.toReport(profile.rampUpSeconds()),
+                steadyState.toReport(profile.steadySeconds()));
+    }
+
+    private void work(Random random, long workerStart, long steadyStart, long end) {
+        sleepUntil(workerStart);
+
+        long now;
+        while((now = System.nanoTime()) < end) {
+            Operation operation = nextOperation(random);
+            HttpRequest request = requestFor(operation, random);
+
+            int status;
+            try {
+                status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch(IOException exception) {
+                status = -1;
+            } catch(InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            long finished = System.nanoTime();
+            (now < steadyStart ? rampUp : steadyState).record(operation, finished - now, status);
+        }
+    }
+
+    private Operation nextOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for(int i = 0; i < cumulativeWeights.length; i++) {
+            if(value < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    private HttpRequest requestFor(Operation operation, Random random) {
+        return switch(operation) {
+            case BOOK_PAGE -> get("/api/v1/books?size=10&page=" + pageKeys.sample(random));
+            case GET_BOOK -> get("/api/v1/books/" + bookIds.get(bookKeys.sample(random)));
+            case GET_AUTHOR -> get("/api/v1/authors/" + authorIds.get(authorKeys.sample(random)));
+            case ADD_BOOK -> HttpRequest.newBuilder(baseUri.resolve("/api/v1/authors/book"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"authorId\":" + authorIds.get(authorKeys.sample(random))
+                            + ",\"title\":\"Load book " + random.nextInt(1_000_000) + "\",\"pagesNumber\":"
+                            + (1 + random.nextInt(1000)) + "}"))
+                    .build();
+            case DELETE_BOOK -> HttpRequest.newBuilder(
+                            baseUri.resolve("/api/v1/books/delete/" + bookIds.get(bookKeys.sample(random))))
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long delay = nanoTime - System.nanoTime();
+        if(delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch(InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static final class PhaseStats {
+        private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+
+        PhaseStats() {
+            for(Operation operation: Operation.values()) {
+                operations.put(operation, new OperationStats());
+            }
+        }
+
+        void record(Operation operation, long latencyNanos, int status) {
+            operations.get(operation).record(latencyNanos, status);
+        }
+
+        PhaseReport toReport(double durationSeconds) {
+            Map<Operation, OperationReport> reports = new EnumMap<>(Operation.class);
+            long requests = 0;
+            long errors = 0;
+            for(Map.Entry<Operation, OperationStats> entry: operations.entrySet()) {
+                OperationStats stats = entry.getValue();
+                if(stats.histogram.count() == 0) continue;
+
+                reports.put(entry.getKey(), stats.toReport(durationSeconds));
+                requests += stats.histogram.count();
+                errors += stats.errors.sum();
+            }
+            return new PhaseReport(durationSeconds,
+                    requests,
+                    durationSeconds > 0 ? requests / durationSeconds : 0,
+                    requests > 0 ? (double) errors / requests : 0,
+                    reports);
+        }
+    }
+
+    private static final class OperationStats {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+
+        void record(long latencyNanos, int status) {
+            histogram.record(latencyNanos);
+            if(status < 0 || status >= 500) {
+                errors.increment();
+            } else if(status >= 400) {
+                clientErrors.increment();
+            }
+        }
+
+        OperationReport toReport(double durationSeconds) {
+            long requests = histogram.count();
+            return new OperationReport(requests,
+                    errors.sum(),
+                    clientErrors.sum(),
+                    durationSeconds > 0 ? requests / durationSeconds : 0,
+                    histogram.percentileMillis(0.50),
+                    histogram.percentileMillis(0.95),
+                    histogram.percentileMillis(0.99),
+                    histogram.percentileMillis(0.999),
+                    histogram.maxMillis());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.jefferson.library.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a traffic profile against the application on a random local port with embedded H2.
+ * Excluded from the default build, run it with {@code mvn test -P load-test} and tune it with
+ * {@code -Dload.*} properties, see {@link LoadTestProfile}. The JSON report lands in {@code load.output}.
+ */
+@Slf4j
+@Tag("load")
+//Measures the service itself, the single load client would otherwise be rate limited
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "library.throttling.enabled=false")
+public class LoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void runTrafficProfile() throws Exception {
+
+        LoadTestProfile profile = LoadTestProfile.fromSystemProperties();
+        CatalogFixtures fixtures = new CatalogFixtures(authorRepository, bookRepository);
+
+        List<Long> authorIds = new ArrayList<>(profile.authors());
+        List<Long> bookIds = new ArrayList<>(profile.authors() * profile.booksPerAuthor());
+        for(int i = 0; i < profile.authors(); i++) {
+            Author author = fixtures.authorWithBooks("Author " + i, profile.booksPerAuthor());
+            authorIds.add(author.getId());
+        }
+        bookRepository.findAll().forEach((Book book) -> bookIds.add(book.getId()));
+
+        LoadTestReport report = new LoadGenerator(profile, URI.create("http://localhost:" + port), authorIds, bookIds).run();
+
+        Path output = profile.outputDirectory();
+        Files.createDirectories(output);
+        Path reportFile = output.resolve("report-" + System.currentTimeMillis() + ".json");
+        objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportFile.toFile(), report);
+        log.info("Load test report written to {}", reportFile.toAbsolutePath());
+
+        fixtures.clean();
+
+        assertTrue(report.steadyState().requests() > 0, "No requests completed in steady state");
+    }
+}
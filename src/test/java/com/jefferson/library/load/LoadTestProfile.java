@@ -0,0 +1,48 @@
+package com.jefferson.library.load;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Traffic profile of a load test run, read from {@code load.*} system properties.
+ * The same seed and mix produce the same sequence of operations and keys per worker.
+ */
+public record LoadTestProfile(
+        int workers,
+        int rampUpSeconds,
+        int steadySeconds,
+        long seed,
+        int authors,
+        int booksPerAuthor,
+        double zipfExponent,
+        Map<Operation, Integer> mix,
+        Path outputDirectory) {
+
+    public enum Operation {
+        BOOK_PAGE, GET_BOOK, GET_AUTHOR, ADD_BOOK, DELETE_BOOK
+    }
+
+    public static LoadTestProfile fromSystemProperties() {
+        return new LoadTestProfile(
+                Integer.getInteger("load.workers", 16),
+                Integer.getInteger("load.rampUpSeconds", 10),
+                Integer.getInteger("load.steadySeconds", 30),
+                Long.getLong("load.seed", 42L),
+                Integer.getInteger("load.authors", 500),
+                Integer.getInteger("load.booksPerAuthor", 20),
+                Double.parseDouble(System.getProperty("load.zipfExponent", "1.1")),
+                parseMix(System.getProperty("load.mix", "BOOK_PAGE:30,GET_BOOK:35,GET_AUTHOR:25,ADD_BOOK:5,DELETE_BOOK:5")),
+                Path.of(System.getProperty("load.output", "target/load-test")));
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for(String entry: mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if(parts.length != 2) throw new IllegalArgumentException("Bad mix entry: " + entry);
+            weights.put(Operation.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,33 @@
+package com.jefferson.library.load;
+
+import com.jefferson.library.load.LoadTestProfile.Operation;
+
+import java.util.Map;
+
+public record LoadTestReport(
+        LoadTestProfile profile,
+        String javaVersion,
+        int availableProcessors,
+        PhaseReport rampUp,
+        PhaseReport steadyState) {
+
+    public record PhaseReport(
+            double durationSeconds,
+            long requests,
+            double throughputPerSecond,
+            double errorRate,
+            Map<Operation, OperationReport> operations) {
+    }
+
+    public record OperationReport(
+            long requests,
+            long errors,
+            long clientErrors,
+            double throughputPerSecond,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.jefferson.library.load;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples ranks 0..n-1 with probability proportional to 1 / (rank + 1)^exponent,
+ * so rank 0 is the most popular key. Sampling is a binary search over the precomputed CDF.
+ */
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int numberOfKeys, double exponent) {
+        if(numberOfKeys <= 0) throw new IllegalArgumentException("Number of keys must be positive");
+
+        cumulative = new double[numberOfKeys];
+        double sum = 0;
+        for(int rank = 0; rank < numberOfKeys; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for(int rank = 0; rank < numberOfKeys; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    public int sample(RandomGenerator random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -23,18 +23,15 @@ public class AuthorMapperTest {
     void toDtoWithBooks_ShouldMapAllFields() {
 
         Long authorId = 1L;
-        Long bookId = 2L;
         String title = "Onegin";
         String authorName = "Pushkin";
         int numOfPages = 324;
         Author author = Author.build(authorId, authorName);
-        Book book = Book.buildBook(bookId, title, numOfPages, author);
-        author.addBook(book);
         BookDto bookDto = new BookDto(authorId, title, numOfPages, LocalDateTime.now());
 
-        AuthorDto expectedAuthorDto = new AuthorDto(authorName, List.of(bookDto), LocalDateTime.now());
+        AuthorDto expectedAuthorDto = new AuthorDto(authorName, List.of(bookDto), LocalDateTime.now(), "cursor");
 
-        AuthorDto actual = authorMapper.toDtoWithBooks(author);
+        AuthorDto actual = authorMapper.toDtoWithBooks(author, List.of(bookDto), "cursor");
 
         assertEquals(expectedAuthorDto, actual);
     }
@@ -0,0 +1,77 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotKeyTrackerTest {
+
+    private static final long DECAY_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void top_ShouldRankHeavyHittersAmongColdKeys() {
+
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 1, 3, DECAY_INTERVAL, clock::get);
+
+        for(int round = 0; round < 100; round++) {
+            for(int hit = 0; hit < 30; hit++) tracker.record(7);
+            for(int hit = 0; hit < 20; hit++) tracker.record(3);
+            for(int hit = 0; hit < 10; hit++) tracker.record(11);
+            for(long cold = 100; cold < 200; cold++) tracker.record(cold + round * 100L);
+        }
+
+        List<HotKey> top = tracker.top();
+
+        assertEquals(List.of(7L, 3L, 11L), top.stream().map(HotKey::id).toList());
+        assertTrue(top.get(0).estimatedCount() >= 3000);
+        assertTrue(top.get(0).estimatedCount() < 3100);
+    }
+
+    @Test
+    void top_ShouldEstimateRateOverDecayedWindow() {
+
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 1, 3, DECAY_INTERVAL, clock::get);
+
+        //100 per second in steady state: a window's worth right after a decay
+        for(int hit = 0; hit < 2000; hit++) tracker.record(5);
+        tracker.decay();
+
+        assertEquals(1000, tracker.top().get(0).estimatedCount());
+        assertEquals(100.0, tracker.top().get(0).estimatedPerSecond(), 0.01);
+
+        clock.addAndGet(DECAY_INTERVAL);
+        for(int hit = 0; hit < 1000; hit++) tracker.record(5);
+
+        assertEquals(100.0, tracker.top().get(0).estimatedPerSecond(), 0.01);
+    }
+
+    @Test
+    void record_ShouldWeighSampledAccesses() {
+
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 8, 1, DECAY_INTERVAL, clock::get);
+
+        for(int hit = 0; hit < 80_000; hit++) tracker.record(42);
+
+        long estimate = tracker.top().get(0).estimatedCount();
+        assertEquals(80_000, estimate, 4_000);
+    }
+
+    @Test
+    void decay_ShouldLetNewHotKeysReplaceCooledOnes() {
+
+        HotKeyTracker tracker = new HotKeyTracker(4, 1024, 1, 1, DECAY_INTERVAL, clock::get);
+
+        for(int hit = 0; hit < 1000; hit++) tracker.record(1);
+        for(int decay = 0; decay < 10; decay++) tracker.decay();
+        for(int hit = 0; hit < 100; hit++) tracker.record(2);
+
+        assertEquals(2L, tracker.top().get(0).id());
+    }
+}
@@ -0,0 +1,53 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.HotKey;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotSetSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_ShouldReturnWrittenSnapshot() throws IOException {
+
+        Path file = directory.resolve("hot/hot-set.bin");
+        HotSetSnapshot written = new HotSetSnapshot(Instant.ofEpochMilli(1_700_000_000_000L),
+                List.of(new HotKey(7, 900, 0), new HotKey(3, 400, 0)),
+                List.of(new HotKey(1, 1300, 0)));
+
+        written.write(file);
+
+        assertEquals(Optional.of(written), HotSetSnapshot.read(file));
+        assertEquals(20 + 3 * 16, Files.size(file));
+    }
+
+    @Test
+    void read_ShouldReturnEmpty_NoSnapshot() throws IOException {
+
+        assertEquals(Optional.empty(), HotSetSnapshot.read(directory.resolve("missing.bin")));
+    }
+
+    @Test
+    void read_ShouldThrowIOException_CorruptSnapshot() throws IOException {
+
+        Path foreign = Files.write(directory.resolve("foreign.bin"), new byte[64]);
+        Path truncated = directory.resolve("truncated.bin");
+        new HotSetSnapshot(Instant.now(), List.of(new HotKey(7, 900, 0)), List.of()).write(truncated);
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(truncated), 30));
+
+        assertThrows(IOException.class, () -> HotSetSnapshot.read(foreign));
+        assertThrows(IOException.class, () -> HotSetSnapshot.read(truncated));
+    }
+}
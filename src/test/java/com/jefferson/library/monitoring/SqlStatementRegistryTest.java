@@ -0,0 +1,63 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.SqlStatementStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlStatementRegistryTest {
+
+    @Test
+    void normalize_ShouldCollapseLiteralsAndInLists() {
+
+        String sql = "select b.id from books b where b.title = 'It''s'  and b.pages_number > 10 and b.id in (?, ?, ?)";
+
+        String actual = SqlStatementRegistry.normalize(sql);
+
+        assertEquals("select b.id from books b where b.title = ? and b.pages_number > ? and b.id in (?...)", actual);
+    }
+
+    @Test
+    void normalize_ShouldKeepIdentifiersWithDigits() {
+
+        String sql = "select b1_0.id from books b1_0 offset ? rows fetch first ? rows only";
+
+        assertEquals(sql, SqlStatementRegistry.normalize(sql));
+    }
+
+    @Test
+    void record_ShouldAggregateExecutionsPerShape() {
+
+        SqlStatementRegistry registry = new SqlStatementRegistry(10);
+
+        registry.record("select * from books where id in (?, ?)", 1_000_000);
+        registry.record("select * from books where id in (?, ?, ?)", 3_000_000);
+        registry.record("select * from authors where id = ?", 5_000_000);
+
+        List<SqlStatementStats> frequent = registry.mostFrequent(1);
+        List<SqlStatementStats> slowest = registry.slowest(1);
+
+        assertEquals(2, registry.trackedShapes());
+        assertEquals("select * from books where id in (?...)", frequent.get(0).statement());
+        assertEquals(2, frequent.get(0).executions());
+        assertEquals(4.0, frequent.get(0).totalMillis());
+        assertEquals(3.0, frequent.get(0).maxMillis());
+        assertEquals("select * from authors where id = ?", slowest.get(0).statement());
+    }
+
+    @Test
+    void record_ShouldCountUntrackedWhenShapeLimitReached() {
+
+        SqlStatementRegistry registry = new SqlStatementRegistry(1);
+
+        registry.record("select * from books", 1);
+        registry.record("select * from authors", 1);
+        registry.record("select * from books", 1);
+
+        assertEquals(1, registry.trackedShapes());
+        assertEquals(1, registry.untrackedExecutions());
+        assertEquals(2, registry.mostFrequent(5).get(0).executions());
+    }
+}
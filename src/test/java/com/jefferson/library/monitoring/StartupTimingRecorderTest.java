@@ -0,0 +1,47 @@
+package com.jefferson.library.monitoring;
+
+import com.jefferson.library.dto.StartupReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupTimingRecorderTest {
+
+    @Test
+    void report_ShouldListSlowestBufferedSteps() throws InterruptedException {
+
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(16);
+        StartupStep slow = startup.start("spring.beans.instantiate").tag("beanName", "slowBean");
+        Thread.sleep(20);
+        slow.end();
+        startup.start("spring.beans.instantiate").tag("beanName", "fastBean").end();
+
+        StartupReport report = new StartupTimingRecorder(startup).report(1);
+
+        assertEquals(1, report.slowestSteps().size());
+        assertEquals(Map.of("beanName", "slowBean"), report.slowestSteps().get(0).tags());
+        assertTrue(report.slowestSteps().get(0).durationMs() >= 20);
+    }
+
+    @Test
+    void recordFirstRequest_ShouldKeepOnlyFirstRequest() {
+
+        StartupTimingRecorder recorder = new StartupTimingRecorder(ApplicationStartup.DEFAULT);
+
+        assertNull(recorder.report(5).timeToFirstRequestMs());
+
+        recorder.recordFirstRequest("GET /api/v1/books");
+        recorder.recordFirstRequest("GET /api/v1/authors/1");
+
+        StartupReport report = recorder.report(5);
+        assertTrue(recorder.isFirstRequestRecorded());
+        assertEquals("GET /api/v1/books", report.firstRequest());
+        assertNotNull(report.timeToFirstRequestMs());
+        assertTrue(report.slowestSteps().isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.service.AuthorService;
+import com.jefferson.library.service.BookService;
+import com.jefferson.library.service.BulkService;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The ids outlive the tests of the context, rows seeded through the repositories bypass them
+@SpringBootTest(properties = {
+        "library.active-ids.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:activeids"
+})
+public class ActiveIdsTest {
+
+    @Autowired
+    private ActiveIds activeIds;
+
+    @Autowired
+    private ActiveIdsUpdater activeIdsUpdater;
+
+    @Autowired
+    private BulkService bulkService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void writePaths_ShouldKeepIdsOfActiveRows() {
+
+        long authorId = bulkService.createAuthors(new BulkAuthorRequest(List.of(new AuthorRequest("Pushkin"))))
+                .ids().get(0);
+        authorService.addBookToAuthor(new BookRequest(authorId, "Onegin", 324));
+        long bookId = bookIdOf(authorId);
+
+        assertTrue(activeIds.authors().mightContain(authorId));
+        assertEquals("Onegin", bookService.getActiveBookById(bookId).title());
+
+        authorService.deleteAuthorById(authorId);
+
+        assertFalse(activeIds.authors().mightContain(authorId));
+        assertFalse(activeIds.books().mightContain(bookId));
+    }
+
+    @Test
+    void unknownIds_ShouldBeDefiniteMisses() {
+
+        long misses = activeIds.books().definiteMisses();
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(987_654_321L));
+        assertThrows(AuthorNotFoundException.class, () -> authorService.getActiveAuthorById(987_654_321L));
+
+        assertEquals(misses + 1, activeIds.books().definiteMisses());
+    }
+
+    @Test
+    void rolledBackDelete_ShouldKeepId() {
+
+        long authorId = bulkService.createAuthors(new BulkAuthorRequest(List.of(new AuthorRequest("Gogol"))))
+                .ids().get(0);
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            authorService.deleteAuthorById(authorId);
+            throw new IllegalStateException("Rolled back");
+        }));
+
+        assertTrue(activeIds.authors().mightContain(authorId));
+        assertEquals("Gogol", authorService.getActiveAuthorById(authorId).name());
+    }
+
+    @Test
+    void deleteOutsideServices_ShouldCountFalsePositive() {
+
+        Author author = new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Tolstoy", 1);
+        Book book = bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(author.getId(), 0L, Limit.of(1)).get(0);
+        activeIdsUpdater.afterSingletonsInstantiated();
+        assertTrue(activeIds.books().mightContain(book.getId()));
+
+        book.setDeleted(true);
+        bookRepository.save(book);
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(book.getId()));
+        assertTrue(activeIds.books().falsePositiveRate() > 0);
+    }
+
+    private long bookIdOf(long authorId) {
+        return bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 0L, Limit.of(1))
+                .get(0)
+                .getId();
+    }
+}
@@ -0,0 +1,146 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.ReadModelStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BookReadModelTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123_456_789);
+
+    private final BookReadModel readModel = new BookReadModel();
+
+    @Test
+    void apply_ShouldReplaceBookWithNewerVersionOnly() {
+
+        readModel.apply(book(5, 1L, 1L, "Onegin", false));
+        readModel.apply(book(4, 1L, 1L, "Stale", false));
+        readModel.apply(book(6, 1L, 1L, "Eugene Onegin", false));
+
+        assertEquals(Optional.of(new BookDto(1L, "Eugene Onegin", 100, CREATED_AT)), readModel.find(1L));
+        assertEquals(CREATED_AT, readModel.find(1L).orElseThrow().createdAt());
+        assertEquals(1, readModel.size());
+    }
+
+    @Test
+    void apply_ShouldKeepDeletedBookFromLateUpdate() {
+
+        readModel.apply(book(5, 1L, 1L, "Onegin", false));
+        readModel.apply(book(7, 1L, 1L, "Onegin", true));
+        readModel.apply(book(6, 1L, 1L, "Updated", false));
+
+        assertEquals(Optional.empty(), readModel.find(1L));
+        assertEquals(List.of(), readModel.page(0, 10));
+        assertEquals(List.of(), readModel.booksOfAuthor(1L, 0, 10));
+
+        readModel.apply(book(8, 1L, 1L, "Onegin", false));
+
+        assertTrue(readModel.find(1L).isPresent());
+    }
+
+    @Test
+    void apply_ShouldReuseSlotOfDeletedBookAfterTombstoneGrace() {
+
+        long[] now = {0};
+        BookReadModel readModel = new BookReadModel(Duration.ofSeconds(10), () -> now[0]);
+        readModel.apply(book(5, 1L, 1L, "Onegin", false));
+        readModel.apply(book(6, 1L, 1L, "Onegin", true));
+
+        now[0] = Duration.ofSeconds(5).toNanos();
+        readModel.apply(book(7, 2L, 1L, "Poltava", false));
+        readModel.apply(book(4, 1L, 1L, "Stale", false));
+
+        assertEquals(Optional.empty(), readModel.find(1L));
+        assertEquals(1, readModel.stats().deletedBooks());
+
+        now[0] = Duration.ofSeconds(10).toNanos();
+        readModel.apply(book(8, 3L, 1L, "Mtsyri", false));
+
+        assertEquals(0, readModel.stats().deletedBooks());
+        assertEquals(List.of("Poltava", "Mtsyri"), readModel.page(0, 10).stream().map(BookDto::title).toList());
+        assertEquals(Optional.empty(), readModel.find(1L));
+    }
+
+    @Test
+    void page_ShouldReturnBooksInIdOrder() {
+
+        readModel.load(List.of(book(3L, 1L, "C", false), book(1L, 2L, "A", false), book(2L, 1L, "B", false)));
+
+        assertEquals(List.of("B", "C"), readModel.page(1, 5).stream().map(BookDto::title).toList());
+    }
+
+    @Test
+    void booksOfAuthor_ShouldReturnBooksAfterId() {
+
+        readModel.load(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> book(id, id % 2 + 1, "Book " + id, false))
+                .toList());
+
+        List<ReadModelBook> books = readModel.booksOfAuthor(1L, 4L, 2);
+
+        assertEquals(List.of(6L, 8L), books.stream().map(ReadModelBook::id).toList());
+        assertEquals("Book 6", books.get(0).book().title());
+        assertEquals(List.of(), readModel.booksOfAuthor(3L, 0, 2));
+    }
+
+    @Test
+    void stats_ShouldReportFootprintPerMillionBooks() {
+
+        readModel.load(LongStream.rangeClosed(1, 100_000)
+                .mapToObj(id -> book(id, id / 10 + 1, "Title of book " + id, false))
+                .toList());
+        readModel.apply(book(1, 1L, 1L, "Title of book 1", true));
+
+        ReadModelStats stats = readModel.stats();
+
+        assertEquals(99_999, stats.books());
+        assertEquals(1, stats.deletedBooks());
+        assertEquals(10_001, stats.authors());
+        assertTrue(stats.footprintBytes() > 0);
+        assertEquals(stats.footprintBytes() * 1_000_000 / 99_999, stats.bytesPerMillionBooks());
+    }
+
+    @Test
+    void longIntHashMap_ShouldMatchHashMapUnderRandomPutsAndRemoves() {
+
+        LongIntHashMap map = new LongIntHashMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 200_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if(random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for(long key = 1; key <= 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING), map.get(key));
+        }
+    }
+
+    private static BookSnapshot book(long id, long authorId, String title, boolean deleted) {
+        return book(0, id, authorId, title, deleted);
+    }
+
+    private static BookSnapshot book(long version, long id, long authorId, String title, boolean deleted) {
+        return new BookSnapshot(id, authorId, title, 100, CREATED_AT, deleted, version);
+    }
+}
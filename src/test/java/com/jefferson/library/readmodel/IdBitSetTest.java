@@ -0,0 +1,70 @@
+package com.jefferson.library.readmodel;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdBitSetTest {
+
+    @Test
+    void setAndClear_ShouldMatchBitSet() {
+
+        IdBitSet ids = new IdBitSet();
+        BitSet expected = new BitSet();
+        Random random = new Random(42);
+
+        for(int i = 0; i < 200_000; i++) {
+            int id = 1 + random.nextInt(1_000_000);
+            if(random.nextInt(4) == 0) {
+                ids.clear(id);
+                expected.clear(id);
+            } else {
+                ids.set(id);
+                expected.set(id);
+            }
+        }
+
+        for(int id = 0; id <= 1_000_000; id++) {
+            assertEquals(expected.get(id), ids.get(id), "id " + id);
+        }
+        assertEquals(expected.cardinality(), ids.cardinality());
+    }
+
+    @Test
+    void sparseIds_ShouldOnlyAllocateTheirPages() {
+
+        IdBitSet ids = new IdBitSet();
+        long rangeSize = 1_000_000_000L;
+
+        ids.set(1);
+        ids.set(rangeSize + 1);
+        ids.set(Long.MAX_VALUE);
+
+        assertTrue(ids.get(rangeSize + 1));
+        assertTrue(ids.get(Long.MAX_VALUE));
+        assertFalse(ids.get(rangeSize + 2));
+        assertFalse(ids.get(2 * rangeSize + 1));
+        assertEquals(3, ids.cardinality());
+        assertTrue(ids.footprintBytes() < 3 * 9000);
+    }
+
+    @Test
+    void mightContain_ShouldLetEveryIdThrough_UntilLoaded() {
+
+        IdFilter filter = new IdFilter(true);
+
+        assertTrue(filter.mightContain(5));
+
+        filter.add(5);
+        filter.startServing();
+
+        assertTrue(filter.mightContain(5));
+        assertFalse(filter.mightContain(6));
+        filter.recordFalsePositive();
+        assertEquals(1.0, filter.falsePositiveRate());
+        assertEquals(1, filter.definiteMisses());
+    }
+}
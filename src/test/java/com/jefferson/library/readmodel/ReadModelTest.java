@@ -0,0 +1,155 @@
+package com.jefferson.library.readmodel;
+
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.service.AuthorService;
+import com.jefferson.library.service.BookService;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The read model outlives the tests of the context, rows seeded through the repositories bypass it
+@SpringBootTest(properties = {
+        "library.read-model.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:readmodel"
+})
+public class ReadModelTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookReadModel bookReadModel;
+
+    @Autowired
+    private BookReadModelUpdater bookReadModelUpdater;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void writePaths_ShouldUpdateReadModelAfterCommit() {
+
+        Author author = authorRepository.save(Author.build(null, "Pushkin"));
+
+        AuthorDto withBook = authorService.addBookToAuthor(new BookRequest(author.getId(), "Onegin", 324));
+        long bookId = bookIdOf(author, "Onegin");
+
+        assertTrue(bookReadModel.isServing());
+        assertEquals(List.of("Onegin"), withBook.books().stream().map(BookDto::title).toList());
+        assertEquals("Onegin", bookReadModel.find(bookId).orElseThrow().title());
+
+        bookService.updateBookInfo(bookId, new BookRequest(author.getId(), "Eugene Onegin", 330));
+
+        assertEquals(330, bookService.getActiveBookById(bookId).pagesNumber());
+        assertEquals(List.of("Eugene Onegin"),
+                authorService.getActiveAuthorById(author.getId()).books().stream().map(BookDto::title).toList());
+
+        authorService.deleteAuthorById(author.getId());
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(bookId));
+    }
+
+    //The second update records its change while the first holds the row, it commits last and has to win
+    @Test
+    void concurrentUpdates_ShouldApplyInCommitOrder() throws Exception {
+
+        Author author = authorRepository.save(Author.build(null, "Lermontov"));
+        authorService.addBookToAuthor(new BookRequest(author.getId(), "Mtsyri", 40));
+        long bookId = bookIdOf(author, "Mtsyri");
+
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                bookRepository.lockActiveById(bookId);
+                locked.countDown();
+                sleep(300);
+                bookService.updateBookInfo(bookId, new BookRequest(author.getId(), "First", 41));
+            }));
+            assertTrue(locked.await(10, TimeUnit.SECONDS));
+            Future<?> second = executor.submit(
+                    () -> bookService.updateBookInfo(bookId, new BookRequest(author.getId(), "Second", 42)));
+
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("Second", bookRepository.findById(bookId).orElseThrow().getTitle());
+        assertEquals("Second", bookReadModel.find(bookId).orElseThrow().title());
+    }
+
+    @Test
+    void rolledBackChange_ShouldNotReachReadModel() {
+
+        Author author = authorRepository.save(Author.build(null, "Gogol"));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            authorService.addBookToAuthor(new BookRequest(author.getId(), "Viy", 80));
+            throw new IllegalStateException("Rolled back");
+        }));
+
+        assertEquals(List.of(), bookReadModel.booksOfAuthor(author.getId(), 0, 10));
+    }
+
+    @Test
+    void afterSingletonsInstantiated_ShouldLoadActiveBooks() {
+
+        Author author = new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Tolstoy", 3);
+        long bookId = bookIdOf(author, "Tolstoy book 1");
+
+        assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(bookId));
+
+        bookReadModelUpdater.afterSingletonsInstantiated();
+
+        assertEquals("Tolstoy book 1", bookService.getActiveBookById(bookId).title());
+        assertEquals(3, bookReadModel.booksOfAuthor(author.getId(), 0, 10).size());
+    }
+
+    private long bookIdOf(Author author, String title) {
+        return bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(author.getId(), 0L, Limit.of(100))
+                .stream()
+                .filter(book -> book.getTitle().equals(title))
+                .map(Book::getId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
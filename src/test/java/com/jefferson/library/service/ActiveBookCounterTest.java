@@ -0,0 +1,93 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bookcount")
+public class ActiveBookCounterTest {
+
+    @Autowired
+    private ActiveBookCounter activeBookCounter;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BulkService bulkService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void reconcile() {
+        activeBookCounter.reconcile();
+    }
+
+    @AfterEach
+    void cleanData() {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+    }
+
+    @Test
+    void writePaths_ShouldKeepCounterExact() {
+
+        List<Long> authorIds = bulkService.createAuthors(new BulkAuthorRequest(
+                List.of(new AuthorRequest("Pushkin"), new AuthorRequest("Gogol")))).ids();
+        for(int i = 0; i < 4; i++) {
+            authorService.addBookToAuthor(new BookRequest(authorIds.get(0), "Pushkin " + i, 100 + i));
+        }
+        authorService.addBookToAuthor(new BookRequest(authorIds.get(1), "Dead Souls", 350));
+        assertEquals(5, activeBookCounter.total());
+
+        List<Long> bookIds = bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorIds.get(0),
+                0L, Limit.of(4)).stream().map(Book::getId).toList();
+        bookService.deleteBook(bookIds.get(0));
+        bookService.deleteBook(bookIds.get(0));
+        assertEquals(4, activeBookCounter.total());
+
+        bulkService.deleteBooks(new BulkDeleteRequest(List.of(bookIds.get(0), bookIds.get(1))));
+        assertEquals(3, activeBookCounter.total());
+
+        //Two active books left, the one deleted before mustn't be subtracted again
+        authorService.deleteAuthorById(authorIds.get(0));
+        assertEquals(1, activeBookCounter.total());
+
+        assertEquals(bookRepository.countByDeletedFalse(), activeBookCounter.total());
+        assertEquals(0, authorRepository.findById(authorIds.get(0)).orElseThrow().getBookCount());
+        assertEquals(1, authorRepository.findById(authorIds.get(1)).orElseThrow().getBookCount());
+        assertEquals(0, activeBookCounter.reconcile());
+    }
+
+    @Test
+    void reconcile_ShouldCountBooksWrittenAroundServices() {
+
+        new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Lermontov", 3);
+        assertEquals(0, activeBookCounter.total());
+
+        assertEquals(3, activeBookCounter.reconcile());
+        assertEquals(3, activeBookCounter.total());
+        assertEquals(3, authorRepository.findAll().iterator().next().getBookCount());
+    }
+}
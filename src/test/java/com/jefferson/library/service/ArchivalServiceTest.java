@@ -0,0 +1,141 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.ArchivalResult;
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.ArchivedAuthorRepository;
+import com.jefferson.library.repository.ArchivedBookRepository;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ArchivalServiceTest {
+
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ArchivedBookRepository archivedBookRepository;
+
+    @Autowired
+    private ArchivedAuthorRepository archivedAuthorRepository;
+
+    private CatalogFixtures fixtures;
+
+    @BeforeEach
+    void initFixtures() {
+        fixtures = new CatalogFixtures(authorRepository, bookRepository);
+    }
+
+    @AfterEach
+    void cleanData() {
+        archivedBookRepository.deleteAll();
+        archivedAuthorRepository.deleteAll();
+        fixtures.clean();
+    }
+
+    @Test
+    void archiveDeletedBefore_ShouldMoveOnlyExpiredRows() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 3);
+        List<Long> bookIds = bookIdsOf(author);
+        bookService.deleteBook(bookIds.get(0));
+
+        ArchivalResult notExpired = archivalService.archiveDeletedBefore(LocalDateTime.now().minusDays(1));
+        ArchivalResult expired = archivalService.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        assertEquals(new ArchivalResult(0, 0, 0), notExpired);
+        assertEquals(new ArchivalResult(1, 0, 1), expired);
+        assertFalse(bookRepository.existsById(bookIds.get(0)));
+        assertTrue(archivedBookRepository.existsById(bookIds.get(0)));
+        assertTrue(bookRepository.existsById(bookIds.get(1)));
+    }
+
+    @Test
+    void archiveDeletedBefore_ShouldArchiveAuthorAfterItsBooks() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 2);
+        authorService.deleteAuthorById(author.getId());
+
+        ArchivalResult result = archivalService.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        assertEquals(2, result.booksArchived());
+        assertEquals(1, result.authorsArchived());
+        assertFalse(authorRepository.existsById(author.getId()));
+        assertTrue(archivedAuthorRepository.existsById(author.getId()));
+    }
+
+    @Test
+    void restoreBook_ShouldBringBackBookAndArchivedAuthor() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 1);
+        Long bookId = bookIdsOf(author).get(0);
+        authorService.deleteAuthorById(author.getId());
+        archivalService.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        BookDto restored = archivalService.restoreBook(bookId);
+
+        assertEquals(author.getId(), restored.authorId());
+        assertEquals("Pushkin book 0", bookService.getActiveBookById(bookId).title());
+        assertTrue(authorRepository.findByIdAndDeletedFalse(author.getId()).isPresent());
+        assertFalse(archivedBookRepository.existsById(bookId));
+        assertFalse(archivedAuthorRepository.existsById(author.getId()));
+    }
+
+    @Test
+    void restoreAuthor_ShouldBringBackAuthorWithoutBooks() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 1);
+        authorService.deleteAuthorById(author.getId());
+        archivalService.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        AuthorDto restored = archivalService.restoreAuthor(author.getId());
+
+        assertEquals("Pushkin", restored.name());
+        assertTrue(authorRepository.findByIdAndDeletedFalse(author.getId()).isPresent());
+        assertEquals(0, bookRepository.count());
+    }
+
+    @Test
+    void restoreBook_ShouldThrowBookNotFoundException_WhenNotArchived() {
+
+        BookNotFoundException exception = assertThrows(BookNotFoundException.class,
+                () -> archivalService.restoreBook(100L));
+
+        assertEquals("Archived book not found for id: 100", exception.getMessage());
+    }
+
+    private List<Long> bookIdsOf(Author author) {
+        return ((List<Book>) bookRepository.findAll()).stream()
+                .filter(book -> book.getAuthor().getId().equals(author.getId()))
+                .map(Book::getId)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.dto.AuthorSummary;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class AuthorListingServiceTest {
+
+    @Autowired
+    private AuthorListingService authorListingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ActiveBookCounter activeBookCounter;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private CatalogFixtures fixtures;
+
+    @BeforeEach
+    void initFixtures() {
+        fixtures = new CatalogFixtures(authorRepository, bookRepository);
+    }
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @Test
+    void listActiveAuthors_ShouldPageByNameWithBookCounts() {
+
+        fixtures.authorWithBooks("Tolstoy", 2);
+        fixtures.authorWithBooks("Pushkin", 3);
+        fixtures.authorWithBooks("Gogol", 0);
+        Author deleted = fixtures.authorWithBooks("Chekhov", 1);
+        //The fixtures skip the services, so the book counts are reconciled
+        activeBookCounter.reconcile();
+        authorService.deleteAuthorById(deleted.getId());
+
+        List<AuthorSummary> listed = listAll(AuthorSort.NAME, 2);
+
+        assertEquals(List.of("Gogol", "Pushkin", "Tolstoy"), listed.stream().map(AuthorSummary::name).toList());
+        assertEquals(List.of(0L, 3L, 2L), listed.stream().map(AuthorSummary::bookCount).toList());
+    }
+
+    @Test
+    void listActiveAuthors_ShouldPageByBookCountSkippingDeletedBooks() {
+
+        Author pushkin = fixtures.authorWithBooks("Pushkin", 3);
+        fixtures.authorWithBooks("Tolstoy", 2);
+        fixtures.authorWithBooks("Gogol", 2);
+        fixtures.authorWithBooks("Chekhov", 1);
+        activeBookCounter.reconcile();
+
+        //Pushkin drops to 2 books and ties with Tolstoy and Gogol, the id breaks the tie
+        bookService.deleteBook(bookRepository.findAll().iterator().next().getId());
+
+        List<AuthorSummary> listed = listAll(AuthorSort.BOOK_COUNT, 1);
+
+        assertEquals(List.of("Pushkin", "Tolstoy", "Gogol", "Chekhov"),
+                listed.stream().map(AuthorSummary::name).toList());
+        assertEquals(List.of(2L, 2L, 2L, 1L), listed.stream().map(AuthorSummary::bookCount).toList());
+        assertEquals(pushkin.getId(), listed.get(0).id());
+    }
+
+    @Test
+    void listActiveAuthors_ShouldThrowInvalidPageRequest_CursorOfOtherSort() {
+
+        fixtures.authorWithBooks("Pushkin", 1);
+        fixtures.authorWithBooks("Gogol", 1);
+
+        CursorPage<AuthorSummary> page = authorListingService.listActiveAuthors(AuthorSort.NAME, null, 1);
+
+        assertTrue(page.hasMore());
+        assertThrows(InvalidPageRequestException.class,
+                () -> authorListingService.listActiveAuthors(AuthorSort.BOOK_COUNT, page.nextCursor(), 1));
+        assertThrows(InvalidPageRequestException.class,
+                () -> authorListingService.listActiveAuthors(AuthorSort.NAME, "not a cursor", 1));
+    }
+
+    @Test
+    void listActiveAuthors_ShouldThrowInvalidPageRequest_LimitAboveMaxPageSize() {
+
+        assertThrows(InvalidPageRequestException.class,
+                () -> authorListingService.listActiveAuthors(AuthorSort.NAME, null, 201));
+    }
+
+    private List<AuthorSummary> listAll(AuthorSort sort, int limit) {
+        List<AuthorSummary> listed = new ArrayList<>();
+        CursorPage<AuthorSummary> page = authorListingService.listActiveAuthors(sort, null, limit);
+        listed.addAll(page.items());
+        while(page.hasMore()) {
+            page = authorListingService.listActiveAuthors(sort, page.nextCursor(), limit);
+            listed.addAll(page.items());
+        }
+        assertNull(page.nextCursor());
+        return listed;
+    }
+}
@@ -4,11 +4,21 @@ import com.jefferson.library.dto.AuthorDto;
 import com.jefferson.library.dto.AuthorRequest;
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BookSnapshot;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.config.PagingProperties;
 import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.exception.InvalidPageRequestException;
 import com.jefferson.library.mapper.AuthorMapper;
+import com.jefferson.library.mapper.BookMapper;
 import com.jefferson.library.model.Author;
 import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.BookReadModel;
 import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,17 +26,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
 import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,13 +52,30 @@ public class AuthorServiceTest {
     @Mock
     private AuthorRepository authorRepository;
 
+    @Mock
+    private BookRepository bookRepository;
+
     @Mock
     private AuthorMapper authorMapper;
 
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ActiveBookCounter activeBookCounter;
+
+    private BookReadModel bookReadModel;
+
     @BeforeEach
     void initTests() {
 
-        authorService = new AuthorService(authorRepository, authorMapper);
+        var pageRequestPolicy = new PageRequestPolicy(new PagingProperties(200, 1000, 500, Set.of("id"), 2));
+        bookReadModel = new BookReadModel();
+        authorService = new AuthorService(authorRepository, bookRepository, authorMapper, bookMapper,
+                outboxService, activeBookCounter, pageRequestPolicy, bookReadModel, HotKeys.disabled(), ActiveIds.disabled());
 
         var validatorFactory = new LocalValidatorFactoryBean();
         validatorFactory.afterPropertiesSet();
@@ -77,13 +109,115 @@ public class AuthorServiceTest {
         AuthorDto authorDtoExpected = new AuthorDto(authorName, List.of(bookDto), LocalDateTime.now());
 
         when(authorRepository.findByIdAndDeletedFalse(authorId)).thenReturn(Optional.of(author));
-        when(authorMapper.toDtoWithBooks(author)).thenReturn(authorDtoFromMapper);
+        when(bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 0L, Limit.of(3)))
+                .thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(authorMapper.toDtoWithBooks(author, List.of(bookDto), null)).thenReturn(authorDtoFromMapper);
 
         AuthorDto authorDtoActual = authorService.getActiveAuthorById(authorId);
 
         assertEquals(authorDtoExpected, authorDtoActual);
     }
 
+    @Test
+    void getActiveAuthorById_ShouldEmbedFirstBooksWithCursor() {
+
+        Long authorId = 1L;
+        Author author = Author.build(authorId, "Pushkin");
+        Book book1 = Book.buildBook(2L, "Onegin", 324, author);
+        Book book2 = Book.buildBook(3L, "Dubrovsky", 120, author);
+        Book book3 = Book.buildBook(4L, "Poltava", 80, author);
+        BookDto bookDto1 = new BookDto(authorId, "Onegin", 324, LocalDateTime.now());
+        BookDto bookDto2 = new BookDto(authorId, "Dubrovsky", 120, LocalDateTime.now());
+
+        AuthorDto authorDtoFromMapper = new AuthorDto("Pushkin", List.of(), LocalDateTime.now(), "cursor");
+
+        when(authorRepository.findByIdAndDeletedFalse(authorId)).thenReturn(Optional.of(author));
+        when(bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 0L, Limit.of(3)))
+                .thenReturn(List.of(book1, book2, book3));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+        when(bookMapper.toDto(book2)).thenReturn(bookDto2);
+        when(authorMapper.toDtoWithBooks(eq(author), eq(List.of(bookDto1, bookDto2)), anyString()))
+                .thenReturn(authorDtoFromMapper);
+
+        assertEquals(authorDtoFromMapper, authorService.getActiveAuthorById(authorId));
+    }
+
+    @Test
+    void getActiveBooksOfAuthor_ShouldPageByCursor() {
+
+        Long authorId = 1L;
+        Author author = Author.build(authorId, "Pushkin");
+        Book book1 = Book.buildBook(2L, "Onegin", 324, author);
+        Book book2 = Book.buildBook(3L, "Dubrovsky", 120, author);
+        Book book3 = Book.buildBook(4L, "Poltava", 80, author);
+        BookDto bookDto3 = new BookDto(authorId, "Poltava", 80, LocalDateTime.now());
+
+        when(authorRepository.existsByIdAndDeletedFalse(authorId)).thenReturn(true);
+        when(bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 0L, Limit.of(3)))
+                .thenReturn(List.of(book1, book2, book3));
+
+        CursorPage<BookDto> first = authorService.getActiveBooksOfAuthor(authorId, null, 2);
+
+        assertEquals(2, first.items().size());
+        assertTrue(first.hasMore());
+
+        when(bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 3L, Limit.of(3)))
+                .thenReturn(List.of(book3));
+        when(bookMapper.toDto(book3)).thenReturn(bookDto3);
+
+        CursorPage<BookDto> last = authorService.getActiveBooksOfAuthor(authorId, first.nextCursor(), 2);
+
+        assertEquals(List.of(bookDto3), last.items());
+        assertFalse(last.hasMore());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void getActiveBooksOfAuthor_ShouldBeServedByReadModel() {
+
+        Long authorId = 1L;
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        bookReadModel.load(List.of(
+                new BookSnapshot(2L, authorId, "Onegin", 324, createdAt, false, 0),
+                new BookSnapshot(3L, authorId, "Dubrovsky", 120, createdAt, false, 0),
+                new BookSnapshot(4L, authorId, "Poltava", 80, createdAt, false, 0),
+                new BookSnapshot(5L, 9L, "Demons", 700, createdAt, false, 0)));
+        bookReadModel.startServing();
+
+        when(authorRepository.existsByIdAndDeletedFalse(authorId)).thenReturn(true);
+
+        CursorPage<BookDto> first = authorService.getActiveBooksOfAuthor(authorId, null, 2);
+        CursorPage<BookDto> last = authorService.getActiveBooksOfAuthor(authorId, first.nextCursor(), 2);
+
+        assertEquals(List.of(new BookDto(authorId, "Onegin", 324, createdAt),
+                new BookDto(authorId, "Dubrovsky", 120, createdAt)), first.items());
+        assertTrue(first.hasMore());
+        assertEquals(List.of(new BookDto(authorId, "Poltava", 80, createdAt)), last.items());
+        assertFalse(last.hasMore());
+
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
+    @Test
+    void getActiveBooksOfAuthor_ShouldThrowAuthorNotFoundException() {
+
+        when(authorRepository.existsByIdAndDeletedFalse(100L)).thenReturn(false);
+
+        assertThrows(AuthorNotFoundException.class, () -> authorService.getActiveBooksOfAuthor(100L, null, 10));
+
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void getActiveBooksOfAuthor_ShouldThrowInvalidPageRequestException_BadCursor() {
+
+        when(authorRepository.existsByIdAndDeletedFalse(1L)).thenReturn(true);
+
+        assertThrows(InvalidPageRequestException.class, () -> authorService.getActiveBooksOfAuthor(1L, "???", 10));
+        assertThrows(InvalidPageRequestException.class, () -> authorService.getActiveBooksOfAuthor(1L, null, 201));
+    }
+
     @Test
     void getActiveAuthorById_ShouldThrowAuthorNotFoundException() {
 
@@ -97,7 +231,7 @@ public class AuthorServiceTest {
         assertEquals("Author not found for id: " + authorId, exception.getMessage());
 
         verify(authorRepository).findByIdAndDeletedFalse(authorId);
-        verify(authorMapper, never()).toDtoWithBooks(any());
+        verify(authorMapper, never()).toDtoWithBooks(any(), any(), any());
         verifyNoMoreInteractions(authorRepository);
     }
 
@@ -157,6 +291,8 @@ public class AuthorServiceTest {
         AuthorDto authorDtoActual = authorService.createNewAuthor(authorRequest);
 
         assertEquals(authorDtoExpected, authorDtoActual);
+
+        verify(outboxService).recordAuthorChange(savedAuthor, ChangeType.CREATED);
     }
 
     @Test
@@ -213,30 +349,36 @@ public class AuthorServiceTest {
         Author author = Author.build(authorId, authorName);
 
         Book  book = Book.buildBook(bookId1, bookTitle1, numberOfPages1, author);
-        author.addBook(book);
 
         BookRequest bookRequest = new BookRequest(authorId, bookTitle2, numberOfPages2);
 
         BookDto bookDto = new BookDto(authorId, bookTitle1, numberOfPages1, LocalDateTime.now());
         BookDto bookDto2 = new BookDto(authorId, bookTitle2, numberOfPages2, LocalDateTime.now());
 
-        Book newBook = Book.buildBook(null, bookRequest.title(), bookRequest.pagesNumber(), author);
-
-        Author updatedAuthor = Author.build(authorId, authorName);
-        updatedAuthor.addBook(book);
-        updatedAuthor.addBook(newBook);
+        Book newBook = Book.buildBook(3L, bookRequest.title(), bookRequest.pagesNumber(), author);
 
         AuthorDto authorDtoFromMapper = new AuthorDto(authorName, List.of(bookDto, bookDto2), LocalDateTime.now());
 
         AuthorDto authorDtoExpected = new AuthorDto(authorName, List.of(bookDto, bookDto2), LocalDateTime.now());
 
         when(authorRepository.findByIdAndDeletedFalse(authorId)).thenReturn(Optional.of(author));
-        when(authorRepository.save(author)).thenReturn(updatedAuthor);
-        when(authorMapper.toDtoWithBooks(updatedAuthor)).thenReturn(authorDtoFromMapper);
+        when(bookRepository.save(any(Book.class))).thenReturn(newBook);
+        when(bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(authorId, 0L, Limit.of(3)))
+                .thenReturn(List.of(book, newBook));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+        when(bookMapper.toDto(newBook)).thenReturn(bookDto2);
+        when(authorMapper.toDtoWithBooks(author, List.of(bookDto, bookDto2), null)).thenReturn(authorDtoFromMapper);
 
         AuthorDto authorDtoActual = authorService.addBookToAuthor(bookRequest);
 
         assertEquals(authorDtoExpected, authorDtoActual);
+
+        verify(bookRepository).save(argThat(saved -> saved.getAuthor() == author
+                && saved.getTitle().equals(bookTitle2) && saved.getPagesNumber() == numberOfPages2));
+        verify(authorRepository, never()).save(any());
+        verify(outboxService).recordBookChange(newBook, ChangeType.CREATED);
+        verifyNoMoreInteractions(outboxService);
+        verify(activeBookCounter).add(authorId, 1);
     }
 
     @Test
@@ -256,8 +398,9 @@ public class AuthorServiceTest {
         assertEquals("Author not found for id: " + authorId, exception.getMessage());
 
         verify(authorRepository).findByIdAndDeletedFalse(authorId);
-        verify(authorMapper, never()).toDtoWithBooks(any());
+        verify(authorMapper, never()).toDtoWithBooks(any(), any(), any());
         verifyNoMoreInteractions(authorRepository);
+        verifyNoInteractions(bookRepository);
     }
 
     @Test
@@ -341,13 +484,26 @@ public class AuthorServiceTest {
 
         Book  book = Book.buildBook(bookId, bookTitle, numberOfPages, author);
         author.addBook(book);
+        Book deletedBook = Book.buildBook(3L, "Poltava", 120, author);
+        deletedBook.setDeleted(true);
+        author.addBook(deletedBook);
 
         when(authorRepository.findByIdAndDeletedFalse(authorId)).thenReturn(Optional.of(author));
+        when(bookRepository.lockActiveByAuthorId(authorId)).thenReturn(List.of(book));
 
         authorService.deleteAuthorById(authorId);
 
+        assertTrue(author.isDeleted());
+        assertTrue(book.isDeleted());
+        assertEquals(1, book.getVersion());
+        assertEquals(0, deletedBook.getVersion());
+
         verify(authorRepository).findByIdAndDeletedFalse(authorId);
         verify(authorRepository).save(author);
+        verify(outboxService).recordAuthorChange(author, ChangeType.DELETED);
+        verify(outboxService).recordBookChange(book, ChangeType.DELETED);
+        verifyNoMoreInteractions(outboxService);
+        verify(activeBookCounter).add(authorId, -1);
     }
 
     @Test
@@ -361,6 +517,8 @@ public class AuthorServiceTest {
 
         verify(authorRepository).findByIdAndDeletedFalse(authorId);
         verifyNoMoreInteractions(authorRepository);
+        verifyNoInteractions(outboxService);
+        verifyNoInteractions(activeBookCounter);
     }
 
     @Test
@@ -0,0 +1,78 @@
+package com.jefferson.library.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.exception.AuthorNotFoundException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "library.paging.stream-chunk-size=100")
+public class AuthorStreamingServiceTest {
+
+    @Autowired
+    private AuthorStreamingService authorStreamingService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void cleanData() {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+    }
+
+    @Test
+    void streamActiveAuthor_ShouldWriteAllBooksInChunks() throws IOException {
+
+        Author author = new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Dumas", 250);
+        FlushCountingOutputStream outputStream = new FlushCountingOutputStream();
+
+        AuthorDto header = authorStreamingService.getActiveAuthorWithoutBooks(author.getId());
+        authorStreamingService.streamActiveAuthor(author.getId(), header, outputStream);
+
+        JsonNode json = objectMapper.readTree(outputStream.toByteArray());
+        assertEquals("Dumas", json.get("name").asText());
+        assertEquals(250, json.get("books").size());
+        assertEquals("Dumas book 0", json.get("books").get(0).get("title").asText());
+        assertEquals("Dumas book 249", json.get("books").get(249).get("title").asText());
+        //The author first, then a flush per chunk of 100
+        assertTrue(outputStream.flushes >= 4);
+        assertTrue(outputStream.firstFlushSize < 200);
+    }
+
+    @Test
+    void getActiveAuthorWithoutBooks_ShouldThrowAuthorNotFoundException() {
+
+        assertThrows(AuthorNotFoundException.class, () -> authorStreamingService.getActiveAuthorWithoutBooks(100_000L));
+    }
+
+    private static class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+        private int flushes;
+        private int firstFlushSize = -1;
+
+        @Override
+        public void flush() {
+            if(flushes++ == 0) {
+                firstFlushSize = size();
+            }
+        }
+    }
+}
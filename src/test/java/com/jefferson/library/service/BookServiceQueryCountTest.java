@@ -0,0 +1,78 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.support.CatalogFixtures;
+import com.jefferson.library.support.SqlBudget;
+import com.jefferson.library.support.SqlBudgetTest;
+import com.jefferson.library.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SqlBudgetTest
+public class BookServiceQueryCountTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private ActiveBookCounter activeBookCounter;
+
+    private List<Book> books;
+
+    @BeforeEach
+    void initData() {
+        books = fixtures.booksOfDistinctAuthors(12);
+        //The fixtures write around the services, the counter only learns of them by reconciliation
+        activeBookCounter.reconcile();
+    }
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @Test
+    @SqlBudget(selects = 2, roundTrips = 2)
+    void getAllActiveBooks_ShouldIssueOneSelectPlusCounterSum_WhenPageIsNotLast() throws Throwable {
+
+        Page<BookDto> page = counter.measure(() -> bookService.getAllActiveBooks(PageRequest.of(0, 5)));
+
+        assertEquals(5, page.getContent().size());
+        assertEquals(12, page.getTotalElements());
+        page.getContent().forEach(bookDto -> assertNotNull(bookDto.authorId()));
+    }
+
+    @Test
+    @SqlBudget(selects = 1, roundTrips = 1)
+    void getAllActiveBooks_ShouldIssueSingleSelect_WhenCountIsNotNeeded() throws Throwable {
+
+        Page<BookDto> page = counter.measure(() -> bookService.getAllActiveBooks(PageRequest.of(0, 50)));
+
+        assertEquals(12, page.getContent().size());
+    }
+
+    @Test
+    @SqlBudget(selects = 1, inserts = 0, updates = 0, roundTrips = 1)
+    void getActiveBookById_ShouldNotLoadAuthor() throws Throwable {
+
+        BookDto bookDto = counter.measure(() -> bookService.getActiveBookById(books.get(3).getId()));
+
+        assertEquals("Book 3", bookDto.title());
+    }
+}
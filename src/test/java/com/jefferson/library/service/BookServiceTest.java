@@ -2,11 +2,17 @@ package com.jefferson.library.service;
 
 import com.jefferson.library.dto.BookDto;
 import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.BookSnapshot;
 import com.jefferson.library.exception.BookNotFoundException;
 import com.jefferson.library.mapper.BookMapper;
 import com.jefferson.library.model.Author;
 import com.jefferson.library.model.Book;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIds;
+import com.jefferson.library.readmodel.BookReadModel;
 import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,10 +44,20 @@ public class BookServiceTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ActiveBookCounter activeBookCounter;
+
+    private BookReadModel bookReadModel;
+
     @BeforeEach
     void initTests() {
 
-        bookService = new BookService(bookRepository, bookMapper);
+        bookReadModel = new BookReadModel();
+        bookService = new BookService(bookRepository, bookMapper, outboxService, activeBookCounter, Shards.single(), bookReadModel,
+                HotKeys.disabled(), ActiveIds.disabled());
 
         var validatorFactory = new LocalValidatorFactoryBean();
         validatorFactory.afterPropertiesSet();
@@ -70,9 +86,7 @@ public class BookServiceTest {
         BookDto bookDto1 = new BookDto(1L, "Book 1", 100, LocalDateTime.now());
         BookDto bookDto2 = new BookDto(1L, "Book 2", 200, LocalDateTime.now());
 
-        Page<Book> bookPage = new PageImpl<>(List.of(book1, book2), pageable, 2);
-
-        when(bookRepository.findAllByDeletedFalse(pageable)).thenReturn(bookPage);
+        when(bookRepository.findByDeletedFalse(pageable)).thenReturn(List.of(book1, book2));
         when(bookMapper.toDto(book1)).thenReturn(bookDto1);
         when(bookMapper.toDto(book2)).thenReturn(bookDto2);
 
@@ -81,8 +95,11 @@ public class BookServiceTest {
 
         assertTrue(content.contains(bookDto1));
         assertTrue(content.contains(bookDto2));
+        assertEquals(2, result.getTotalElements());
 
-        verify(bookRepository, times(1)).findAllByDeletedFalse(pageable);
+        //A first page that isn't full is the whole catalog, the counter isn't read
+        verifyNoInteractions(activeBookCounter);
+        verify(bookRepository, times(1)).findByDeletedFalse(pageable);
         verify(bookMapper, times(1)).toDto(book1);
         verify(bookMapper, times(1)).toDto(book2);
 
@@ -106,6 +123,58 @@ public class BookServiceTest {
         verifyNoInteractions(bookMapper);
     }
 
+    @Test
+    void getAllActiveBooks_ShouldBeServedByReadModel_IdOrder() {
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        bookReadModel.load(List.of(
+                new BookSnapshot(1L, 1L, "Book 1", 100, createdAt, false, 0),
+                new BookSnapshot(2L, 1L, "Book 2", 200, createdAt, false, 0),
+                new BookSnapshot(3L, 2L, "Book 3", 300, createdAt, false, 0)));
+        bookReadModel.startServing();
+
+        Page<BookDto> result = bookService.getAllActiveBooks(PageRequest.of(1, 2, Sort.by("id")));
+
+        assertEquals(List.of(new BookDto(2L, "Book 3", 300, createdAt)), result.getContent());
+        assertEquals(3, result.getTotalElements());
+
+        when(bookRepository.findByDeletedFalse(any(Pageable.class))).thenReturn(List.of());
+        bookService.getAllActiveBooks(PageRequest.of(0, 2, Sort.by("title")));
+
+        verify(bookRepository).findByDeletedFalse(PageRequest.of(0, 2, Sort.by("title")));
+    }
+
+    @Test
+    void getAllActiveBooks_ShouldTakeTotalFromCounter_WhenPageIsFull() {
+
+        Pageable pageable = PageRequest.of(1, 2);
+        Author author = Author.build(1L, "Test Author");
+        Book book1 = Book.buildBook(3L, "Book 3", 100, author);
+        Book book2 = Book.buildBook(4L, "Book 4", 200, author);
+
+        when(bookRepository.findByDeletedFalse(pageable)).thenReturn(List.of(book1, book2));
+        when(activeBookCounter.total()).thenReturn(42L);
+
+        Page<BookDto> result = bookService.getAllActiveBooks(pageable);
+
+        assertEquals(42, result.getTotalElements());
+        assertEquals(21, result.getTotalPages());
+        verify(bookRepository, never()).countByDeletedFalse();
+    }
+
+    @Test
+    void getActiveBookById_ShouldBeServedByReadModel() {
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 10, 0);
+        bookReadModel.load(List.of(new BookSnapshot(2L, 1L, "Book 2", 200, createdAt, false, 0)));
+        bookReadModel.startServing();
+
+        assertEquals(new BookDto(1L, "Book 2", 200, createdAt), bookService.getActiveBookById(2L));
+        assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(3L));
+
+        verifyNoInteractions(bookRepository, bookMapper);
+    }
+
     @Test
     void getActiveBookById_ShouldReturnBook() {
 
@@ -200,7 +269,7 @@ public class BookServiceTest {
 
         BookDto bookDtoExpected = new BookDto(authorId, "Changed Title", 200, LocalDateTime.now());
 
-        when(bookRepository.findByIdAndDeletedFalse(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.lockActiveById(bookId)).thenReturn(Optional.of(book));
         when(bookRepository.save(book)).thenReturn(updatedBook);
         when(bookMapper.toDto(updatedBook)).thenReturn(bookDto);
 
@@ -208,10 +277,10 @@ public class BookServiceTest {
 
         assertEquals(bookDtoExpected, result);
 
-        verify(bookRepository, times(1)).findByIdAndDeletedFalse(bookId);
+        verify(bookRepository, times(1)).lockActiveById(bookId);
         verify(bookRepository, times(1)).save(book);
         verify(bookMapper, times(1)).toDto(updatedBook);
-
+        verify(outboxService, times(1)).recordBookChange(updatedBook, ChangeType.UPDATED);
     }
 
     @Test
@@ -220,14 +289,14 @@ public class BookServiceTest {
         Long bookId = 100L;
         BookRequest bookRequest = new BookRequest(1L, "Changed Title", 200);
 
-        when(bookRepository.findByIdAndDeletedFalse(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.lockActiveById(bookId)).thenReturn(Optional.empty());
 
         BookNotFoundException exception = assertThrows(BookNotFoundException.class,
                 () -> bookService.updateBookInfo(bookId, bookRequest));
 
         assertEquals("Book not found for id: " + bookId, exception.getMessage());
 
-        verify(bookRepository, times(1)).findByIdAndDeletedFalse(bookId);
+        verify(bookRepository, times(1)).lockActiveById(bookId);
         verifyNoInteractions(bookMapper);
         verifyNoMoreInteractions(bookRepository);
     }
@@ -314,13 +383,16 @@ public class BookServiceTest {
         Author author = Author.build(authorId, "Test Author");
         Book book = Book.buildBook(bookId, "Book 1", numberOfPages, author);
 
-        when(bookRepository.findByIdAndDeletedFalse(bookId)).thenReturn(Optional.of(book));
+        when(bookRepository.lockActiveById(bookId)).thenReturn(Optional.of(book));
 
         bookService.deleteBook(bookId);
 
         assertTrue(book.isDeleted());
-        verify(bookRepository, times(1)).findByIdAndDeletedFalse(bookId);
+        assertEquals(1, book.getVersion());
+        verify(bookRepository, times(1)).lockActiveById(bookId);
         verify(bookRepository, times(1)).save(book);
+        verify(outboxService, times(1)).recordBookChange(book, ChangeType.DELETED);
+        verify(activeBookCounter).add(authorId, -1);
     }
 
     @Test
@@ -328,12 +400,13 @@ public class BookServiceTest {
 
         Long bookId = 2L;
 
-        when(bookRepository.findByIdAndDeletedFalse(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.lockActiveById(bookId)).thenReturn(Optional.empty());
 
         bookService.deleteBook(bookId);
 
-        verify(bookRepository, times(1)).findByIdAndDeletedFalse(bookId);
+        verify(bookRepository, times(1)).lockActiveById(bookId);
         verifyNoMoreInteractions(bookRepository);
+        verifyNoInteractions(activeBookCounter);
     }
 
     @Test
@@ -0,0 +1,100 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BulkAuthorRequest;
+import com.jefferson.library.dto.BulkDeleteRequest;
+import com.jefferson.library.dto.BulkResult;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.repository.OutboxEventRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//A chunk size of 2 makes every request span several chunks
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk",
+        "library.bulk.chunk-size=2"
+})
+public class BulkServiceTest {
+
+    @Autowired
+    private BulkService bulkService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void cleanData() {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+    }
+
+    @Test
+    void createAuthors_ShouldReturnIdsInRequestOrder() {
+
+        long events = outboxEventRepository.count();
+        List<AuthorRequest> requests = IntStream.range(0, 5).mapToObj(i -> new AuthorRequest("Author " + i)).toList();
+
+        BulkResult result = bulkService.createAuthors(new BulkAuthorRequest(requests));
+
+        assertEquals(5, result.requested());
+        assertEquals(5, result.ids().size());
+        for(int i = 0; i < 5; i++) {
+            Author author = authorRepository.findByIdAndDeletedFalse(result.ids().get(i)).orElseThrow();
+            assertEquals("Author " + i, author.getName());
+            assertNotNull(author.getCreatedAt());
+            assertEquals(author.getCreatedAt(), author.getUpdatedAt());
+        }
+        assertEquals(events + 5, outboxEventRepository.count());
+    }
+
+    @Test
+    void createAuthors_ShouldRejectBlankName() {
+
+        BulkAuthorRequest request = new BulkAuthorRequest(List.of(new AuthorRequest("Pushkin"), new AuthorRequest("")));
+
+        assertThrows(ConstraintViolationException.class, () -> bulkService.createAuthors(request));
+        assertEquals(0, authorRepository.count());
+    }
+
+    @Test
+    void deleteBooks_ShouldReportOnlyBooksItDeleted() {
+
+        List<Book> books = new CatalogFixtures(authorRepository, bookRepository).booksOfDistinctAuthors(5);
+        Book alreadyDeleted = books.get(4);
+        alreadyDeleted.setDeleted(true);
+        bookRepository.save(alreadyDeleted);
+        long events = outboxEventRepository.count();
+
+        List<Long> ids = List.of(books.get(0).getId(), books.get(1).getId(), books.get(0).getId(),
+                books.get(2).getId(), alreadyDeleted.getId(), Long.MAX_VALUE);
+
+        BulkResult result = bulkService.deleteBooks(new BulkDeleteRequest(ids));
+
+        assertEquals(6, result.requested());
+        assertEquals(List.of(books.get(0).getId(), books.get(1).getId(), books.get(2).getId()), result.ids());
+        assertEquals(events + 3, outboxEventRepository.count());
+
+        Book deleted = bookRepository.findById(books.get(0).getId()).orElseThrow();
+        assertTrue(deleted.isDeleted());
+        assertNotNull(deleted.getDeletedAt());
+        assertEquals(deleted.getDeletedAt(), deleted.getUpdatedAt());
+        assertTrue(bookRepository.findByIdAndDeletedFalse(books.get(3).getId()).isPresent());
+    }
+}
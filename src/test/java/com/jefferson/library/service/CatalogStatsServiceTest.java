@@ -0,0 +1,117 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.StatsProperties;
+import com.jefferson.library.dto.CatalogStats;
+import com.jefferson.library.dto.CatalogStats.Bucket;
+import com.jefferson.library.dto.DailyCount;
+import com.jefferson.library.exception.StatsNotReadyException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import com.jefferson.library.statistics.PageCounts;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Chunks of 2 rows split down to single rows, so every count goes through several chunks and merges
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stats",
+        "library.stats.chunk-size=2",
+        "library.stats.split-threshold=1",
+        "library.stats.creation-days=7"
+})
+public class CatalogStatsServiceTest {
+
+    @Autowired
+    private CatalogStatsService catalogStatsService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @AfterEach
+    void cleanData() {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+    }
+
+    @Test
+    void refresh_ShouldAggregateActiveCatalog() {
+
+        CatalogFixtures fixtures = new CatalogFixtures(authorRepository, bookRepository);
+        Author pushkin = fixtures.authorWithBooks("Pushkin", 5);
+        fixtures.authorWithBooks("Gogol", 1);
+        fixtures.authorWithBooks("Lermontov", 0);
+
+        Book deleted = bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(pushkin.getId(), 0L,
+                Limit.of(5)).get(4);
+        deleted.setDeleted(true);
+        bookRepository.save(deleted);
+
+        CatalogStats stats = catalogStatsService.refresh();
+
+        assertEquals(5, stats.activeBooks());
+        assertEquals(3, stats.activeAuthors());
+        assertEquals(List.of(new Bucket(0, 0, 1), new Bucket(1, 1, 1), new Bucket(4, 7, 1)), stats.booksPerAuthor());
+
+        //100, 100, 101, 102, 103
+        assertEquals(100, stats.pageCounts().min());
+        assertEquals(103, stats.pageCounts().max());
+        assertEquals(101.2, stats.pageCounts().mean(), 1e-9);
+        assertEquals(101, stats.pageCounts().median());
+        assertEquals(103, stats.pageCounts().p90());
+        assertEquals(List.of(new Bucket(100, 199, 5)), stats.pageCounts().histogram());
+
+        assertEquals(7, stats.createdPerDay().size());
+        assertEquals(new DailyCount(LocalDate.now(), 6), stats.createdPerDay().get(6));
+        assertEquals(new DailyCount(LocalDate.now().minusDays(6), 0), stats.createdPerDay().get(0));
+    }
+
+    @Test
+    void getStats_ShouldThrowStatsNotReady_BeforeFirstRefresh() {
+
+        StatsProperties properties = new StatsProperties(2, 1, 1, 100, 7, Duration.ofMinutes(1));
+        CatalogStatsService notRefreshed = new CatalogStatsService(authorRepository, bookRepository, Shards.single(),
+                properties);
+        try {
+            StatsNotReadyException exception = assertThrows(StatsNotReadyException.class, notRefreshed::getStats);
+
+            assertTrue(exception.getRetryAfter().compareTo(Duration.ofMinutes(1)) <= 0);
+            assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(50)) > 0);
+        } finally {
+            notRefreshed.shutdown();
+        }
+    }
+
+    @Test
+    void getStats_ShouldServeLastRefresh() {
+
+        Author author = authorRepository.save(Author.build(null, "Tolstoy"));
+        bookRepository.save(Book.buildBook(null, "War and Peace", 1225, author));
+
+        CatalogStats first = catalogStatsService.refresh();
+        bookRepository.save(Book.buildBook(null, "Anna Karenina", 20_000, author));
+
+        assertSame(first, catalogStatsService.getStats());
+
+        CatalogStats second = catalogStatsService.refresh();
+        assertEquals(2, second.activeBooks());
+        assertEquals(20_000, second.pageCounts().max());
+        assertEquals(20_000, second.pageCounts().p99());
+        assertEquals(new Bucket(PageCounts.MAX_EXACT_PAGES, 20_000, 1),
+                second.pageCounts().histogram().get(second.pageCounts().histogram().size() - 1));
+        assertSame(second, catalogStatsService.getStats());
+    }
+}
@@ -0,0 +1,188 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.ChangeFeedEntry;
+import com.jefferson.library.model.AggregateType;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.ChangeType;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.repository.OutboxEventRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//The scheduled relay would race the relays of the tests for the subscribers
+@SpringBootTest(properties = "library.outbox.poll-interval=1h")
+public class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogFixtures fixtures;
+
+    private long head;
+
+    @BeforeEach
+    void initFixtures() {
+        fixtures = new CatalogFixtures(authorRepository, bookRepository);
+        changeFeedService.assignPositions();
+        head = changeFeedService.lastPosition();
+    }
+
+    @AfterEach
+    void cleanData() {
+        outboxEventRepository.deleteAll();
+        fixtures.clean();
+    }
+
+    @Test
+    void readAfter_ShouldReturnCommittedChangesInOrder() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 0);
+        authorService.addBookToAuthor(new BookRequest(author.getId(), "Onegin", 324));
+        Long bookId = bookRepository.findAll().iterator().next().getId();
+        bookService.deleteBook(bookId);
+
+        changeFeedService.assignPositions();
+        List<ChangeFeedEntry> entries = changeFeedService.readAfter(head, 100);
+
+        assertEquals(2, entries.size());
+        assertEquals(AggregateType.BOOK, entries.get(0).aggregateType());
+        assertEquals(bookId, entries.get(0).aggregateId());
+        assertEquals(ChangeType.CREATED, entries.get(0).changeType());
+        assertTrue(entries.get(0).payload().contains("\"title\":\"Onegin\""));
+        assertEquals(ChangeType.DELETED, entries.get(1).changeType());
+        assertTrue(entries.get(1).payload().contains("\"deleted\":true"));
+        assertTrue(entries.get(0).sequence() < entries.get(1).sequence());
+    }
+
+    @Test
+    void readAfter_ShouldNotExposeRolledBackChanges() {
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            authorService.createNewAuthor(new AuthorRequest("Pushkin"));
+            status.setRollbackOnly();
+        });
+
+        changeFeedService.assignPositions();
+        assertTrue(changeFeedService.readAfter(head, 100).isEmpty());
+    }
+
+    @Test
+    void readAfter_ShouldResumeFromGivenSequence() {
+
+        AuthorDto first = authorService.createNewAuthor(new AuthorRequest("Pushkin"));
+        authorService.createNewAuthor(new AuthorRequest("Lermontov"));
+
+        changeFeedService.assignPositions();
+        List<ChangeFeedEntry> all = changeFeedService.readAfter(head, 100);
+        List<ChangeFeedEntry> resumed = changeFeedService.readAfter(all.get(0).sequence(), 100);
+
+        assertEquals(2, all.size());
+        assertTrue(all.get(0).payload().contains(first.name()));
+        assertEquals(List.of(all.get(1)), resumed);
+    }
+
+    @Test
+    void assignPositions_ShouldOrderChangesByCommit() throws Exception {
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                authorService.createNewAuthor(new AuthorRequest("Pushkin"));
+                written.countDown();
+                await(release);
+            }));
+            await(written);
+            authorService.createNewAuthor(new AuthorRequest("Lermontov"));
+
+            changeFeedService.assignPositions();
+            List<ChangeFeedEntry> committed = changeFeedService.readAfter(head, 100);
+
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            changeFeedService.assignPositions();
+            List<ChangeFeedEntry> later = changeFeedService.readAfter(committed.get(0).sequence(), 100);
+
+            assertEquals(1, committed.size());
+            assertTrue(committed.get(0).payload().contains("Lermontov"));
+            assertEquals(1, later.size());
+            assertTrue(later.get(0).payload().contains("Pushkin"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void relay_ShouldAdvanceSubscriberCursor() {
+
+        authorService.createNewAuthor(new AuthorRequest("Pushkin"));
+        authorService.createNewAuthor(new AuthorRequest("Lermontov"));
+
+        changeFeedService.subscribe(head);
+
+        assertEquals(1, changeFeedService.subscriberCount());
+        assertEquals(2, changeFeedService.relay());
+        assertEquals(0, changeFeedService.relay());
+    }
+
+    @Test
+    void recordAuthorChange_ShouldRequireTransaction() {
+
+        Author author = Author.build(1L, "Pushkin");
+
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxService.recordAuthorChange(author, ChangeType.CREATED));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.config.ExportProperties;
+import com.jefferson.library.dto.ExportFormat;
+import com.jefferson.library.dto.ExportJobStatus;
+import com.jefferson.library.exception.ExportJobNotFoundException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.sharding.Shards;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = "library.export.chunk-size=7")
+public class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private CatalogFixtures fixtures;
+
+    @BeforeEach
+    void initFixtures() {
+        fixtures = new CatalogFixtures(authorRepository, bookRepository);
+    }
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @Test
+    void startExport_ShouldWriteActiveBooksWithAuthorNames() throws Exception {
+
+        fixtures.authorWithBooks("Pushkin, A.", 20);
+        Author other = fixtures.authorWithBooks("Gogol", 5);
+        bookRepository.findAll().forEach(book -> {
+            if(book.getAuthor().getId().equals(other.getId()) && book.getTitle().endsWith("0")) {
+                book.setDeleted(true);
+                bookRepository.save(book);
+            }
+        });
+
+        ExportJobStatus started = exportService.startExport(ExportFormat.CSV);
+        ExportJobStatus finished = awaitFinished(started.id());
+
+        assertEquals(ExportJobStatus.State.COMPLETED, finished.state());
+        assertEquals(24, finished.rowsWritten());
+        assertEquals(1.0, finished.progress());
+
+        Path file = exportService.getExportedFile(started.id());
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(25, lines.size());
+        assertEquals("book_id,title,pages_number,created_at,author_id,author_name", lines.get(0));
+        assertTrue(lines.get(1).endsWith(",\"Pushkin, A.\""));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("Gogol book 0")));
+    }
+
+    @Test
+    void getStatus_ShouldThrowExportJobNotFoundException() {
+
+        UUID id = UUID.randomUUID();
+
+        ExportJobNotFoundException exception = assertThrows(ExportJobNotFoundException.class,
+                () -> exportService.getStatus(id));
+
+        assertEquals("Export not found for id: " + id, exception.getMessage());
+    }
+
+    @Test
+    void startExport_ShouldFailJob_WhenCountFails(@TempDir Path directory) throws Exception {
+
+        BookRepository failingRepository = mock(BookRepository.class);
+        when(failingRepository.countByDeletedFalse()).thenThrow(new QueryTimeoutException("Count timed out"));
+        ExportService service = new ExportService(failingRepository, Shards.single(),
+                new ExportProperties(directory, 1, 1, 10, 1024, Duration.ofDays(1)));
+
+        try {
+            ExportJobStatus finished = awaitFinished(service, service.startExport(ExportFormat.CSV).id());
+
+            assertEquals(ExportJobStatus.State.FAILED, finished.state());
+            assertEquals("Count timed out", finished.error());
+            try(Stream<Path> files = Files.list(directory)) {
+                assertEquals(0, files.count());
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    private ExportJobStatus awaitFinished(UUID id) throws InterruptedException {
+        return awaitFinished(exportService, id);
+    }
+
+    private static ExportJobStatus awaitFinished(ExportService exportService, UUID id) throws InterruptedException {
+        for(int i = 0; i < 100; i++) {
+            ExportJobStatus status = exportService.getStatus(id);
+            if(status.state() == ExportJobStatus.State.COMPLETED || status.state() == ExportJobStatus.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Export didn't finish in time");
+    }
+}
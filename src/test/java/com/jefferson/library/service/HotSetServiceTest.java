@@ -0,0 +1,100 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.HotKey;
+import com.jefferson.library.dto.HotKeysReport;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.monitoring.HotSetSnapshot;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hotset",
+        "library.hot-keys.snapshot-file=target/hot-set-test.bin",
+        "library.hot-keys.sample-rate=1",
+        "library.hot-keys.prefetch-batch-size=2"
+})
+public class HotSetServiceTest {
+
+    private static final Path SNAPSHOT = Path.of("target/hot-set-test.bin");
+
+    @Autowired
+    private HotSetService hotSetService;
+
+    @Autowired
+    private HotKeys hotKeys;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @AfterEach
+    void cleanData() throws IOException {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+        Files.deleteIfExists(SNAPSHOT);
+    }
+
+    @Test
+    void restore_ShouldSeedActiveHotKeysOfSnapshot() throws IOException {
+
+        List<Book> books = new CatalogFixtures(authorRepository, bookRepository).booksOfDistinctAuthors(3);
+        Book deleted = books.get(2);
+        deleted.setDeleted(true);
+        bookRepository.save(deleted);
+        Author author = books.get(0).getAuthor();
+
+        new HotSetSnapshot(Instant.now(),
+                List.of(new HotKey(books.get(0).getId(), 5000, 0), new HotKey(books.get(1).getId(), 4000, 0),
+                        new HotKey(deleted.getId(), 3000, 0), new HotKey(Long.MAX_VALUE, 2000, 0)),
+                List.of(new HotKey(author.getId(), 6000, 0)))
+                .write(SNAPSHOT);
+
+        assertEquals(3, hotSetService.restore());
+
+        //The tracker is shared by the tests, the seeded keys outrank the ones recorded by the others
+        HotKeysReport report = hotKeys.report();
+        List<Long> hotBooks = report.books().stream().map(HotKey::id).toList();
+        assertEquals(List.of(books.get(0).getId(), books.get(1).getId()), hotBooks.subList(0, 2));
+        assertFalse(hotBooks.contains(deleted.getId()));
+        assertFalse(hotBooks.contains(Long.MAX_VALUE));
+        assertEquals(author.getId(), report.authors().get(0).id());
+        assertTrue(report.books().get(0).estimatedCount() >= 5000);
+    }
+
+    @Test
+    void saveSnapshot_ShouldWriteTrackedHotKeys() throws IOException {
+
+        hotKeys.recordBook(42);
+        hotKeys.recordAuthor(7);
+
+        hotSetService.saveSnapshot();
+
+        HotSetSnapshot snapshot = HotSetSnapshot.read(SNAPSHOT).orElseThrow();
+        assertTrue(snapshot.books().stream().anyMatch(book -> book.id() == 42));
+        assertTrue(snapshot.authors().stream().anyMatch(author -> author.id() == 7));
+    }
+
+    @Test
+    void restore_ShouldIgnoreCorruptSnapshot() throws IOException {
+
+        Files.write(SNAPSHOT, new byte[] {1, 2, 3});
+
+        assertEquals(0, hotSetService.restore());
+    }
+}
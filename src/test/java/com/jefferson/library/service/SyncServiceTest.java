@@ -0,0 +1,188 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.AuthorChange;
+import com.jefferson.library.dto.BookChange;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.SyncPage;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.exception.SyncWatermarkExpiredException;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogFixtures fixtures;
+
+    @BeforeEach
+    void initFixtures() {
+        fixtures = new CatalogFixtures(authorRepository, bookRepository);
+        changeFeedService.assignPositions();
+    }
+
+    @AfterEach
+    void cleanData() {
+        fixtures.clean();
+    }
+
+    @Test
+    void booksChangedSince_ShouldPageThroughAllChanges() {
+
+        fixtures.authorWithBooks("Pushkin", 5);
+
+        List<BookChange> synced = new ArrayList<>();
+        SyncPage<BookChange> page = syncService.booksChangedSince(null, null, 2);
+        synced.addAll(page.changes());
+        while(page.hasMore()) {
+            page = syncService.booksChangedSince(null, page.watermark(), 2);
+            synced.addAll(page.changes());
+        }
+
+        assertEquals(5, synced.size());
+        assertEquals(5, synced.stream().map(BookChange::id).distinct().count());
+
+        SyncPage<BookChange> nothingNew = syncService.booksChangedSince(null, page.watermark(), 2);
+        assertTrue(nothingNew.changes().isEmpty());
+        assertEquals(page.watermark(), nothingNew.watermark());
+    }
+
+    @Test
+    void booksChangedSince_ShouldReturnUpdatesAndTombstonesAfterWatermark() {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 3);
+        List<Long> bookIds = new ArrayList<>();
+        bookRepository.findAll().forEach(book -> bookIds.add(book.getId()));
+        bookIds.sort(null);
+        String watermark = syncService.booksChangedSince(null, null, 100).watermark();
+
+        bookService.updateBookInfo(bookIds.get(0), new BookRequest(author.getId(), "Onegin", 324));
+        bookService.deleteBook(bookIds.get(1));
+        changeFeedService.assignPositions();
+
+        SyncPage<BookChange> page = syncService.booksChangedSince(null, watermark, 100);
+
+        assertEquals(List.of(bookIds.get(0), bookIds.get(1)), page.changes().stream().map(BookChange::id).toList());
+        assertEquals("Onegin", page.changes().get(0).title());
+        assertFalse(page.changes().get(0).deleted());
+        assertTrue(page.changes().get(1).deleted());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void authorsChangedSince_ShouldReturnTombstoneOfDeletedAuthor() throws InterruptedException {
+
+        Author author = fixtures.authorWithBooks("Pushkin", 1);
+        LocalDateTime since = LocalDateTime.now();
+
+        Thread.sleep(5);
+        authorService.deleteAuthorById(author.getId());
+        changeFeedService.assignPositions();
+
+        SyncPage<AuthorChange> page = syncService.authorsChangedSince(since, null, 100);
+
+        assertEquals(1, page.changes().size());
+        assertEquals(author.getId(), page.changes().get(0).id());
+        assertTrue(page.changes().get(0).deleted());
+    }
+
+    @Test
+    void booksChangedSince_ShouldReturnChangeCommittedAfterWatermarkWasTaken() throws Exception {
+
+        //The slow change is an update, so it holds no lock on the book counts the fast one changes
+        Author pushkin = fixtures.authorWithBooks("Pushkin", 1);
+        Author lermontov = fixtures.authorWithBooks("Lermontov", 0);
+        Long bookId = bookRepository.findAll().iterator().next().getId();
+        String start = syncService.booksChangedSince(null, null, 100).watermark();
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                bookService.updateBookInfo(bookId, new BookRequest(pushkin.getId(), "Onegin", 324));
+                written.countDown();
+                await(release);
+            }));
+            await(written);
+            authorService.addBookToAuthor(new BookRequest(lermontov.getId(), "Mtsyri", 120));
+            changeFeedService.assignPositions();
+            SyncPage<BookChange> before = syncService.booksChangedSince(null, start, 100);
+
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+            changeFeedService.assignPositions();
+            SyncPage<BookChange> after = syncService.booksChangedSince(null, before.watermark(), 100);
+
+            assertEquals(List.of("Mtsyri"), before.changes().stream().map(BookChange::title).toList());
+            assertEquals(List.of("Onegin"), after.changes().stream().map(BookChange::title).toList());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void booksChangedSince_ShouldRejectWatermarkOlderThanChangeFeedRetention() {
+
+        assertThrows(SyncWatermarkExpiredException.class,
+                () -> syncService.booksChangedSince(LocalDateTime.now().minusYears(1), null, 100));
+    }
+
+    @Test
+    void booksChangedSince_ShouldRejectInvalidWatermarkAndOversizedPage() {
+
+        assertThrows(InvalidPageRequestException.class,
+                () -> syncService.booksChangedSince(null, "not-a-watermark", 100));
+        assertThrows(InvalidPageRequestException.class,
+                () -> syncService.booksChangedSince(null, null, 100_000));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch(InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
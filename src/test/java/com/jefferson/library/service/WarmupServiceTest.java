@@ -0,0 +1,132 @@
+package com.jefferson.library.service;
+
+import com.jefferson.library.dto.HotKey;
+import com.jefferson.library.dto.WarmupReport;
+import com.jefferson.library.model.Author;
+import com.jefferson.library.monitoring.HotKeys;
+import com.jefferson.library.readmodel.ActiveIdsUpdater;
+import com.jefferson.library.readmodel.BookReadModel;
+import com.jefferson.library.readmodel.BookReadModelUpdater;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.support.CatalogFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+//Own database: the synthetic path needs an empty catalog at startup. The by-id reads short-circuit on the
+//active ids and the read model, rows seeded through the repositories are loaded into them again.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup",
+        "library.active-ids.enabled=true",
+        "library.read-model.enabled=true",
+        "library.warmup.min-rounds=4",
+        "library.warmup.max-rounds=20",
+        "library.warmup.window=2",
+        "library.warmup.timeout=20s"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class WarmupServiceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private HotKeys hotKeys;
+
+    @Autowired
+    private ActiveIdsUpdater activeIdsUpdater;
+
+    @Autowired
+    private BookReadModel bookReadModel;
+
+    @Autowired
+    private BookReadModelUpdater bookReadModelUpdater;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @AfterEach
+    void cleanData() {
+        new CatalogFixtures(authorRepository, bookRepository).clean();
+    }
+
+    //Runs first, the report checked is the one of the warm-up at startup
+    @Test
+    @Order(1)
+    void warmUp_ShouldRunBeforeReadinessWithSyntheticDataNeverCommitted() {
+
+        WarmupReport report = warmupService.lastReport();
+
+        assertNotNull(report);
+        assertEquals(WarmupReport.DataSource.SYNTHETIC, report.dataSource());
+        assertTrue(report.rounds() >= 1);
+        assertEquals(0, report.failedRequests());
+        assertEquals(0, bookRepository.count());
+        assertEquals(0, authorRepository.count());
+        assertEquals(0, bookReadModel.size());
+        assertTrue(hotKeys.report().books().isEmpty());
+        assertTrue(hotKeys.report().authors().isEmpty());
+    }
+
+    @Test
+    void warmUp_ShouldReadExistingCatalog() {
+
+        new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Pushkin", 3);
+        reload();
+
+        WarmupReport report = warmupService.warmUp(port);
+
+        assertEquals(WarmupReport.DataSource.CATALOG, report.dataSource());
+        assertTrue(report.requests() >= 3);
+        assertEquals(0, report.failedRequests());
+        assertEquals(3, bookRepository.count());
+    }
+
+    @Test
+    void warmUp_ShouldReadActiveHotSet() {
+
+        Author author = new CatalogFixtures(authorRepository, bookRepository).authorWithBooks("Gogol", 2);
+        reload();
+        Long bookId = bookRepository.findByAuthorIdAndDeletedFalseAndIdGreaterThanOrderById(author.getId(), 0L,
+                Limit.of(1)).get(0).getId();
+        hotKeys.seed(List.of(new HotKey(bookId, 1_000_000, 0), new HotKey(Long.MAX_VALUE, 900_000, 0)), List.of());
+
+        long seeded = hotKeys.report().books().get(0).estimatedCount();
+
+        WarmupReport report = warmupService.warmUp(port);
+
+        assertEquals(WarmupReport.DataSource.HOT_SET, report.dataSource());
+        assertEquals(0, report.failedRequests());
+        assertEquals(seeded, hotKeys.report().books().get(0).estimatedCount());
+    }
+
+    @Test
+    void isConverged_ShouldCompareLastTwoWindows() {
+
+        assertFalse(WarmupService.isConverged(List.of(5.0, 4.0, 3.0), 2, 0.1));
+        assertFalse(WarmupService.isConverged(List.of(9.0, 8.0, 2.0, 2.0), 2, 0.1));
+        assertTrue(WarmupService.isConverged(List.of(9.0, 2.0, 2.1, 2.0, 2.05), 2, 0.1));
+    }
+
+    private void reload() {
+        activeIdsUpdater.afterSingletonsInstantiated();
+        bookReadModelUpdater.afterSingletonsInstantiated();
+    }
+}
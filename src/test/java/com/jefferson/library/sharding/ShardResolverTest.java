@@ -0,0 +1,51 @@
+package com.jefferson.library.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardResolverTest {
+
+    @Test
+    void nextId_ShouldIssueOnlyOwnedIds_HashStrategy() {
+
+        ShardResolver resolver = new ShardResolver(ShardingStrategy.HASH, 3, 1000);
+
+        for(int shard = 0; shard < 3; shard++) {
+            long id = resolver.nextId(shard, 0);
+            for(int i = 0; i < 10; i++) {
+                assertEquals(shard, resolver.shardOf(id));
+                id += resolver.idIncrement();
+            }
+        }
+        assertEquals(3, resolver.nextId(0, 0));
+        assertEquals(1, resolver.nextId(1, 0));
+        assertEquals(13, resolver.nextId(1, 11));
+    }
+
+    @Test
+    void nextId_ShouldStayInOwnedRange_RangeStrategy() {
+
+        ShardResolver resolver = new ShardResolver(ShardingStrategy.RANGE, 3, 1000);
+
+        assertEquals(1, resolver.nextId(0, 0));
+        assertEquals(1001, resolver.nextId(1, 0));
+        assertEquals(1501, resolver.nextId(1, 1500));
+        assertEquals(1000, resolver.maxId(0));
+        assertEquals(Long.MAX_VALUE, resolver.maxId(2));
+
+        assertEquals(0, resolver.shardOf(1000));
+        assertEquals(1, resolver.shardOf(1001));
+        assertEquals(2, resolver.shardOf(5000));
+    }
+
+    @Test
+    void shardForNewAuthor_ShouldRoundRobin() {
+
+        ShardResolver resolver = new ShardResolver(ShardingStrategy.HASH, 2, 1000);
+
+        assertEquals(0, resolver.shardForNewAuthor());
+        assertEquals(1, resolver.shardForNewAuthor());
+        assertEquals(0, resolver.shardForNewAuthor());
+    }
+}
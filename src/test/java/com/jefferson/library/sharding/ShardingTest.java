@@ -0,0 +1,230 @@
+package com.jefferson.library.sharding;
+
+import com.jefferson.library.dto.AuthorDto;
+import com.jefferson.library.dto.AuthorRequest;
+import com.jefferson.library.dto.AuthorSort;
+import com.jefferson.library.dto.AuthorSummary;
+import com.jefferson.library.dto.BookDto;
+import com.jefferson.library.dto.BookRequest;
+import com.jefferson.library.dto.CursorPage;
+import com.jefferson.library.exception.BookNotFoundException;
+import com.jefferson.library.exception.InvalidPageRequestException;
+import com.jefferson.library.repository.ArchivedAuthorRepository;
+import com.jefferson.library.repository.ArchivedBookRepository;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import com.jefferson.library.service.ArchivalService;
+import com.jefferson.library.service.AuthorListingService;
+import com.jefferson.library.service.AuthorService;
+import com.jefferson.library.service.BookService;
+import com.jefferson.library.service.BookStreamingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "library.sharding.enabled=true",
+        "library.sharding.shards[0].url=jdbc:h2:mem:shard0",
+        "library.sharding.shards[1].url=jdbc:h2:mem:shard1",
+        "library.sharding.shards[2].url=jdbc:h2:mem:shard2",
+        "spring.jpa.open-in-view=false",
+        "library.outbox.feed-enabled=false"
+})
+public class ShardingTest {
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookStreamingService bookStreamingService;
+
+    @Autowired
+    private AuthorListingService authorListingService;
+
+    @Autowired
+    private ArchivalService archivalService;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ArchivedBookRepository archivedBookRepository;
+
+    @Autowired
+    private ArchivedAuthorRepository archivedAuthorRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanData() {
+        for(int shard = 0; shard < 3; shard++) {
+            ShardContext.runOn(shard, () -> {
+                bookRepository.deleteAll();
+                authorRepository.deleteAll();
+                archivedBookRepository.deleteAll();
+                archivedAuthorRepository.deleteAll();
+            });
+        }
+    }
+
+    @Test
+    void createNewAuthor_ShouldSpreadAuthorsAndKeepBooksOnTheirShard() {
+
+        Set<Integer> shards = new HashSet<>();
+        for(String name: List.of("Pushkin", "Gogol", "Tolstoy")) {
+            authorService.createNewAuthor(new AuthorRequest(name));
+            long authorId = authorIdOf(name);
+            int shard = shardResolver.shardOf(authorId);
+            shards.add(shard);
+
+            authorService.addBookToAuthor(new BookRequest(authorId, name + " book", 100));
+
+            for(int other = 0; other < 3; other++) {
+                assertEquals(other == shard ? 1 : 0, count(other, "select count(*) from authors where id = ?", authorId));
+                assertEquals(other == shard ? 1 : 0, count(other, "select count(*) from books where author_id = ?", authorId));
+            }
+            long bookId = ShardContext.callOn(shard, () -> jdbc().queryForObject(
+                    "select id from books where author_id = ?", Long.class, authorId));
+            assertEquals(shard, shardResolver.shardOf(bookId));
+        }
+
+        assertEquals(Set.of(0, 1, 2), shards);
+    }
+
+    @Test
+    void bookCalls_ShouldBeRoutedByBookId() {
+
+        List<Long> bookIds = new ArrayList<>();
+        for(String name: List.of("Pushkin", "Gogol", "Tolstoy")) {
+            authorService.createNewAuthor(new AuthorRequest(name));
+            AuthorDto author = authorService.addBookToAuthor(new BookRequest(authorIdOf(name), name + " book", 100));
+            assertEquals(1, author.books().size());
+            bookIds.add(bookIdOf(name + " book"));
+        }
+
+        for(long bookId: bookIds) {
+            BookDto updated = bookService.updateBookInfo(bookId, new BookRequest(1L, "Updated " + bookId, 200));
+            assertEquals("Updated " + bookId, bookService.getActiveBookById(bookId).title());
+            assertEquals(200, updated.pagesNumber());
+
+            bookService.deleteBook(bookId);
+            assertThrows(BookNotFoundException.class, () -> bookService.getActiveBookById(bookId));
+        }
+    }
+
+    @Test
+    void restores_ShouldBeRoutedById() {
+
+        List<Long> bookIds = new ArrayList<>();
+        List<Long> authorIds = new ArrayList<>();
+        for(String name: List.of("Pushkin", "Gogol", "Tolstoy")) {
+            authorService.createNewAuthor(new AuthorRequest(name));
+            authorService.addBookToAuthor(new BookRequest(authorIdOf(name), name + " book", 100));
+            bookIds.add(bookIdOf(name + " book"));
+            authorService.deleteAuthorById(authorIdOf(name));
+        }
+        for(String name: List.of("Chekhov", "Bulgakov", "Lermontov")) {
+            authorService.createNewAuthor(new AuthorRequest(name));
+            authorIds.add(authorIdOf(name));
+            authorService.deleteAuthorById(authorIdOf(name));
+        }
+        archivalService.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1));
+
+        for(long bookId: bookIds) {
+            assertEquals(100, archivalService.restoreBook(bookId).pagesNumber());
+            assertEquals(100, bookService.getActiveBookById(bookId).pagesNumber());
+        }
+        for(long authorId: authorIds) {
+            AuthorDto restored = archivalService.restoreAuthor(authorId);
+            assertEquals(restored.name(), authorService.getActiveAuthorById(authorId).name());
+        }
+    }
+
+    @Test
+    void listings_ShouldMergeShardsInOrder() {
+
+        List<String> names = List.of("Tolstoy", "Pushkin", "Gogol", "Chekhov", "Bulgakov");
+        for(int i = 0; i < names.size(); i++) {
+            authorService.createNewAuthor(new AuthorRequest(names.get(i)));
+            long authorId = authorIdOf(names.get(i));
+            for(int book = 0; book <= i; book++) {
+                authorService.addBookToAuthor(new BookRequest(authorId, names.get(i) + " " + book, 100));
+            }
+        }
+
+        List<AuthorSummary> byName = new ArrayList<>();
+        CursorPage<AuthorSummary> page = authorListingService.listActiveAuthors(AuthorSort.NAME, null, 2);
+        byName.addAll(page.items());
+        while(page.hasMore()) {
+            page = authorListingService.listActiveAuthors(AuthorSort.NAME, page.nextCursor(), 2);
+            byName.addAll(page.items());
+        }
+        assertEquals(List.of("Bulgakov", "Chekhov", "Gogol", "Pushkin", "Tolstoy"),
+                byName.stream().map(AuthorSummary::name).toList());
+
+        CursorPage<AuthorSummary> byCount = authorListingService.listActiveAuthors(AuthorSort.BOOK_COUNT, null, 3);
+        assertEquals(List.of(5L, 4L, 3L), byCount.items().stream().map(AuthorSummary::bookCount).toList());
+
+        Page<BookDto> firstPage = bookService.getAllActiveBooks(PageRequest.of(0, 4, Sort.by("title")));
+        assertEquals(15, firstPage.getTotalElements());
+        assertThrows(InvalidPageRequestException.class,
+                () -> bookService.getAllActiveBooks(PageRequest.of(1, 4, Sort.by("title"))));
+        assertThrows(InvalidPageRequestException.class, () -> bookStreamingService.checkStreamable());
+
+        CursorPage<BookDto> books = bookService.listActiveBooks(Sort.by("title"), null, 4);
+        assertEquals(firstPage.getContent(), books.items());
+        books = bookService.listActiveBooks(Sort.by("title"), books.nextCursor(), 4);
+        assertEquals(List.of("Bulgakov 4", "Chekhov 0", "Chekhov 1", "Chekhov 2"),
+                books.items().stream().map(BookDto::title).toList());
+    }
+
+    private long authorIdOf(String name) {
+        return findOnShards("select id from authors where name = ?", name);
+    }
+
+    private long bookIdOf(String title) {
+        return findOnShards("select id from books where title = ?", title);
+    }
+
+    private long findOnShards(String sql, String value) {
+        for(int shard = 0; shard < 3; shard++) {
+            List<Long> ids = ShardContext.callOn(shard, () -> jdbc().queryForList(sql, Long.class, value));
+            if(!ids.isEmpty()) {
+                return ids.get(0);
+            }
+        }
+        throw new AssertionError("Not found on any shard: " + value);
+    }
+
+    private int count(int shard, String sql, long id) {
+        return ShardContext.callOn(shard, () -> jdbc().queryForObject(sql, Integer.class, id));
+    }
+
+    private JdbcTemplate jdbc() {
+        return new JdbcTemplate(dataSource);
+    }
+}
@@ -0,0 +1,49 @@
+package com.jefferson.library.support;
+
+import com.jefferson.library.model.Author;
+import com.jefferson.library.model.Book;
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds and cleans the embedded database for integration tests.
+ */
+public class CatalogFixtures {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+
+    public CatalogFixtures(AuthorRepository authorRepository, BookRepository bookRepository) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    public Author authorWithBooks(String name, int numberOfBooks) {
+        Author author = authorRepository.save(Author.build(null, name));
+
+        List<Book> books = new ArrayList<>(numberOfBooks);
+        for(int i = 0; i < numberOfBooks; i++) {
+            books.add(Book.buildBook(null, name + " book " + i, 100 + i, author));
+        }
+        bookRepository.saveAll(books);
+
+        return author;
+    }
+
+    public List<Book> booksOfDistinctAuthors(int numberOfBooks) {
+        List<Book> books = new ArrayList<>(numberOfBooks);
+        for(int i = 0; i < numberOfBooks; i++) {
+            Author author = authorRepository.save(Author.build(null, "Author " + i));
+            books.add(bookRepository.save(Book.buildBook(null, "Book " + i, 100 + i, author)));
+        }
+        return books;
+    }
+
+    public void clean() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+}
@@ -0,0 +1,27 @@
+package com.jefferson.library.support;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bounds for the statements executed inside {@link SqlStatementCounter#measure}
+ * during one test invocation. Negative values mean unbounded.
+ * Combined with a parameterized data size, a constant budget fails as soon as
+ * the statement count starts growing with the data.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    long selects() default -1;
+
+    long inserts() default -1;
+
+    long updates() default -1;
+
+    long deletes() default -1;
+
+    long roundTrips() default -1;
+}
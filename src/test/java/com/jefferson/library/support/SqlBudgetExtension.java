@@ -0,0 +1,52 @@
+package com.jefferson.library.support;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Resets the {@link SqlStatementCounter} before each test and checks the {@link SqlBudget}
+ * of the test method after it.
+ */
+public class SqlBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        counter(context).reset();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SqlBudget budget = context.getRequiredTestMethod().getAnnotation(SqlBudget.class);
+        if(budget == null || context.getExecutionException().isPresent()) return;
+
+        SqlStatementCounts counts = counter(context).counts();
+        List<String> exceeded = new ArrayList<>();
+        check(exceeded, "selects", counts.selects(), budget.selects());
+        check(exceeded, "inserts", counts.inserts(), budget.inserts());
+        check(exceeded, "updates", counts.updates(), budget.updates());
+        check(exceeded, "deletes", counts.deletes(), budget.deletes());
+        check(exceeded, "round trips", counts.roundTrips(), budget.roundTrips());
+
+        if(!exceeded.isEmpty()) {
+            fail("SQL budget exceeded in " + context.getDisplayName() + ": " + String.join(", ", exceeded)
+                    + " (" + counts + ")");
+        }
+    }
+
+    private static void check(List<String> exceeded, String name, long actual, long limit) {
+        if(limit >= 0 && actual > limit) {
+            exceeded.add(name + " " + actual + " > " + limit);
+        }
+    }
+
+    private static SqlStatementCounter counter(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementCounter.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.jefferson.library.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Full-stack test against the embedded database with SQL statement counting and {@link SqlBudget} checks.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlBudgetTestConfig.class)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudgetTest {
+}
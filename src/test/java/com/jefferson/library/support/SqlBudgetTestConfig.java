@@ -0,0 +1,27 @@
+package com.jefferson.library.support;
+
+import com.jefferson.library.repository.AuthorRepository;
+import com.jefferson.library.repository.BookRepository;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+
+@TestConfiguration
+public class SqlBudgetTestConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    //Picked up by the application task executor that runs async MVC work
+    @Bean
+    public TaskDecorator sqlStatementCounterTaskDecorator(SqlStatementCounter sqlStatementCounter) {
+        return sqlStatementCounter::propagate;
+    }
+
+    @Bean
+    public CatalogFixtures catalogFixtures(AuthorRepository authorRepository, BookRepository bookRepository) {
+        return new CatalogFixtures(authorRepository, bookRepository);
+    }
+}
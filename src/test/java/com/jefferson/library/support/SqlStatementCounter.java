@@ -0,0 +1,97 @@
+package com.jefferson.library.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts statements by type and JDBC round trips going through the proxied datasource.
+ * Registered as a listener bean, it's picked up by the datasource proxy of the application.
+ * Only statements executed by the thread inside {@link #measure}, or by tasks it hands to an executor,
+ * are counted, so neither test data setup nor scheduled jobs running meanwhile leak into the numbers.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private final Map<QueryType, AtomicLong> statements = new EnumMap<>(QueryType.class);
+    private final AtomicLong roundTrips = new AtomicLong();
+    private final ThreadLocal<Boolean> measuring = ThreadLocal.withInitial(() -> false);
+
+    public SqlStatementCounter() {
+        for(QueryType type: QueryType.values()) {
+            statements.put(type, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if(!measuring.get()) return;
+
+        roundTrips.incrementAndGet();
+        for(QueryInfo queryInfo: queryInfoList) {
+            //A prepared batch is one query with a parameter set per statement
+            int executions = Math.max(1, queryInfo.getParametersList().size());
+            statements.get(QueryUtils.getQueryType(queryInfo.getQuery())).addAndGet(executions);
+        }
+    }
+
+    public <T> T measure(ThrowingSupplier<T> operation) throws Throwable {
+        measuring.set(true);
+        try {
+            return operation.get();
+        } finally {
+            measuring.remove();
+        }
+    }
+
+    //Work submitted by a measured thread, e.g. a streamed response body, is measured as well
+    public Runnable propagate(Runnable task) {
+        if(!measuring.get()) return task;
+
+        return () -> {
+            measuring.set(true);
+            try {
+                task.run();
+            } finally {
+                measuring.remove();
+            }
+        };
+    }
+
+    public SqlStatementCounts counts() {
+        return new SqlStatementCounts(count(QueryType.SELECT),
+                count(QueryType.INSERT),
+                count(QueryType.UPDATE),
+                count(QueryType.DELETE),
+                count(QueryType.OTHER),
+                roundTrips.get());
+    }
+
+    public long count(QueryType type) {
+        return statements.get(type).get();
+    }
+
+    public long total() {
+        return statements.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    public long roundTrips() {
+        return roundTrips.get();
+    }
+
+    public void reset() {
+        statements.values().forEach(counter -> counter.set(0));
+        roundTrips.set(0);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jefferson.library.support;
+
+public record SqlStatementCounts(
+        long selects,
+        long inserts,
+        long updates,
+        long deletes,
+        long others,
+        long roundTrips) {
+}
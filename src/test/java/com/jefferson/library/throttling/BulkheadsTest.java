@@ -0,0 +1,39 @@
+package com.jefferson.library.throttling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadsTest {
+
+    @Test
+    void tryAcquire_ShouldRejectAboveLimitAndReleaseOnce() {
+
+        Bulkheads bulkheads = new Bulkheads(Map.of(RequestClass.BULK, 1), Duration.ZERO, new SimpleMeterRegistry());
+
+        Bulkheads.Permit permit = bulkheads.tryAcquire(RequestClass.BULK);
+
+        assertNotNull(permit);
+        assertNull(bulkheads.tryAcquire(RequestClass.BULK));
+
+        permit.release();
+        permit.release();
+
+        Bulkheads.Permit next = bulkheads.tryAcquire(RequestClass.BULK);
+        assertNotNull(next);
+        assertNull(bulkheads.tryAcquire(RequestClass.BULK));
+    }
+
+    @Test
+    void tryAcquire_ShouldAdmitClassWithoutLimit() {
+
+        Bulkheads bulkheads = new Bulkheads(Map.of(RequestClass.READ, 1), Duration.ZERO, new SimpleMeterRegistry());
+
+        assertNotNull(bulkheads.tryAcquire(RequestClass.WRITE));
+        assertNotNull(bulkheads.tryAcquire(RequestClass.WRITE));
+    }
+}
@@ -0,0 +1,43 @@
+package com.jefferson.library.throttling;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClientRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_ShouldRejectNewClientWhileAllKnownClientsAreActive() {
+
+        AtomicLong now = new AtomicLong(5 * SECOND);
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, now::get, new SimpleMeterRegistry());
+
+        assertEquals(0, limiter.tryAcquire("first"));
+        assertEquals(0, limiter.tryAcquire("second"));
+
+        assertEquals(SECOND, limiter.tryAcquire("third"));
+        assertEquals(SECOND, limiter.tryAcquire("fourth"));
+        assertTrue(limiter.tryAcquire("first") > 0);
+    }
+
+    @Test
+    void tryAcquire_ShouldEvictIdleClientToAdmitNewOne() {
+
+        AtomicLong now = new AtomicLong(5 * SECOND);
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, now::get, new SimpleMeterRegistry());
+
+        assertEquals(0, limiter.tryAcquire("first"));
+        assertEquals(0, limiter.tryAcquire("second"));
+        now.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("second"));
+
+        assertEquals(0, limiter.tryAcquire("third"));
+        assertTrue(limiter.tryAcquire("second") > 0);
+        assertTrue(limiter.tryAcquire("third") > 0);
+    }
+}
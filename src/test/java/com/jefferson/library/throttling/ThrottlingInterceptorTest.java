@@ -0,0 +1,69 @@
+package com.jefferson.library.throttling;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "library.throttling.requests-per-second=0.1",
+        "library.throttling.burst=2",
+        "library.throttling.trusted-proxies=127.0.0.1"
+})
+@AutoConfigureMockMvc
+public class ThrottlingInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void preHandle_ShouldRejectClientAboveRateWithRetryAfter() throws Exception {
+
+        for(int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/books").header("X-Client-Id", "scanner"))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/v1/books").header("X-Client-Id", "scanner"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.Error").value("Rate limit exceeded, try again later."));
+
+        mockMvc.perform(get("/api/v1/books").header("X-Client-Id", "reader"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void preHandle_ShouldIgnoreClientHeaderFromUntrustedAddress() throws Exception {
+
+        for(int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/books").header("X-Client-Id", "rotating-" + i).with(remoteAddress("10.0.0.7")))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/api/v1/books").header("X-Client-Id", "rotating-2").with(remoteAddress("10.0.0.7")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void preHandle_ShouldNotThrottleActuator() throws Exception {
+
+        for(int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/actuator/health").header("X-Client-Id", "probe"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.jefferson.library.throttling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstThenReportWait() {
+
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 5 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(SECOND / 10, bucket.tryAcquire(now));
+        assertFalse(bucket.isFull(now));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long now = 5 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now + SECOND / 20) > 0);
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 10));
+        assertTrue(bucket.isFull(now + SECOND));
+    }
+
+    @Test
+    void tryAcquire_ShouldNotOveradmitUnderContention() throws InterruptedException {
+
+        TokenBucket bucket = new TokenBucket(1, 100);
+        long now = 5 * SECOND;
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for(int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                for(int j = 0; j < 1000; j++) {
+                    if(bucket.tryAcquire(now) == 0) admitted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, admitted.get());
+    }
+}